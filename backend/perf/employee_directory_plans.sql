@@ -0,0 +1,43 @@
+-- Planos do diretório de funcionários (/admin/employees) com 50k cadastros (rodar em banco de teste!).
+--
+-- Uso:
+--   psql -d time-tracker-perf -v employees=50000 -f perf/employee_directory_plans.sql
+--
+-- Para o "antes", remova os índices da V13 e rode de novo:
+--   DROP INDEX idx_employees_name_id, idx_employees_name_trgm, idx_employees_email_trgm;
+
+\timing on
+
+INSERT INTO employees (id, name, email, password, role)
+SELECT gen_random_uuid(),
+       (ARRAY['Ana', 'Bruno', 'Carla', 'Diego', 'Elaine', 'Fábio', 'Gabriela', 'Heitor'])[1 + g % 8]
+           || ' ' || (ARRAY['Silva', 'Souza', 'Oliveira', 'Pereira', 'Lima', 'Costa'])[1 + (g / 8) % 6]
+           || ' ' || g,
+       'dir' || g || '@moura.com', 'x', 'USER'
+FROM generate_series(1, :employees) g
+ON CONFLICT (email) DO NOTHING;
+
+ANALYZE employees;
+
+-- Primeira página e página seguinte (cursor em name, id): Index Scan em idx_employees_name_id
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, name, email, role, work_start_time, work_end_time
+FROM employees WHERE 1 = 1 ORDER BY name, id LIMIT 51;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, name, email, role, work_start_time, work_end_time
+FROM employees WHERE 1 = 1 AND (name, id) > ('Diego Lima 20000', '00000000-0000-0000-0000-000000000000')
+ORDER BY name, id LIMIT 51;
+
+-- Busca por trecho e aproximada (erro de digitação): Bitmap Index Scan nos índices de trigramas
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, name, email, role, work_start_time, work_end_time
+FROM employees
+WHERE 1 = 1 AND (lower(name) LIKE '%oliveira 123%' OR lower(email) LIKE '%oliveira 123%' OR 'oliveira 123' <% lower(name))
+ORDER BY name, id LIMIT 51;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, name, email, role, work_start_time, work_end_time
+FROM employees
+WHERE 1 = 1 AND (lower(name) LIKE '%olivera%' OR lower(email) LIKE '%olivera%' OR 'olivera' <% lower(name))
+ORDER BY name, id LIMIT 51;
@@ -0,0 +1,74 @@
+// Troca de turno: todos os funcionários batem o ponto em poucos minutos.
+// Compara o p99 do caminho síncrono com o modo rajada (work.burst-mode.enabled).
+//
+// Uso (mesma massa de perf/work_records_plans.sql, funcionários perf1..perfN):
+//   psql -d time-tracker-perf -At -c "SELECT id FROM employees WHERE email LIKE 'perf%'" > perf/employees.txt
+//   WORK_BURST_MODE=false ./mvnw spring-boot:run   ->  k6 run perf/shift_change_storm.js
+//   WORK_BURST_MODE=true  ./mvnw spring-boot:run   ->  k6 run perf/shift_change_storm.js
+//
+// Variáveis: BASE_URL (padrão http://localhost:8080), EMPLOYEES_FILE, RATE (batidas/s no pico), DURATION.
+// Compare http_req_duration{name:checkin|checkout} p(99) e, no modo rajada,
+// work_burst_flush / work_burst_queue_depth no actuator.
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { SharedArray } from 'k6/data';
+import exec from 'k6/execution';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RATE = Number(__ENV.RATE || 400);
+const DURATION = __ENV.DURATION || '2m';
+
+const employees = new SharedArray('employees', () =>
+    open(__ENV.EMPLOYEES_FILE || './employees.txt').split('\n').map((l) => l.trim()).filter(Boolean));
+
+export const options = {
+    scenarios: {
+        shift_change: {
+            executor: 'ramping-arrival-rate',
+            exec: 'punch',
+            startRate: 10,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            stages: [
+                { target: RATE, duration: '30s' },
+                { target: RATE, duration: DURATION },
+                { target: 0, duration: '30s' },
+            ],
+        },
+    },
+    thresholds: {
+        'http_req_duration{name:checkin}': ['p(99)<1000'],
+        'http_req_duration{name:checkout}': ['p(99)<1000'],
+        'http_req_failed': ['rate<0.01'],
+    },
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+// 409/404 só indicam estado herdado de uma execução anterior, não falha do servidor
+http.setResponseCallback(http.expectedStatuses(200, 404, 409));
+
+export function setup() {
+    const token = http.get(`${BASE_URL}/dev/token/admin`).body;
+    return { headers: { Authorization: `Bearer ${token}` } };
+}
+
+// Check-in seguido de check-out do mesmo funcionário: percorre a lista em ciclo,
+// alternando o tipo de batida a cada volta completa.
+export function punch(data) {
+    const iteration = exec.scenario.iterationInTest;
+    const employeeId = employees[iteration % employees.length];
+    const round = Math.floor(iteration / employees.length);
+
+    if (round % 2 === 0) {
+        const res = http.post(`${BASE_URL}/work/checkin?employeeId=${employeeId}`, null,
+            { headers: data.headers, tags: { name: 'checkin' } });
+        check(res, { 'check-in aceito': (r) => r.status === 200 || r.status === 409 });
+    } else {
+        const res = http.post(`${BASE_URL}/work/checkout?employeeId=${employeeId}`,
+            JSON.stringify({ reason_id: 'end_shift' }),
+            { headers: { ...data.headers, 'Content-Type': 'application/json' }, tags: { name: 'checkout' } });
+        check(res, { 'check-out aceito': (r) => r.status === 200 || r.status === 404 });
+    }
+}
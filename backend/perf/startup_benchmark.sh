@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+# Tempo de subida por modo de execução: fat jar, jar extraído, + CDS e + AOT.
+#
+# Uso (a partir de backend/):
+#   ./mvnw -Pprod clean package -DskipTests
+#   perf/startup_benchmark.sh                      # sem banco: mede até o fim do refresh do contexto
+#   SPRING_DATASOURCE_URL=... SPRING_DATASOURCE_USERNAME=... SPRING_DATASOURCE_PASSWORD=... SECRET=... \
+#     perf/startup_benchmark.sh                    # com banco: mede até "Started", inclusive AOT
+#
+# Variáveis: RUNS (padrão 5), JAR (padrão target/time-tracker-*.jar).
+# Resultado em perf/results/startup.csv (uma linha por execução; a coluna deployed marca o modo
+# usado pela imagem do Dockerfile) e mediana por modo no stdout.
+# Sem banco o modo AOT fica de fora: com AOT o Flyway já vem habilitado do build.
+
+set -euo pipefail
+
+RUNS=${RUNS:-5}
+JAR=${JAR:-$(ls target/time-tracker-*.jar | head -1)}
+WORK=$(mktemp -d)
+CSV=perf/results/startup.csv
+# Modo do ENTRYPOINT do Dockerfile (jar extraído + CDS, sem AOT)
+DEPLOYED_MODE=extracted-cds
+trap 'rm -rf "$WORK"' EXIT
+
+mkdir -p perf/results
+cp "$JAR" "$WORK/app.jar"
+java -Djarmode=tools -jar "$WORK/app.jar" extract --destination "$WORK/extracted" > /dev/null
+
+if [[ -n "${SPRING_DATASOURCE_URL:-}" ]]; then
+    PROFILES=prod
+    EXIT=()
+else
+    PROFILES=prod,cds-training
+    EXIT=(-Dspring.context.exit=onRefresh)
+fi
+
+echo "Treinando o arquivo CDS..."
+(cd "$WORK/extracted" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh \
+    -Dspring.profiles.active=prod,cds-training -jar app.jar > "$WORK/training.log" 2>&1)
+
+# measure <modo> <diretório> <args da JVM...>
+# Com banco, o tempo vai até a linha "Started"; sem banco, até o processo encerrar após o refresh.
+measure() {
+    local mode=$1 dir=$2 deployed=false
+    shift 2
+    [[ $mode == "$DEPLOYED_MODE" ]] && deployed=true
+    for run in $(seq "$RUNS"); do
+        local log="$WORK/$mode-$run.log"
+        local start=$EPOCHREALTIME
+        (cd "$dir" && exec java "$@" "${EXIT[@]}" -Dspring.profiles.active="$PROFILES" -jar app.jar) > "$log" 2>&1 &
+        local pid=$!
+
+        while ! grep -q "Started MouraTimeTrackerApplication" "$log"; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                wait "$pid" || { echo "Falha na subida ($mode):"; tail -20 "$log"; exit 1; }
+                break
+            fi
+            sleep 0.05
+        done
+        local end=$EPOCHREALTIME
+
+        kill "$pid" 2> /dev/null && wait "$pid" 2> /dev/null || true
+        awk -v m="$mode" -v r="$run" -v s="$start" -v e="$end" -v d="$deployed" \
+            'BEGIN { printf "%s,%d,%.3f,%s\n", m, r, e - s, d }' >> "$CSV"
+    done
+}
+
+echo "mode,run,seconds,deployed" > "$CSV"
+measure fat-jar "$WORK"
+measure extracted "$WORK/extracted"
+measure extracted-cds "$WORK/extracted" -XX:SharedArchiveFile=app.jsa
+if [[ -n "${SPRING_DATASOURCE_URL:-}" ]]; then
+    measure extracted-aot "$WORK/extracted" -Dspring.aot.enabled=true
+    measure extracted-cds-aot "$WORK/extracted" -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true
+fi
+
+echo
+echo "Mediana por modo (s):"
+tail -n +2 "$CSV" | sort -t, -k1,1 -k3,3n | awk -F, -v deployed="$DEPLOYED_MODE" '
+    { values[$1] = values[$1] " " $3; count[$1]++ }
+    END { for (m in values) { split(substr(values[m], 2), v, " "); printf "  %-20s %s%s\n", m, v[int((count[m] + 1) / 2)], (m == deployed ? "  (imagem)" : "") } }'
@@ -0,0 +1,105 @@
+// Comparação platform threads x virtual threads (spring.threads.virtual.enabled)
+// com 2k clientes simultâneos: metade batendo ponto, metade lendo o dashboard.
+//
+// Uso (mesma massa de perf/shift_change_storm.js):
+//   VIRTUAL_THREADS=false ./mvnw spring-boot:run  ->  k6 run -e MODE=platform perf/virtual_threads.js
+//   VIRTUAL_THREADS=true  ./mvnw spring-boot:run  ->  k6 run -e MODE=virtual  perf/virtual_threads.js
+//   Cada execução grava perf/results/virtual_threads-<MODE>.json (vazão e p99 por endpoint).
+//
+// Rode com JAVA_TOOL_OPTIONS=-Djdk.tracePinnedThreads=short e confira o log: qualquer pilha
+// impressa é um ponto em que a virtual thread prendeu a carrier (synchronized em volta de I/O).
+// Variáveis: BASE_URL, EMPLOYEES_FILE, VUS (padrão 2000), DURATION, MODE.
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { SharedArray } from 'k6/data';
+import exec from 'k6/execution';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = Number(__ENV.VUS || 2000);
+const DURATION = __ENV.DURATION || '3m';
+const MODE = __ENV.MODE || 'platform';
+
+const employees = new SharedArray('employees', () =>
+    open(__ENV.EMPLOYEES_FILE || './employees.txt').split('\n').map((l) => l.trim()).filter(Boolean));
+
+export const options = {
+    scenarios: {
+        checkin: {
+            executor: 'constant-vus',
+            exec: 'punch',
+            vus: Math.ceil(VUS / 2),
+            duration: DURATION,
+        },
+        dashboard: {
+            executor: 'constant-vus',
+            exec: 'dashboard',
+            vus: Math.floor(VUS / 2),
+            duration: DURATION,
+        },
+    },
+    thresholds: {
+        'http_req_duration{name:checkin}': ['p(99)<2000'],
+        'http_req_duration{name:dashboard}': ['p(99)<2000'],
+        'http_req_failed': ['rate<0.01'],
+        // Só para o k6 gerar as submétricas de vazão usadas em handleSummary
+        'http_reqs{name:checkin}': ['count>0'],
+        'http_reqs{name:checkout}': ['count>=0'],
+        'http_reqs{name:dashboard}': ['count>0'],
+    },
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+// 409/404 só indicam estado herdado de uma execução anterior, não falha do servidor
+http.setResponseCallback(http.expectedStatuses(200, 404, 409));
+
+export function setup() {
+    const token = http.get(`${BASE_URL}/dev/token/admin`).body;
+    return { headers: { Authorization: `Bearer ${token}` } };
+}
+
+// Cada VU fica com um funcionário e alterna check-in/check-out sem pausa (modelo fechado)
+export function punch(data) {
+    const employeeId = employees[(exec.vu.idInTest - 1) % employees.length];
+
+    if (exec.vu.iterationInScenario % 2 === 0) {
+        const res = http.post(`${BASE_URL}/work/checkin?employeeId=${employeeId}`, null,
+            { headers: data.headers, tags: { name: 'checkin' } });
+        check(res, { 'check-in aceito': (r) => r.status === 200 || r.status === 409 });
+    } else {
+        const res = http.post(`${BASE_URL}/work/checkout?employeeId=${employeeId}`,
+            JSON.stringify({ reason_id: 'end_shift' }),
+            { headers: { ...data.headers, 'Content-Type': 'application/json' }, tags: { name: 'checkout' } });
+        check(res, { 'check-out aceito': (r) => r.status === 200 || r.status === 404 });
+    }
+}
+
+export function dashboard(data) {
+    const res = http.get(`${BASE_URL}/admin/dashboard`, { headers: data.headers, tags: { name: 'dashboard' } });
+    check(res, { 'dashboard ok': (r) => r.status === 200 });
+}
+
+function endpoint(summary, name) {
+    const duration = summary.metrics[`http_req_duration{name:${name}}`];
+    const requests = summary.metrics[`http_reqs{name:${name}}`];
+    return {
+        rps: requests ? requests.values.rate : 0,
+        p99_ms: duration ? duration.values['p(99)'] : null,
+        p95_ms: duration ? duration.values['p(95)'] : null,
+    };
+}
+
+export function handleSummary(summary) {
+    const result = {
+        mode: MODE,
+        vus: VUS,
+        checkin: endpoint(summary, 'checkin'),
+        checkout: endpoint(summary, 'checkout'),
+        dashboard: endpoint(summary, 'dashboard'),
+        failed_rate: summary.metrics.http_req_failed.values.rate,
+    };
+    return {
+        stdout: `\n${JSON.stringify(result, null, 2)}\n`,
+        [`perf/results/virtual_threads-${MODE}.json`]: JSON.stringify(result, null, 2),
+    };
+}
@@ -0,0 +1,82 @@
+-- Planos de execução das consultas de work_records em volume (rodar em banco de teste!).
+--
+-- Uso:
+--   psql -d time-tracker-perf -v employees=2000 -v days=1500 -f perf/work_records_plans.sql
+--
+-- Para o "antes", remova os índices das migrações V9/V10 e rode de novo:
+--   DROP INDEX idx_work_records_employee_checkin_id, idx_work_records_open_shift, idx_work_records_checkin_time;
+
+\timing on
+
+-- work_records é particionada por mês (V12): cria as partições do período da massa
+SELECT format('CREATE TABLE IF NOT EXISTS work_records_p%s PARTITION OF work_records FOR VALUES FROM (%L) TO (%L)',
+              to_char(m, 'YYYYMM'), m::date, (m + interval '1 month')::date)
+FROM generate_series(date_trunc('month', now() - (:days || ' days')::interval), date_trunc('month', now()), interval '1 month') m
+\gexec
+
+-- Massa sintética: :employees funcionários x :days dias x 2 registros/dia (~6M linhas com os valores acima)
+INSERT INTO employees (id, name, email, password, role)
+SELECT gen_random_uuid(), 'Perf ' || g, 'perf' || g || '@moura.com', 'x', 'USER'
+FROM generate_series(1, :employees) g
+ON CONFLICT (email) DO NOTHING;
+
+INSERT INTO work_records (id, employee_id, checkin_time, checkout_time, duration_seconds, reason_id)
+SELECT gen_random_uuid(), e.id, t.start_at, t.start_at + interval '4 hours', 14400,
+       CASE WHEN t.slot = 0 THEN 'LUNCH_START' ELSE 'END_SHIFT' END
+FROM employees e
+CROSS JOIN LATERAL (
+    SELECT date_trunc('day', now()) - (d || ' days')::interval + (CASE s WHEN 0 THEN interval '8 hours' ELSE interval '13 hours' END) AS start_at,
+           s AS slot
+    FROM generate_series(1, :days) d, generate_series(0, 1) s
+) t
+WHERE e.email LIKE 'perf%';
+
+ANALYZE work_records;
+
+-- Uma pessoa sem check-out pendente para a busca de turno aberto
+\set emp '(SELECT id FROM employees WHERE email = ''perf1@moura.com'')'
+
+-- 1. Turno aberto (check-in/check-out)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM work_records WHERE employee_id = :emp AND checkout_time IS NULL;
+
+-- 2. Histórico filtrado por dia: versão antiga (CAST) x intervalo semiaberto
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM work_records WHERE employee_id = :emp AND CAST(checkin_time AS date) = current_date - 30
+ORDER BY checkin_time DESC LIMIT 10;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM work_records WHERE employee_id = :emp
+  AND checkin_time >= current_date - 30 AND checkin_time < current_date - 29
+ORDER BY checkin_time DESC LIMIT 10;
+
+-- 3. Histórico paginado: OFFSET profundo x cursor
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM work_records WHERE employee_id = :emp ORDER BY checkin_time DESC OFFSET 2000 LIMIT 10;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM work_records WHERE employee_id = :emp
+  AND (checkin_time, id) < (current_date - 1000, '00000000-0000-0000-0000-000000000000'::uuid)
+ORDER BY checkin_time DESC, id DESC LIMIT 11;
+
+-- 4. Janela da equipe inteira (relatórios / séries temporais)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT date_trunc('day', checkin_time), SUM(duration_seconds), COUNT(*)
+FROM work_records
+WHERE checkout_time IS NOT NULL AND checkin_time >= current_date - 7 AND checkin_time < current_date + 1
+GROUP BY 1 ORDER BY 1;
+
+-- 5. Poda de partições: janela de 7 dias e relatório mensal devem ler só 1-2 partições
+--    (procure por "Subplans Removed" / partições listadas no plano)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT employee_id, SUM(duration_seconds)
+FROM work_records
+WHERE checkin_time >= current_date - 6 AND checkin_time < current_date + 1
+GROUP BY employee_id;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM work_records
+WHERE employee_id = :emp
+  AND checkin_time >= date_trunc('month', current_date) - interval '1 month'
+  AND checkin_time < date_trunc('month', current_date)
+ORDER BY checkin_time DESC;
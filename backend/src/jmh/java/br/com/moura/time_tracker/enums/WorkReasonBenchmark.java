@@ -0,0 +1,48 @@
+package br.com.moura.time_tracker.enums;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WorkReason.fromCode: chamado em todo check-out e em cada filtro por motivo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkReasonBenchmark {
+
+    private String[] codes;
+    private String[] upperCaseCodes;
+
+    @Setup
+    public void setup() {
+        WorkReason[] reasons = WorkReason.values();
+        codes = new String[reasons.length];
+        upperCaseCodes = new String[reasons.length];
+        for (int i = 0; i < reasons.length; i++) {
+            codes[i] = reasons[i].getCode();
+            upperCaseCodes[i] = reasons[i].getCode().toUpperCase();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(6)
+    public void fromCode(Blackhole blackhole) {
+        for (String code : codes) {
+            blackhole.consume(WorkReason.fromCode(code));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(6)
+    public void fromCodeUpperCase(Blackhole blackhole) {
+        for (String code : upperCaseCodes) {
+            blackhole.consume(WorkReason.fromCode(code));
+        }
+    }
+}
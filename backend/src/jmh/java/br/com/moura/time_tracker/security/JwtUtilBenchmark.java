@@ -0,0 +1,60 @@
+package br.com.moura.time_tracker.security;
+
+import br.com.moura.time_tracker.dto.JWTUserData;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil: emissão no login e validação em toda requisição autenticada,
+ * com o cache de tokens verificados (acerto) e sem ele (HMAC + parse a cada chamada).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil cached;
+    private JwtUtil uncached;
+    private UUID userId;
+    private String token;
+
+    @Setup
+    public void setup() {
+        cached = jwtUtil(50_000);
+        uncached = jwtUtil(0);
+        userId = UUID.randomUUID();
+        token = cached.generateToken(userId, "benchmark@moura.com", "Benchmark", "USER");
+        cached.validateToken(token);
+    }
+
+    private static JwtUtil jwtUtil(long cacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "segredo-de-benchmark-com-tamanho-suficiente");
+        ReflectionTestUtils.setField(jwtUtil, "expirationTime", 86400L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", cacheSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken(userId, "benchmark@moura.com", "Benchmark", "USER");
+    }
+
+    @Benchmark
+    public Optional<JWTUserData> validateTokenCached() {
+        return cached.validateToken(token);
+    }
+
+    @Benchmark
+    public Optional<JWTUserData> validateTokenUncached() {
+        return uncached.validateToken(token);
+    }
+}
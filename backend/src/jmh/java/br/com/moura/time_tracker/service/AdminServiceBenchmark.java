@@ -0,0 +1,89 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.dto.WorkRecordResponseDTO;
+import br.com.moura.time_tracker.repository.EmployeeDailyTotalRepository;
+import br.com.moura.time_tracker.repository.WorkRecordRepository;
+import br.com.moura.time_tracker.repository.projection.ReportRecordView;
+import br.com.moura.time_tracker.repository.projection.TimeSeriesPoint;
+import br.com.moura.time_tracker.service.AdminService.ChartDataDTO;
+import br.com.moura.time_tracker.service.AdminService.RankingDTO;
+import br.com.moura.time_tracker.service.AdminService.TimeSeriesDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AdminService: montagem do relatório (conversão das linhas em DTO) e das agregações
+ * (resumo semanal, ranking e série temporal) a partir das linhas já devolvidas pelo banco.
+ * Tudo pela API pública do serviço, com repositórios sintéticos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdminServiceBenchmark {
+
+    @Param({"100", "10000"})
+    public int records;
+
+    @Param({"1000"})
+    public int employees;
+
+    private AdminService adminService;
+    private UUID employeeId;
+    private String yearStart;
+    private String yearEnd;
+
+    @Setup
+    public void setup() {
+        LocalDate today = LocalDate.now();
+        LocalDate start = today.minusDays(364);
+
+        List<TimeSeriesPoint> daily = new ArrayList<>();
+        // Metade dos dias com registros: o restante é preenchido com zero pelo serviço
+        for (int i = 0; i < 365; i += 2) {
+            daily.add(new TimeSeriesPoint(start.plusDays(i), 8L * 3600 * employees, employees * 2L));
+        }
+
+        EmployeeDailyTotalRepository dailyTotals = SyntheticData.repository(EmployeeDailyTotalRepository.class, Map.of(
+                "sumByDay", SyntheticData.dailyTotals(today.minusDays(6), 7, 7),
+                "sumByEmployee", SyntheticData.employeeTotals(employees, 11)));
+        List<ReportRecordView> report = SyntheticData.reportRecordViews(records, 42);
+        WorkRecordRepository workRecords = SyntheticData.repository(WorkRecordRepository.class, Map.of(
+                "sumByPeriod", daily,
+                "findReportData", report));
+
+        adminService = new AdminService(workRecords, null, dailyTotals, null, Clock.systemDefaultZone());
+        employeeId = UUID.randomUUID();
+        yearStart = start.toString();
+        yearEnd = today.toString();
+    }
+
+    @Benchmark
+    public List<WorkRecordResponseDTO> employeeReport() {
+        return adminService.generateReport(employeeId, yearStart, yearEnd);
+    }
+
+    @Benchmark
+    public ChartDataDTO weeklyTeamSummary() {
+        return adminService.getWeeklyTeamSummary();
+    }
+
+    @Benchmark
+    public List<RankingDTO> employeeRanking() {
+        return adminService.getEmployeeRanking();
+    }
+
+    @Benchmark
+    public TimeSeriesDTO dailyTimeSeriesForAYear() {
+        return adminService.getTimeSeries(yearStart, yearEnd, "day", null, null);
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.model.EmployeeSchedule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScheduleIndex: jornada esperada por funcionário/dia (deve ficar em 0 B/op com -prof gc)
+ * e a recompilação completa do índice, feita a cada alteração de escala.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleIndexBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"10000"})
+    public int employees;
+
+    private List<EmployeeSchedule> schedules;
+    private ScheduleIndex index;
+    private UUID[] employeeIds;
+    private LocalDate[] dates;
+    private int[] slots;
+    private long[] epochDays;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        LocalDate anchor = LocalDate.of(2024, 1, 1);
+        schedules = new ArrayList<>();
+        employeeIds = new UUID[employees];
+
+        // Um terço com revezamento de 2 semanas (12x36 simplificado), o resto seg-sex
+        for (int i = 0; i < employees; i++) {
+            UUID id = new UUID(0, i);
+            employeeIds[i] = id;
+            int weeks = i % 3 == 0 ? 2 : 1;
+            for (short week = 0; week < weeks; week++) {
+                EmployeeSchedule row = EmployeeSchedule.builder().employeeId(id).rotationWeek(week).rotationAnchor(anchor).build();
+                for (DayOfWeek day : DayOfWeek.values()) {
+                    if (weeks == 2 ? (day.ordinal() + week) % 2 == 0 : day.ordinal() < 5) {
+                        row.setShift(day, LocalTime.of(weeks == 2 ? 19 : 8, 0), LocalTime.of(weeks == 2 ? 7 : 17, 0));
+                    }
+                }
+                schedules.add(row);
+            }
+        }
+        index = ScheduleIndex.compile(schedules, 60);
+
+        dates = new LocalDate[LOOKUPS];
+        slots = new int[LOOKUPS];
+        epochDays = new long[LOOKUPS];
+        UUID[] sampled = new UUID[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            sampled[i] = employeeIds[random.nextInt(employees)];
+            dates[i] = anchor.plusDays(random.nextInt(730));
+            slots[i] = index.slotOf(sampled[i]);
+            epochDays[i] = dates[i].toEpochDay();
+        }
+        employeeIds = sampled;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void expectedMinutesByEmployee(Blackhole blackhole) {
+        for (int i = 0; i < LOOKUPS; i++) {
+            blackhole.consume(index.expectedMinutes(employeeIds[i], dates[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void expectedMinutesBySlot(Blackhole blackhole) {
+        for (int i = 0; i < LOOKUPS; i++) {
+            blackhole.consume(index.expectedMinutes(slots[i], epochDays[i]));
+        }
+    }
+
+    @Benchmark
+    public ScheduleIndex compile() {
+        return ScheduleIndex.compile(schedules, 60);
+    }
+}
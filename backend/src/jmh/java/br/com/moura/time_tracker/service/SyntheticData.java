@@ -0,0 +1,112 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.enums.WorkReason;
+import br.com.moura.time_tracker.model.Employee;
+import br.com.moura.time_tracker.model.WorkRecord;
+import br.com.moura.time_tracker.repository.projection.DailyTotalView;
+import br.com.moura.time_tracker.repository.projection.EmployeeTotalView;
+import br.com.moura.time_tracker.repository.projection.ReportRecordView;
+import br.com.moura.time_tracker.repository.projection.WorkRecordView;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Massa sintética e repositórios "de mentira" para os benchmarks:
+ * isolam o custo de CPU/alocação da camada de serviço, sem banco.
+ */
+final class SyntheticData {
+
+    private SyntheticData() {
+    }
+
+    record DailyRow(LocalDate workDate, Long totalSeconds) implements DailyTotalView {
+        public LocalDate getWorkDate() { return workDate; }
+        public Long getTotalSeconds() { return totalSeconds; }
+    }
+
+    record EmployeeRow(UUID employeeId, String name, Long totalSeconds) implements EmployeeTotalView {
+        public UUID getEmployeeId() { return employeeId; }
+        public String getName() { return name; }
+        public Long getTotalSeconds() { return totalSeconds; }
+    }
+
+    // Registros fechados (um a cada 20 ainda aberto), com motivos variados e durações de 10min a 5h
+    static List<WorkRecord> workRecords(int count, long seed) {
+        Random random = new Random(seed);
+        WorkReason[] reasons = WorkReason.values();
+        Employee employee = Employee.builder().id(UUID.randomUUID()).name("Funcionário Benchmark").build();
+        LocalDateTime base = LocalDate.now().minusDays(7).atTime(8, 0);
+
+        List<WorkRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime checkIn = base.plusMinutes(random.nextInt(7 * 24 * 60));
+            boolean open = i % 20 == 0;
+            long seconds = 600 + random.nextInt(5 * 3600);
+            records.add(WorkRecord.builder()
+                    .id(UUID.randomUUID())
+                    .employee(employee)
+                    .checkInTime(checkIn)
+                    .checkOutTime(open ? null : checkIn.plusSeconds(seconds))
+                    .durationSeconds(open ? null : seconds)
+                    .reason(open ? null : reasons[random.nextInt(reasons.length)])
+                    .details(open ? null : "detalhe " + i)
+                    .build());
+        }
+        return records;
+    }
+
+    // Mesmas linhas como chegam dos repositórios (projeções)
+    static List<WorkRecordView> workRecordViews(int count, long seed) {
+        return workRecords(count, seed).stream()
+                .map(r -> new WorkRecordView(r.getId(), r.getCheckInTime(), r.getCheckOutTime(),
+                        r.getDurationSeconds(), r.getReason(), r.getDetails()))
+                .toList();
+    }
+
+    static List<ReportRecordView> reportRecordViews(int count, long seed) {
+        return workRecords(count, seed).stream()
+                .map(r -> new ReportRecordView(r.getId(), r.getCheckInTime(), r.getCheckOutTime(),
+                        r.getDurationSeconds(), r.getReason()))
+                .toList();
+    }
+
+    static List<DailyTotalView> dailyTotals(LocalDate start, int days, long seed) {
+        Random random = new Random(seed);
+        List<DailyTotalView> rows = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            rows.add(new DailyRow(start.plusDays(i), (long) random.nextInt(500 * 8 * 3600)));
+        }
+        return rows;
+    }
+
+    static List<EmployeeTotalView> employeeTotals(int employees, long seed) {
+        Random random = new Random(seed);
+        List<EmployeeTotalView> rows = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            rows.add(new EmployeeRow(UUID.randomUUID(), "Funcionário " + i, (long) random.nextInt(60 * 3600)));
+        }
+        return rows;
+    }
+
+    // Implementa a interface do repositório devolvendo resultados fixos por nome de método
+    static <T> T repository(Class<T> type, Map<String, Object> results) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (results.containsKey(method.getName())) {
+                return results.get(method.getName());
+            }
+            return switch (method.getName()) {
+                case "toString" -> type.getSimpleName() + "Stub";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        }));
+    }
+}
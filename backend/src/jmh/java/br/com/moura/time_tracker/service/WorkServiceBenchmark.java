@@ -0,0 +1,55 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.dto.WorkRecordResponseDTO;
+import br.com.moura.time_tracker.repository.projection.WorkRecordView;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WorkService.toResponseDTO: roda para cada linha do histórico pessoal
+ * (formatação de data/hora e String.format da duração).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkServiceBenchmark {
+
+    private WorkService workService;
+    private List<WorkRecordView> page;
+    private WorkRecordView closedRecord;
+    private WorkRecordView openRecord;
+
+    @Setup
+    public void setup() {
+        workService = new WorkService(null, null, null, null, Clock.systemDefaultZone());
+        page = SyntheticData.workRecordViews(100, 42);
+        closedRecord = page.get(1);
+        openRecord = page.get(0);
+    }
+
+    @Benchmark
+    public WorkRecordResponseDTO toResponseDTOClosed() {
+        return workService.toResponseDTO(closedRecord);
+    }
+
+    @Benchmark
+    public WorkRecordResponseDTO toResponseDTOOpen() {
+        return workService.toResponseDTO(openRecord);
+    }
+
+    // Uma página de 100 itens do histórico
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public void toResponseDTOPage(Blackhole blackhole) {
+        for (WorkRecordView record : page) {
+            blackhole.consume(workService.toResponseDTO(record));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.moura.time_tracker.workload;
+
+import br.com.moura.time_tracker.enums.Granularity;
+import br.com.moura.time_tracker.repository.WorkRecordRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Mede cada consulta do WorkRecordRepository sobre a massa do WorkloadGenerator,
+ * em volumes crescentes (ex.: 10k, 1M e 50M registros).
+ *
+ * Cada consulta roda em sua própria transação (a de escrita é desfeita), variando o
+ * funcionário a cada execução para não medir só cache quente de uma única pessoa.
+ */
+public class RepositoryBenchmark {
+
+    private final WorkloadGenerator generator;
+    private final WorkRecordRepository workRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public RepositoryBenchmark(WorkloadGenerator generator, WorkRecordRepository workRecordRepository,
+                               PlatformTransactionManager transactionManager, Clock clock) {
+        this.generator = generator;
+        this.workRecordRepository = workRecordRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    public record Timing(long rows, String query, int iterations, double p50Millis, double p95Millis, double maxMillis) {}
+
+    public List<Timing> run(List<Long> scales, int years, int warmup, int iterations, long seed, Path csvOutput) throws IOException {
+        List<Timing> timings = new ArrayList<>();
+
+        for (long rows : scales) {
+            int employees = (int) Math.max(1, rows / ((long) years * WorkloadGenerator.RECORDS_PER_EMPLOYEE_YEAR));
+            WorkloadGenerator.Result dataset = generator.generate(employees, years, seed);
+
+            for (Map.Entry<String, Supplier<Object>> query : queries(dataset.employeeIds(), new Random(seed)).entrySet()) {
+                timings.add(time(dataset.records(), query.getKey(), query.getValue(), warmup, iterations));
+            }
+        }
+
+        print(timings);
+        Files.createDirectories(csvOutput.getParent());
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(csvOutput))) {
+            csv.println("rows,query,iterations,p50_ms,p95_ms,max_ms");
+            for (Timing t : timings) {
+                csv.printf("%d,%s,%d,%.3f,%.3f,%.3f%n", t.rows(), t.query(), t.iterations(), t.p50Millis(), t.p95Millis(), t.maxMillis());
+            }
+        }
+        return timings;
+    }
+
+    private Map<String, Supplier<Object>> queries(List<UUID> employeeIds, Random random) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate today = now.toLocalDate();
+        Supplier<UUID> anyEmployee = () -> employeeIds.get(random.nextInt(employeeIds.size()));
+        List<UUID> hundred = employeeIds.subList(0, Math.min(100, employeeIds.size()));
+        UUID lastUuid = new UUID(-1L, -1L);
+
+        Map<String, Supplier<Object>> queries = new LinkedHashMap<>();
+        queries.put("findByEmployeeIdAndCheckOutTimeIsNull",
+                () -> workRecordRepository.findByEmployeeIdAndCheckOutTimeIsNull(anyEmployee.get()));
+        queries.put("findByEmployeeIdInAndCheckOutTimeIsNull(100)",
+                () -> workRecordRepository.findByEmployeeIdInAndCheckOutTimeIsNull(hundred));
+        queries.put("insertOpenShift (rollback)",
+                () -> workRecordRepository.insertOpenShift(anyEmployee.get(), now));
+        queries.put("findByEmployeeIdOrderByCheckInTimeDesc(page 0)",
+                () -> workRecordRepository.findByEmployeeIdOrderByCheckInTimeDesc(anyEmployee.get(), PageRequest.of(0, 10)));
+        queries.put("findByEmployeeIdOrderByCheckInTimeDesc(page 50)",
+                () -> workRecordRepository.findByEmployeeIdOrderByCheckInTimeDesc(anyEmployee.get(), PageRequest.of(50, 10)));
+        queries.put("findHistoryFirstPage",
+                () -> workRecordRepository.findHistoryFirstPage(anyEmployee.get(), Limit.of(11)));
+        queries.put("findHistoryPageAfter(6 months back)",
+                () -> workRecordRepository.findHistoryPageAfter(anyEmployee.get(), now.minusMonths(6), lastUuid, Limit.of(11)));
+        queries.put("findByEmployeeIdAndCheckInRange(1 day)",
+                () -> workRecordRepository.findByEmployeeIdAndCheckInRange(anyEmployee.get(),
+                        today.minusDays(30).atStartOfDay(), today.minusDays(29).atStartOfDay(), PageRequest.of(0, 10)));
+        queries.put("findReportData(1 month)",
+                () -> workRecordRepository.findReportData(anyEmployee.get(), today.minusMonths(1).atStartOfDay(), now));
+        queries.put("streamReportData(7 days, all employees)",
+                () -> countStream(() -> workRecordRepository.streamReportData(today.minusDays(6).atStartOfDay(), now)));
+        queries.put("streamReportDataByEmployee(1 year)",
+                () -> countStream(() -> workRecordRepository.streamReportDataByEmployee(anyEmployee.get(), today.minusYears(1).atStartOfDay(), now)));
+        queries.put("sumByPeriod(day, 30 days)",
+                () -> workRecordRepository.sumByPeriod(Granularity.DAY, today.minusDays(29).atStartOfDay(), now, null, null));
+        queries.put("sumByPeriod(month, 1 year, employee)",
+                () -> workRecordRepository.sumByPeriod(Granularity.MONTH, today.minusYears(1).atStartOfDay(), now, anyEmployee.get(), null));
+        return queries;
+    }
+
+    private static long countStream(Supplier<Stream<?>> stream) {
+        try (var rows = stream.get()) {
+            return rows.count();
+        }
+    }
+
+    private Timing time(long rows, String name, Supplier<Object> query, int warmup, int iterations) {
+        for (int i = 0; i < warmup; i++) {
+            execute(query);
+        }
+
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            execute(query);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        return new Timing(rows, name, iterations,
+                nanos[(int) Math.floor((iterations - 1) * 0.50)] / 1e6,
+                nanos[(int) Math.floor((iterations - 1) * 0.95)] / 1e6,
+                nanos[iterations - 1] / 1e6);
+    }
+
+    // Sempre desfaz: a única consulta de escrita (insertOpenShift) não altera a massa
+    private void execute(Supplier<Object> query) {
+        transactionTemplate.executeWithoutResult(status -> {
+            query.get();
+            status.setRollbackOnly();
+        });
+    }
+
+    private static void print(List<Timing> timings) {
+        System.out.printf("%n%-12s %-50s %10s %10s %10s%n", "rows", "query", "p50 ms", "p95 ms", "max ms");
+        for (Timing t : timings) {
+            System.out.printf("%-12d %-50s %10.3f %10.3f %10.3f%n", t.rows(), t.query(), t.p50Millis(), t.p95Millis(), t.maxMillis());
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package br.com.moura.time_tracker.workload;
+
+import br.com.moura.time_tracker.enums.WorkReason;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Gera anos de batidas realistas para N funcionários e carrega no Postgres via COPY.
+ *
+ * Cada dia útil vira uma sequência de turnos (cada registro termina com o motivo da saída):
+ * manhã até o almoço (LUNCH_START), pausas de café (BREAK_START), reuniões externas
+ * (MEETING_START), consultas (MEDICAL), saídas avulsas (OTHER, com detalhes) e o fim do
+ * expediente (END_SHIFT). Check-outs esquecidos aparecem como ajustes do RH no dia seguinte;
+ * no dia corrente (segundo o Clock) quem já entrou fica com o turno aberto.
+ *
+ * Cada funcionário recebe também a escala em employee_schedules (seg-sex no horário sorteado,
+ * o mesmo usado nas batidas), para que atrasos e horas extras sejam medidos contra ela.
+ *
+ * Mesmo seed + mesmo Clock (clock.fixed) => mesma massa.
+ * APAGA work_records, employee_current_status, employee_daily_totals e os funcionários "workload*".
+ */
+public class WorkloadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadGenerator.class);
+
+    // Média observada do gerador: ~3,5 registros por dia útil, ~250 dias úteis por ano
+    public static final int RECORDS_PER_EMPLOYEE_YEAR = 870;
+
+    // Mesma senha dos usuários de teste (V2)
+    private static final String PASSWORD_HASH = "$2a$10$.2sXbmXbPEAXj./RzgZai.O6pJ.Zb4X.u9NoRBWKIdQ.rHRc3Jcfe";
+    private static final int COPY_CHUNK_CHARS = 8 * 1024 * 1024;
+
+    private static final LocalTime[][] SCHEDULES = {
+            {LocalTime.of(8, 0), LocalTime.of(17, 0)},
+            {LocalTime.of(7, 0), LocalTime.of(16, 0)},
+            {LocalTime.of(9, 0), LocalTime.of(18, 0)},
+    };
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+
+    public WorkloadGenerator(DataSource dataSource, Clock clock) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.clock = clock;
+    }
+
+    public record Result(List<UUID> employeeIds, long records, Duration elapsed) {}
+
+    private record Shift(LocalDateTime checkIn, LocalDateTime checkOut, WorkReason reason, String details) {}
+
+    public Result generate(int employees, int years, long seed) {
+        long started = System.nanoTime();
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate firstDay = now.toLocalDate().minusYears(years);
+
+        reset();
+        createPartitions(firstDay, now.toLocalDate());
+
+        List<UUID> employeeIds = new ArrayList<>(employees);
+        List<LocalTime[]> schedules = new ArrayList<>(employees);
+        StringBuilder employeeCsv = new StringBuilder();
+        StringBuilder scheduleCsv = new StringBuilder();
+        LocalDate rotationAnchor = firstDay.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        for (int i = 0; i < employees; i++) {
+            UUID id = uuid(random);
+            // 70% no horário padrão, 20% cedo, 10% tarde
+            int roll = random.nextInt(10);
+            LocalTime[] schedule = SCHEDULES[roll < 7 ? 0 : roll < 9 ? 1 : 2];
+            employeeIds.add(id);
+            schedules.add(schedule);
+            employeeCsv.append(id).append(',')
+                    .append("Workload ").append(i).append(',')
+                    .append("workload").append(i).append("@moura.com").append(',')
+                    .append(PASSWORD_HASH).append(",USER,")
+                    .append(schedule[0]).append(',').append(schedule[1]).append(',')
+                    .append(firstDay.atStartOfDay()).append(',').append(firstDay.atStartOfDay()).append('\n');
+            // Sábado fica de folga na escala: o plantão de sábado do gerador conta como hora extra
+            scheduleCsv.append(id).append(",0,").append(rotationAnchor);
+            for (int weekday = 0; weekday < 5; weekday++) {
+                scheduleCsv.append(',').append(schedule[0]).append(',').append(schedule[1]);
+            }
+            scheduleCsv.append('\n');
+        }
+
+        long records = 0;
+        try (CopyBuffer employeesCopy = new CopyBuffer(
+                "COPY employees (id, name, email, password, role, work_start_time, work_end_time, created_at, updated_at) FROM STDIN (FORMAT csv)")) {
+            employeesCopy.append(employeeCsv);
+        }
+        try (CopyBuffer schedulesCopy = new CopyBuffer(
+                "COPY employee_schedules (employee_id, rotation_week, rotation_anchor, mon_start, mon_end, tue_start, tue_end, " +
+                        "wed_start, wed_end, thu_start, thu_end, fri_start, fri_end) FROM STDIN (FORMAT csv)")) {
+            schedulesCopy.append(scheduleCsv);
+        }
+
+        try (CopyBuffer recordsCopy = new CopyBuffer(
+                "COPY work_records (id, employee_id, checkin_time, checkout_time, duration_seconds, reason_id, details) FROM STDIN (FORMAT csv)")) {
+            StringBuilder row = new StringBuilder(256);
+            for (int i = 0; i < employees; i++) {
+                UUID employeeId = employeeIds.get(i);
+                LocalTime[] schedule = schedules.get(i);
+
+                for (LocalDate day = firstDay; !day.isAfter(now.toLocalDate()); day = day.plusDays(1)) {
+                    for (Shift shift : workday(random, day, schedule, now)) {
+                        row.setLength(0);
+                        row.append(uuid(random)).append(',').append(employeeId).append(',').append(shift.checkIn()).append(',');
+                        if (shift.checkOut() != null) {
+                            row.append(shift.checkOut()).append(',')
+                                    .append(Duration.between(shift.checkIn(), shift.checkOut()).getSeconds()).append(',')
+                                    .append(shift.reason().name()).append(',');
+                            if (shift.details() != null) row.append('"').append(shift.details().replace("\"", "\"\"")).append('"');
+                        } else {
+                            row.append(",,,");
+                        }
+                        row.append('\n');
+                        recordsCopy.append(row);
+                        records++;
+                    }
+                }
+            }
+        }
+
+        rebuildProjections(firstDay, now.toLocalDate());
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        logger.info("Massa gerada: {} funcionários, {} registros em {} ({} anos até {})",
+                employees, records, elapsed, years, now);
+        return new Result(employeeIds, records, elapsed);
+    }
+
+    // Turnos de um dia para um funcionário
+    private List<Shift> workday(Random random, LocalDate day, LocalTime[] schedule, LocalDateTime now) {
+        List<Shift> shifts = new ArrayList<>(6);
+        boolean saturday = day.getDayOfWeek() == DayOfWeek.SATURDAY;
+
+        if (day.getDayOfWeek() == DayOfWeek.SUNDAY) return shifts;
+        if (saturday && random.nextInt(100) >= 5) return shifts;   // plantão de sábado: 5%
+        if (random.nextInt(100) < 4) return shifts;                 // férias, folga, atestado
+
+        LocalDateTime start = day.atTime(schedule[0]).plusMinutes(gaussianMinutes(random, 8));
+        LocalDateTime lunch = day.atTime(saturday ? schedule[0].plusHours(4) : LocalTime.NOON).plusMinutes(gaussianMinutes(random, 15));
+        LocalDateTime end = day.atTime(saturday ? schedule[0].plusHours(4) : schedule[1]).plusMinutes(gaussianMinutes(random, 12));
+
+        LocalDateTime cursor = start;
+        if (!saturday) {
+            // Manhã: eventual pausa para café
+            LocalDateTime pause = cursor.plusMinutes(90 + random.nextInt(60));
+            if (random.nextInt(100) < 30 && pause.plusMinutes(30).isBefore(lunch)) {
+                shifts.add(new Shift(cursor, pause, WorkReason.BREAK_START, null));
+                cursor = pause.plusMinutes(10 + random.nextInt(10));
+            }
+            shifts.add(new Shift(cursor, lunch, WorkReason.LUNCH_START, null));
+            cursor = lunch.plusMinutes(50 + random.nextInt(25));
+
+            // Tarde: reunião externa, consulta médica ou saída avulsa
+            int roll = random.nextInt(1000);
+            WorkReason away = roll < 150 ? WorkReason.MEETING_START
+                    : roll < 170 ? WorkReason.MEDICAL
+                    : roll < 180 ? WorkReason.OTHER
+                    : null;
+            if (away != null) {
+                LocalDateTime leave = cursor.plusMinutes(60 + random.nextInt(90));
+                long minutesAway = away == WorkReason.MEDICAL ? 60 + random.nextInt(120) : 30 + random.nextInt(60);
+                if (leave.plusMinutes(minutesAway).isBefore(end.minusMinutes(30))) {
+                    shifts.add(new Shift(cursor, leave, away, away == WorkReason.OTHER ? "Resolver pendência pessoal" : null));
+                    cursor = leave.plusMinutes(minutesAway);
+                }
+            }
+        }
+
+        // Check-out esquecido (1,5%): o RH fecha no horário previsto no dia seguinte
+        LocalDateTime scheduledEnd = day.atTime(schedule[1]);
+        if (random.nextInt(1000) < 15 && scheduledEnd.isAfter(cursor)) {
+            shifts.add(new Shift(cursor, scheduledEnd, WorkReason.OTHER, "Check-out esquecido, ajustado pelo RH"));
+        } else {
+            shifts.add(new Shift(cursor, end, WorkReason.END_SHIFT, null));
+        }
+
+        return cutAt(shifts, now);
+    }
+
+    // No dia corrente só existe o que já aconteceu; o turno em andamento fica aberto
+    private List<Shift> cutAt(List<Shift> shifts, LocalDateTime now) {
+        List<Shift> past = new ArrayList<>(shifts.size());
+        for (Shift shift : shifts) {
+            if (!shift.checkIn().isBefore(now)) break;
+            if (shift.checkOut().isAfter(now)) {
+                past.add(new Shift(shift.checkIn(), null, null, null));
+                break;
+            }
+            past.add(shift);
+        }
+        return past;
+    }
+
+    private static long gaussianMinutes(Random random, int stdDevMinutes) {
+        return Math.round(random.nextGaussian() * stdDevMinutes);
+    }
+
+    private static UUID uuid(Random random) {
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    private void reset() {
+        jdbcTemplate.execute("TRUNCATE work_records, employee_current_status, employee_daily_totals");
+        // As escalas saem junto (employee_schedules tem ON DELETE CASCADE)
+        jdbcTemplate.update("DELETE FROM employees WHERE email LIKE 'workload%@moura.com'");
+    }
+
+    private void createPartitions(LocalDate from, LocalDate to) {
+        jdbcTemplate.execute("""
+            DO $$
+            DECLARE m DATE;
+            BEGIN
+                FOR m IN SELECT generate_series(date_trunc('month', DATE '%s'), date_trunc('month', DATE '%s'), INTERVAL '1 month')::date LOOP
+                    EXECUTE format('CREATE TABLE IF NOT EXISTS work_records_p%%s PARTITION OF work_records FOR VALUES FROM (%%L) TO (%%L)',
+                                   to_char(m, 'YYYYMM'), m, (m + INTERVAL '1 month')::date);
+                END LOOP;
+            END $$
+            """.formatted(from, to));
+    }
+
+    private void rebuildProjections(LocalDate from, LocalDate to) {
+        jdbcTemplate.update("""
+            INSERT INTO employee_current_status (employee_id, record_id, checkin_time, checkout_time, duration_seconds, updated_at)
+            SELECT DISTINCT ON (employee_id) employee_id, id, checkin_time, checkout_time, duration_seconds, CURRENT_TIMESTAMP
+            FROM work_records
+            ORDER BY employee_id, checkin_time DESC
+            """);
+        jdbcTemplate.update("""
+            INSERT INTO employee_daily_totals (employee_id, work_date, reason_id, total_seconds, record_count)
+            SELECT employee_id, CAST(checkin_time AS DATE), COALESCE(reason_id, 'NONE'), SUM(duration_seconds), COUNT(*)
+            FROM work_records
+            WHERE checkout_time IS NOT NULL AND duration_seconds IS NOT NULL
+              AND checkin_time >= ? AND checkin_time < ?
+            GROUP BY employee_id, CAST(checkin_time AS DATE), COALESCE(reason_id, 'NONE')
+            """, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        jdbcTemplate.execute("ANALYZE employees");
+        jdbcTemplate.execute("ANALYZE employee_schedules");
+        jdbcTemplate.execute("ANALYZE work_records");
+        jdbcTemplate.execute("ANALYZE employee_current_status");
+        jdbcTemplate.execute("ANALYZE employee_daily_totals");
+    }
+
+    // Acumula linhas CSV e envia em blocos com COPY ... FROM STDIN
+    private class CopyBuffer implements AutoCloseable {
+
+        private final String sql;
+        private final Connection connection;
+        private final CopyManager copyManager;
+        private final StringBuilder buffer = new StringBuilder(COPY_CHUNK_CHARS + 1024);
+
+        CopyBuffer(String sql) {
+            this.sql = sql;
+            this.connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                this.copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            } catch (SQLException e) {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+                throw new IllegalStateException("COPY exige o driver do PostgreSQL", e);
+            }
+        }
+
+        void append(CharSequence rows) {
+            buffer.append(rows);
+            if (buffer.length() >= COPY_CHUNK_CHARS) flush();
+        }
+
+        private void flush() {
+            if (buffer.isEmpty()) return;
+            try {
+                copyManager.copyIn(sql, new StringReader(buffer.toString()));
+            } catch (SQLException | IOException e) {
+                throw new IllegalStateException("Falha no COPY: " + sql, e);
+            }
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() {
+            try {
+                flush();
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.moura.time_tracker.workload;
+
+import br.com.moura.time_tracker.MouraTimeTrackerApplication;
+import br.com.moura.time_tracker.repository.WorkRecordRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ponto de entrada da geração de massa e do benchmark de repositório
+ * (sobe o contexto da aplicação sem servidor web, apontando para SPRING_DATASOURCE_URL).
+ *
+ *   ./mvnw -Pjmh test-compile exec:exec@workload -Dworkload.args="--workload.allow-reset=true --workload.mode=generate --workload.employees=2000 --workload.years=3"
+ *   ./mvnw -Pjmh test-compile exec:exec@workload -Dworkload.args="--workload.allow-reset=true --workload.mode=benchmark --workload.scales=10000,1000000,50000000"
+ *
+ * Para uma massa reproduzível, fixe também o relógio: --clock.fixed=2025-06-02T10:30:00
+ */
+public class WorkloadMain {
+
+    public static void main(String[] args) throws Exception {
+        SpringApplication application = new SpringApplication(MouraTimeTrackerApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            Environment env = context.getEnvironment();
+            if (!env.getProperty("workload.allow-reset", Boolean.class, false)) {
+                throw new IllegalStateException("O gerador apaga work_records e projeções: confirme com --workload.allow-reset=true (somente em banco de teste!)");
+            }
+
+            Clock clock = context.getBean(Clock.class);
+            WorkloadGenerator generator = new WorkloadGenerator(context.getBean(DataSource.class), clock);
+            int years = env.getProperty("workload.years", Integer.class, 2);
+            long seed = env.getProperty("workload.seed", Long.class, 42L);
+
+            switch (env.getProperty("workload.mode", "benchmark")) {
+                case "generate" -> generator.generate(env.getProperty("workload.employees", Integer.class, 1000), years, seed);
+                case "benchmark" -> {
+                    List<Long> scales = Arrays.stream(env.getProperty("workload.scales", "10000,1000000,50000000").split(","))
+                            .map(String::trim).map(Long::parseLong).toList();
+                    new RepositoryBenchmark(generator, context.getBean(WorkRecordRepository.class),
+                            context.getBean(PlatformTransactionManager.class), clock)
+                            .run(scales, years,
+                                    env.getProperty("workload.warmup", Integer.class, 5),
+                                    env.getProperty("workload.iterations", Integer.class, 30),
+                                    seed,
+                                    Path.of(env.getProperty("workload.output", "target/workload/repository-benchmark.csv")));
+                }
+                default -> throw new IllegalArgumentException("workload.mode deve ser generate ou benchmark");
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.moura.time_tracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@Configuration
+public class ClockConfig {
+
+    // Relógio único da aplicação. Para reproduzir um cenário, clock.fixed congela o horário
+    // (ex.: 2025-03-10T08:00:00) e clock.offset adianta/atrasa o relógio (ex.: 72h, -30m).
+    @Bean
+    public Clock clock(@Value("${clock.fixed:}") String fixed,
+                       @Value("${clock.offset:0s}") Duration offset) {
+        ZoneId zone = ZoneId.systemDefault();
+        Clock base = fixed.isBlank()
+                ? Clock.system(zone)
+                : Clock.fixed(LocalDateTime.parse(fixed).atZone(zone).toInstant(), zone);
+
+        return offset.isZero() ? base : Clock.offset(base, offset);
+    }
+}
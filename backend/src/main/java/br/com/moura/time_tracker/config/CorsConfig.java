@@ -10,7 +10,7 @@ public class CorsConfig implements WebMvcConfigurer {
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
-                .allowedOrigins("http://localhost:5173", "https://moura-time-tracker.vercel.app", "*", "http://localhost:3000", "http://127.0.0.1:5173")
+                .allowedOrigins("http://localhost:5173", "https://moura-time-tracker.vercel.app", "http://localhost:3000", "http://127.0.0.1:5173")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
                 .allowCredentials(true)
@@ -0,0 +1,40 @@
+package br.com.moura.time_tracker.config;
+
+import br.com.moura.time_tracker.repository.EmployeeCurrentStatusRepository;
+import br.com.moura.time_tracker.security.JwtUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métricas de domínio. As de HTTP, repositórios, Hikari e Hibernate vêm da
+ * autoconfiguração do Actuator (ver management.* no application.yaml).
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Consultado a cada scrape do Prometheus
+    @Bean
+    public MeterBinder openShiftsGauge(EmployeeCurrentStatusRepository employeeCurrentStatusRepository) {
+        return registry -> Gauge.builder("work.shifts.open", employeeCurrentStatusRepository,
+                        EmployeeCurrentStatusRepository::countByCheckOutTimeIsNull)
+                .description("Funcionários com turno aberto")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder jwtVerifiedCacheMetrics(JwtUtil jwtUtil) {
+        return registry -> {
+            FunctionCounter.builder("security.jwt.verified.cache", jwtUtil, JwtUtil::getVerifiedCacheHits)
+                    .description("Validações de JWT atendidas pelo cache")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("security.jwt.verified.cache", jwtUtil, JwtUtil::getVerifiedCacheMisses)
+                    .description("Validações de JWT que exigiram verificação da assinatura")
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+}
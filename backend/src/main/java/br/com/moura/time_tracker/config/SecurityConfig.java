@@ -11,6 +11,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -31,10 +32,16 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            // Contexto guardado no request (ver SecurityFilter): dispatches assíncronos (SSE,
+            // CompletableFuture, streaming) são autorizados com o mesmo usuário e as mesmas regras
+            .securityContext(context -> context.securityContextRepository(new RequestAttributeSecurityContextRepository()))
             .authorizeHttpRequests(authorize -> authorize
 
                     // STATUS
                     .requestMatchers("/status").permitAll()
+                    // ACTUATOR (porta de gerenciamento separada; ver management.server.port)
+                    .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
                     // SWAGGER
                     .requestMatchers(
                         "/v3/api-docs/**",
@@ -51,6 +58,7 @@ public class SecurityConfig {
                             "/work/ranking/**",
                             "/work/dashboard/**"
                     ).hasRole("ADMIN")
+                    .requestMatchers("/work/punches/**").hasAnyRole("ADMIN", "TERMINAL")
                     .requestMatchers(
                             "/work/weekly-summary/**",
                             "/work/report/**"
@@ -58,7 +66,8 @@ public class SecurityConfig {
 
                     .requestMatchers("/dev/**").permitAll()
 
-                    .anyRequest().authenticated()
+                    // Tokens de terminal (POST /admin/terminals) só enviam lotes de batidas
+                    .anyRequest().hasAnyRole("ADMIN", "USER")
             )
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
             .build();
@@ -70,7 +79,7 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:5173", "http://localhost:5174", "http://localhost:3000"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Last-Event-ID"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -1,8 +1,10 @@
 package br.com.moura.time_tracker.config;
 
 import br.com.moura.time_tracker.dto.JWTUserData;
-import br.com.moura.time_tracker.repository.EmployeeRepository; // <--- Importante
 import br.com.moura.time_tracker.security.JwtUtil;
+import br.com.moura.time_tracker.security.PrincipalResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,8 +12,11 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.util.Strings;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -23,30 +28,52 @@ import java.util.Optional;
 public class SecurityFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final EmployeeRepository employeeRepository;
+    private final PrincipalResolver principalResolver;
+    private final MeterRegistry meterRegistry;
+
+    // Mesmo repositório configurado no SecurityConfig: o dispatch assíncrono não passa por este
+    // filtro (OncePerRequestFilter) e recupera o usuário do atributo do request
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        String authorizationHeader = request.getHeader("Authorization");
+        // Mede só o trabalho do filtro (token + principal), não o restante da requisição
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "anonymous";
+
+        try {
+            String authorizationHeader = request.getHeader("Authorization");
 
-        if (Strings.isNotEmpty(authorizationHeader) && authorizationHeader.startsWith("Bearer ")) {
-            String token = authorizationHeader.substring("Bearer ".length());
+            if (Strings.isNotEmpty(authorizationHeader) && authorizationHeader.startsWith("Bearer ")) {
+                String token = authorizationHeader.substring("Bearer ".length());
+                outcome = "invalid_token";
 
-            Optional<JWTUserData> optionalJWTUserData = jwtUtil.validateToken(token);
+                Optional<JWTUserData> optionalJWTUserData = jwtUtil.validateToken(token);
 
-            if (optionalJWTUserData.isPresent()) {
-                JWTUserData jwtUserData = optionalJWTUserData.get();
+                if (optionalJWTUserData.isPresent()) {
+                    JWTUserData jwtUserData = optionalJWTUserData.get();
+                    outcome = "unknown_user";
 
-                var userEntityOptional = employeeRepository.findByEmail(jwtUserData.email());
+                    var userEntityOptional = principalResolver.resolve(jwtUserData);
 
-                if (userEntityOptional.isPresent()) {
-                    UserDetails user = userEntityOptional.get();
-                    UsernamePasswordAuthenticationToken authenticationToken =
-                            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                    if (userEntityOptional.isPresent()) {
+                        UserDetails user = userEntityOptional.get();
+                        UsernamePasswordAuthenticationToken authenticationToken =
+                                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
 
-                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                        SecurityContext context = SecurityContextHolder.createEmptyContext();
+                        context.setAuthentication(authenticationToken);
+                        SecurityContextHolder.setContext(context);
+                        securityContextRepository.saveContext(context, request, response);
+                        outcome = "authenticated";
+                    }
                 }
             }
+        } finally {
+            sample.stop(Timer.builder("security.filter")
+                    .description("Tempo gasto no SecurityFilter (validação do JWT e resolução do usuário)")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
 
         filterChain.doFilter(request, response);
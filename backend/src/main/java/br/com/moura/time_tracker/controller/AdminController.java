@@ -1,18 +1,39 @@
 package br.com.moura.time_tracker.controller;
 
+import br.com.moura.time_tracker.dto.ApiResponse;
+import br.com.moura.time_tracker.dto.BulkScheduleRequestDTO;
+import br.com.moura.time_tracker.dto.BulkScheduleResponseDTO;
+import br.com.moura.time_tracker.dto.CursorPage;
+import br.com.moura.time_tracker.dto.DepartmentDto;
+import br.com.moura.time_tracker.dto.EmployeeResponse;
 import br.com.moura.time_tracker.dto.ScheduleDto;
-import br.com.moura.time_tracker.model.Employee;
-import br.com.moura.time_tracker.repository.EmployeeRepository;
+import br.com.moura.time_tracker.dto.TerminalTokenRequest;
+import br.com.moura.time_tracker.dto.TerminalTokenResponse;
+import br.com.moura.time_tracker.dto.WeeklyScheduleDto;
+import br.com.moura.time_tracker.exception.InvalidRequestException;
 import br.com.moura.time_tracker.service.AdminService;
+import br.com.moura.time_tracker.service.ComplianceService;
+import br.com.moura.time_tracker.service.DashboardStreamService;
 import br.com.moura.time_tracker.service.EmployeeService;
+import br.com.moura.time_tracker.service.PayrollService;
+import br.com.moura.time_tracker.service.ReportExportService;
+import br.com.moura.time_tracker.service.RequestParams;
+import br.com.moura.time_tracker.service.ScheduleService;
+import br.com.moura.time_tracker.service.TerminalService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -25,8 +46,32 @@ import java.util.UUID;
 public class AdminController {
 
     private final AdminService adminService;
-    private final EmployeeRepository employeeRepository;
     private final EmployeeService employeeService;
+    private final DashboardStreamService dashboardStreamService;
+    private final ReportExportService reportExportService;
+    private final ComplianceService complianceService;
+    private final ScheduleService scheduleService;
+    private final PayrollService payrollService;
+    private final TerminalService terminalService;
+
+    @PostMapping("/terminals")
+    @Operation(summary = "Credencial de Terminal", description = "Cadastra um terminal de crachá/quiosque e emite o token dele (papel TERMINAL). Ele só acessa o envio de lotes de batidas (/work/punches) e vale por jwt.terminal-expiration segundos, ou até ser revogado.")
+    public ResponseEntity<TerminalTokenResponse> issueTerminalToken(@Valid @RequestBody TerminalTokenRequest request) {
+        return ResponseEntity.ok(terminalService.issue(request.getName()));
+    }
+
+    @GetMapping("/terminals")
+    @Operation(summary = "Listar Terminais", description = "Terminais cadastrados, incluindo os revogados (revokedAt preenchido).")
+    public ResponseEntity<List<TerminalService.TerminalDTO>> listTerminals() {
+        return ResponseEntity.ok(terminalService.list());
+    }
+
+    @DeleteMapping("/terminals/{id}")
+    @Operation(summary = "Revogar Terminal", description = "Revoga a credencial do terminal: o token dele deixa de autenticar imediatamente.")
+    public ResponseEntity<Void> revokeTerminal(@PathVariable UUID id) {
+        terminalService.revoke(id);
+        return ResponseEntity.noContent().build();
+    }
 
     @GetMapping("/dashboard")
     @Operation(summary = "Dashboard Geral (Status)", description = "Retorna o status atual de todos os colaboradores (quem está trabalhando e quem já finalizou).")
@@ -34,6 +79,12 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getTeamCurrentStatus());
     }
 
+    @GetMapping(value = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Dashboard em Tempo Real (SSE)", description = "Envia um snapshot inicial do status da equipe e depois um evento a cada check-in/check-out. Aceita o header Last-Event-ID para retomar a conexão.")
+    public SseEmitter streamTeamStatus(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return dashboardStreamService.subscribe(lastEventId);
+    }
+
     @GetMapping("/report")
     @Operation(summary = "Gerar Relatório Detalhado", description = "Busca registros de ponto filtrados por ID do funcionário e intervalo de datas.")
     public ResponseEntity<?> getReport(
@@ -44,26 +95,150 @@ public class AdminController {
         return ResponseEntity.ok(adminService.generateReport(employeeId, startDate, endDate));
     }
 
+    @GetMapping("/report/employees")
+    @Operation(summary = "Relatório de Vários Funcionários", description = "Relatório do intervalo para uma lista de funcionários (employeeIds), um departamento ou todos os colaboradores (all=true), em uma seção por funcionário com o total do período.")
+    public ResponseEntity<List<AdminService.EmployeeReportDTO>> getTeamReport(
+            @RequestParam(required = false) List<UUID> employeeIds,
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "false") boolean all,
+            @RequestParam String startDate,
+            @RequestParam String endDate
+    ) {
+        return ResponseEntity.ok(adminService.generateTeamReport(employeeIds, department, all, startDate, endDate));
+    }
+
+    @GetMapping("/report/export")
+    @Operation(summary = "Exportar Relatório (CSV/NDJSON)", description = "Exporta em streaming os registros de ponto do intervalo, de um funcionário ou de todos, sem carregar o resultado inteiro em memória.")
+    public void exportReport(
+            @RequestParam(required = false) UUID employeeId,
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        // Valida tudo antes de mexer na resposta: erro aqui ainda sai como JSON (400), não como anexo
+        ReportExportService.Format exportFormat = ReportExportService.Format.fromCode(format);
+        LocalDate start = RequestParams.date(startDate);
+        LocalDate end = RequestParams.date(endDate);
+        if (end.isBefore(start)) {
+            throw new InvalidRequestException("endDate deve ser igual ou posterior a startDate");
+        }
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"relatorio_" + start + "_" + end + "." + exportFormat.getExtension() + "\"");
+
+        reportExportService.export(employeeId, start, end, exportFormat, response.getOutputStream());
+    }
+
     @GetMapping("/employees")
-    @Operation(summary = "Listar Funcionários", description = "Retorna a lista completa de funcionários cadastrados no sistema.")
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        return ResponseEntity.ok(employeeRepository.findAll());
+    @Operation(summary = "Listar Funcionários", description = "Diretório paginado por cursor, em ordem alfabética. 'search' filtra por trecho ou nome aproximado/e-mail; envie o nextCursor da resposta anterior para a próxima página.")
+    public ResponseEntity<CursorPage<EmployeeResponse>> getAllEmployees(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(employeeService.searchDirectory(search, cursor, size));
     }
 
     @PutMapping("/employees/{id}/schedule")
-    @Operation(summary = "Atualizar Escala de Trabalho", description = "Define ou atualiza os horários de entrada e saída previstos para um funcionário.")
+    @Operation(summary = "Atualizar Escala de Trabalho", description = "Define o mesmo horário de entrada e saída de segunda a sexta (sem revezamento). Para escalas por dia ou revezamento, use /weekly-schedule.")
     public ResponseEntity<?> updateSchedule(@PathVariable UUID id, @Valid @RequestBody ScheduleDto schedule) {
         employeeService.updateSchedule(id, schedule);
 
         return ResponseEntity.ok(Map.of("message", "Escala atualizada com sucesso!"));
     }
 
+    @GetMapping("/employees/{id}/weekly-schedule")
+    @Operation(summary = "Consultar Escala Semanal", description = "Retorna a escala por dia da semana e as semanas do revezamento do funcionário.")
+    public ResponseEntity<WeeklyScheduleDto> getWeeklySchedule(@PathVariable UUID id) {
+        return ResponseEntity.ok(scheduleService.getWeeklySchedule(id));
+    }
+
+    @PutMapping("/employees/{id}/weekly-schedule")
+    @Operation(summary = "Atualizar Escala Semanal", description = "Substitui a escala do funcionário: até 4 semanas de revezamento, um horário por dia (nulo = folga). A semana 0 começa na segunda-feira de rotationStart.")
+    public ResponseEntity<?> updateWeeklySchedule(@PathVariable UUID id, @Valid @RequestBody WeeklyScheduleDto schedule) {
+        scheduleService.updateWeeklySchedule(id, schedule);
+
+        return ResponseEntity.ok(Map.of("message", "Escala atualizada com sucesso!"));
+    }
+
+    @PutMapping("/employees/{id}/department")
+    @Operation(summary = "Atualizar Departamento", description = "Define o departamento/linha do funcionário, usado no filtro do relatório por equipe. Vazio remove.")
+    public ResponseEntity<?> updateDepartment(@PathVariable UUID id, @Valid @RequestBody DepartmentDto department) {
+        employeeService.updateDepartment(id, department);
+
+        return ResponseEntity.ok(Map.of("message", "Departamento atualizado com sucesso!"));
+    }
+
+    @PutMapping("/employees/weekly-schedule")
+    @Operation(summary = "Atualizar Escala em Lote", description = "Aplica a mesma escala semanal a vários funcionários de uma vez (troca de turno de uma linha): por lista de ids (até 5000) ou por filtro de nome/e-mail dos colaboradores. Retorna o resultado de cada id.")
+    public ResponseEntity<ApiResponse<BulkScheduleResponseDTO>> assignScheduleInBulk(@Valid @RequestBody BulkScheduleRequestDTO request) {
+        BulkScheduleResponseDTO result = scheduleService.assignInBulk(request);
+
+        return ResponseEntity.ok(ApiResponse.success("Escalas atualizadas", result));
+    }
+
+    @GetMapping("/compliance")
+    @Operation(summary = "Conformidade com a Escala", description = "Atrasos, saídas antecipadas, horas extras e faltas de todos os colaboradores no intervalo (máx. 366 dias), comparando os registros com a escala de cada um. Só dias já encerrados são avaliados.")
+    public ResponseEntity<ComplianceService.ComplianceReportDTO> getCompliance(
+            @RequestParam String startDate,
+            @RequestParam String endDate
+    ) {
+        return ResponseEntity.ok(complianceService.compute(startDate, endDate));
+    }
+
     @GetMapping("/weekly-summary")
     @Operation(summary = "Gráfico Semanal", description = "Retorna os dados consolidados dos últimos 7 dias para o gráfico de produtividade da equipe.")
     public ResponseEntity<?> getWeeklySummary() {
         return ResponseEntity.ok(adminService.getWeeklyTeamSummary());
     }
 
+    @GetMapping("/timeseries")
+    @Operation(summary = "Série Temporal de Horas", description = "Soma as horas trabalhadas por dia, semana, mês ou trimestre, com filtro opcional por funcionário e motivo. Período máximo: 366 dias (dia), 731 (semana), 1830 (mês e trimestre).")
+    public ResponseEntity<?> getTimeSeries(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) UUID employeeId,
+            @RequestParam(required = false) String reason
+    ) {
+        return ResponseEntity.ok(adminService.getTimeSeries(startDate, endDate, granularity, employeeId, reason));
+    }
+
+    @PostMapping("/daily-totals/rebuild")
+    @Operation(summary = "Recalcular Totais Diários", description = "Reconstrói o consolidado diário (usado pelos gráficos e ranking) a partir dos registros de ponto do intervalo informado (até 366 dias). Intervalos que incluam meses arquivados são recusados.")
+    public ResponseEntity<?> rebuildDailyTotals(@RequestParam String startDate, @RequestParam String endDate) {
+        int rows = adminService.rebuildDailyTotals(startDate, endDate);
+
+        return ResponseEntity.ok(Map.of("message", "Totais diários recalculados", "rows", rows));
+    }
+
+    @PostMapping("/payroll/monthly-close")
+    @Operation(summary = "Fechamento Mensal da Folha", description = "Dispara (ou retoma, se houver execução não concluída) o cálculo dos totais do mês por funcionário e motivo. Roda em segundo plano: acompanhe pelo id retornado.")
+    public ResponseEntity<PayrollService.PayrollJobDTO> closeMonth(@RequestParam String month) {
+        return ResponseEntity.accepted().body(payrollService.closeMonth(month));
+    }
+
+    @GetMapping("/payroll/jobs/{id}")
+    @Operation(summary = "Progresso do Fechamento", description = "Situação de uma execução do fechamento mensal: lotes concluídos, linhas gravadas e erro, se houver.")
+    public ResponseEntity<PayrollService.PayrollJobDTO> getPayrollJob(@PathVariable UUID id) {
+        return ResponseEntity.ok(payrollService.getJob(id));
+    }
+
+    @GetMapping("/payroll/jobs")
+    @Operation(summary = "Execuções do Fechamento", description = "Últimas execuções do fechamento de um mês (yyyy-MM).")
+    public ResponseEntity<?> listPayrollJobs(@RequestParam String month) {
+        return ResponseEntity.ok(payrollService.listJobs(month));
+    }
+
+    @GetMapping("/payroll/timesheets")
+    @Operation(summary = "Totais Mensais da Folha", description = "Resultado do último fechamento do mês (yyyy-MM): total por funcionário com o detalhamento por motivo.")
+    public ResponseEntity<?> getTimesheets(@RequestParam String month) {
+        return ResponseEntity.ok(payrollService.getTimesheets(month));
+    }
+
     @GetMapping("/ranking")
     @Operation(summary = "Ranking de Produtividade", description = "Retorna uma lista de funcionários ordenada pelo total de horas trabalhadas na semana.")
     public ResponseEntity<?> getRanking() {
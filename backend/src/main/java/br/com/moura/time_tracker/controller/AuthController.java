@@ -38,7 +38,7 @@ public class AuthController {
 
             Employee employee = (Employee) authentication.getPrincipal();
 
-            String token = jwtUtil.generateToken(employee.getId(), employee.getEmail(), employee.getRole());
+            String token = jwtUtil.generateToken(employee.getId(), employee.getEmail(), employee.getName(), employee.getRole());
             return ResponseEntity.ok(new LoginResponse(
                     employee.getId(),
                     employee.getName(),
@@ -0,0 +1,52 @@
+package br.com.moura.time_tracker.controller;
+
+import br.com.moura.time_tracker.dto.ApiResponse;
+import br.com.moura.time_tracker.dto.CheckoutRequestDTO;
+import br.com.moura.time_tracker.dto.WorkRecordResponseDTO;
+import br.com.moura.time_tracker.service.ClockBurstService;
+import br.com.moura.time_tracker.service.WorkService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+// Check-in/check-out no modo rajada: a resposta só sai após o commit do micro-lote da batida (dispatch ASYNC)
+@RestController
+@RequestMapping("/work")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "work.burst-mode.enabled", havingValue = "true")
+@Tag(name = "3. Ponto Eletrônico", description = "Operações do Colaborador (Check-in, Check-out, Histórico)")
+@SecurityRequirement(name = "bearer-jwt")
+public class ClockBurstController {
+
+    private final WorkService workService;
+    private final ClockBurstService clockBurstService;
+
+    // --- 1. CHECK-IN ---
+    @PostMapping("/checkin")
+    @Operation(summary = "Fazer Check-in", description = "Inicia o turno.")
+    public CompletableFuture<ResponseEntity<ApiResponse<WorkRecordResponseDTO>>> checkIn(
+            @Parameter(description = "ID do funcionário") @RequestParam UUID employeeId) {
+
+        return clockBurstService.clockIn(employeeId)
+                .thenApply(record -> ResponseEntity.ok(ApiResponse.success("Check-in realizado!", workService.toResponseDTO(record))));
+    }
+
+    // --- 2. CHECK-OUT ---
+    @PostMapping("/checkout")
+    @Operation(summary = "Fazer Check-out", description = "Encerra o turno com motivo.")
+    public CompletableFuture<ResponseEntity<ApiResponse<Void>>> checkOut(
+            @RequestParam UUID employeeId,
+            @RequestBody CheckoutRequestDTO request) {
+
+        return clockBurstService.clockOut(employeeId, request)
+                .thenApply(record -> ResponseEntity.ok(ApiResponse.<Void>success("Check-out realizado!", null)));
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.moura.time_tracker.controller;
+
+import br.com.moura.time_tracker.dto.ApiResponse;
+import br.com.moura.time_tracker.dto.CheckoutRequestDTO;
+import br.com.moura.time_tracker.dto.WorkRecordResponseDTO;
+import br.com.moura.time_tracker.service.WorkService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+// Check-in/check-out síncronos (padrão). Com work.burst-mode.enabled=true quem atende é o ClockBurstController
+@RestController
+@RequestMapping("/work")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "work.burst-mode.enabled", havingValue = "false", matchIfMissing = true)
+@Tag(name = "3. Ponto Eletrônico", description = "Operações do Colaborador (Check-in, Check-out, Histórico)")
+@SecurityRequirement(name = "bearer-jwt")
+public class ClockController {
+
+    private final WorkService workService;
+
+    // --- 1. CHECK-IN ---
+    @PostMapping("/checkin")
+    @Operation(summary = "Fazer Check-in", description = "Inicia o turno.")
+    public ResponseEntity<ApiResponse<WorkRecordResponseDTO>> checkIn(
+            @Parameter(description = "ID do funcionário") @RequestParam UUID employeeId) {
+
+        return ResponseEntity.ok(ApiResponse.success("Check-in realizado!", workService.toResponseDTO(workService.clockIn(employeeId))));
+    }
+
+    // --- 2. CHECK-OUT ---
+    @PostMapping("/checkout")
+    @Operation(summary = "Fazer Check-out", description = "Encerra o turno com motivo.")
+    public ResponseEntity<ApiResponse<Void>> checkOut(
+            @RequestParam UUID employeeId,
+            @RequestBody CheckoutRequestDTO request) {
+
+        workService.clockOut(employeeId, request);
+        return ResponseEntity.ok(ApiResponse.<Void>success("Check-out realizado!", null));
+    }
+}
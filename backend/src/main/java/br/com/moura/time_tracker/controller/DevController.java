@@ -31,7 +31,7 @@ public class DevController {
         Employee admin = employeeRepository.findByEmail("admin@moura.com")
                 .orElseThrow(() -> new DataNotFoundException("Admin não encontrado no banco"));
 
-        String token = jwtUtil.generateToken(admin.getId(), admin.getEmail(), admin.getRole());
+        String token = jwtUtil.generateToken(admin.getId(), admin.getEmail(), admin.getName(), admin.getRole());
 
         return ResponseEntity.ok(token);
     }
@@ -43,7 +43,7 @@ public class DevController {
         Employee user = employeeRepository.findByEmail("joao@moura.com")
                 .orElseThrow(() -> new DataNotFoundException("João não encontrado no banco"));
 
-        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole());
+        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getName(), user.getRole());
 
         return ResponseEntity.ok(token);
     }
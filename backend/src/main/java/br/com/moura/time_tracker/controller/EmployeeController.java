@@ -2,7 +2,6 @@ package br.com.moura.time_tracker.controller;
 
 import br.com.moura.time_tracker.dto.EmployeeResponse;
 import br.com.moura.time_tracker.dto.ScheduleDto;
-import br.com.moura.time_tracker.repository.EmployeeRepository;
 import br.com.moura.time_tracker.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -25,7 +24,7 @@ public class EmployeeController {
     private final EmployeeService employeeService;
 
     @GetMapping
-    @Operation(summary = "Listar todos", description = "Retorna a lista completa de funcionários cadastrados.")
+    @Operation(summary = "Listar todos", description = "Retorna a lista completa de funcionários cadastrados, em ordem alfabética. Para diretório paginado e busca, use GET /admin/employees.")
     public ResponseEntity<List<EmployeeResponse>> getAllEmployees() {
         return ResponseEntity.ok(employeeService.findAll());
     }
@@ -1,14 +1,17 @@
 package br.com.moura.time_tracker.controller;
 
 import br.com.moura.time_tracker.dto.ApiResponse;
-import br.com.moura.time_tracker.dto.CheckoutRequestDTO;
+import br.com.moura.time_tracker.dto.CursorPage;
+import br.com.moura.time_tracker.dto.PunchBatchRequestDTO;
+import br.com.moura.time_tracker.dto.PunchBatchResponseDTO;
 import br.com.moura.time_tracker.dto.WorkRecordResponseDTO;
+import br.com.moura.time_tracker.service.PunchBatchService;
 import br.com.moura.time_tracker.service.WorkService;
 import br.com.moura.time_tracker.service.WorkService.ChartDataDTO;
 import io.swagger.v3.oas.annotations.Operation;
-import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -27,29 +30,17 @@ import java.util.UUID;
 public class WorkController {
 
     private final WorkService workService;
+    private final PunchBatchService punchBatchService;
 
-    // --- 1. CHECK-IN ---
-    @PostMapping("/checkin")
-    @Operation(summary = "Fazer Check-in", description = "Inicia o turno.")
-    public ResponseEntity<ApiResponse<WorkRecordResponseDTO>> checkIn(
-            @Parameter(description = "ID do funcionário") @RequestParam UUID employeeId) {
+    // Check-in/check-out: ClockController (síncrono) ou ClockBurstController (work.burst-mode.enabled)
 
-        var record = workService.clockIn(employeeId);
+    // --- 2.1 LOTE DE BATIDAS (terminais) ---
+    @PostMapping("/punches/batch")
+    @Operation(summary = "Enviar Lote de Batidas", description = "Recebe até 5000 check-ins/check-outs com horário (terminais de crachá offline) e retorna o resultado de cada batida.")
+    public ResponseEntity<ApiResponse<PunchBatchResponseDTO>> ingestPunches(@Valid @RequestBody PunchBatchRequestDTO request) {
+        PunchBatchResponseDTO result = punchBatchService.ingestBatch(request.getEvents());
 
-        Pageable p = PageRequest.of(0, 1);
-        var latest = workService.getPersonalRecords(employeeId, null, p).getContent().get(0);
-        return ResponseEntity.ok(ApiResponse.success("Check-in realizado!", latest));
-    }
-
-    // --- 2. CHECK-OUT ---
-    @PostMapping("/checkout")
-    @Operation(summary = "Fazer Check-out", description = "Encerra o turno com motivo.")
-    public ResponseEntity<ApiResponse<Void>> checkOut(
-            @RequestParam UUID employeeId,
-            @RequestBody CheckoutRequestDTO request) {
-
-        workService.clockOut(employeeId, request);
-        return ResponseEntity.ok(ApiResponse.success("Check-out realizado!", null));
+        return ResponseEntity.ok(ApiResponse.success("Lote processado", result));
     }
 
     // --- 3. HISTÓRICO ---
@@ -67,6 +58,19 @@ public class WorkController {
         return ResponseEntity.ok(ApiResponse.success("Histórico recuperado", result));
     }
 
+    // --- 3.1 HISTÓRICO POR CURSOR ---
+    @GetMapping("/list/cursor")
+    @Operation(summary = "Meu Histórico (cursor)", description = "Lista do histórico paginada por cursor: envie o nextCursor da resposta anterior para buscar a próxima página. Não calcula total de registros.")
+    public ResponseEntity<ApiResponse<CursorPage<WorkRecordResponseDTO>>> listMyHistoryByCursor(
+            @RequestParam UUID employeeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        CursorPage<WorkRecordResponseDTO> result = workService.getPersonalRecordsAfter(employeeId, cursor, size);
+
+        return ResponseEntity.ok(ApiResponse.success("Histórico recuperado", result));
+    }
+
     // --- 4. GRÁFICO PESSOAL ---
     @GetMapping("/weekly-summary")
     @Operation(summary = "Meu Desempenho Semanal", description = "Gráfico de horas trabalhadas do funcionário nos últimos 7 dias.")
@@ -0,0 +1,23 @@
+package br.com.moura.time_tracker.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Mesma escala para vários funcionários: por lista de ids (até 5000) ou por filtro
+ * de nome/e-mail (search, com pelo menos 3 caracteres, só colaboradores). Informe exatamente um dos dois.
+ */
+@Data
+public class BulkScheduleRequestDTO {
+    @Size(max = 5000)
+    private List<@NotNull UUID> employeeIds;
+    private String search;
+    @NotNull
+    @Valid
+    private WeeklyScheduleDto schedule;
+}
@@ -0,0 +1,14 @@
+package br.com.moura.time_tracker.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkScheduleResponseDTO {
+    private int updated;
+    private int notFound;
+    private List<BulkScheduleResultDTO> results;
+}
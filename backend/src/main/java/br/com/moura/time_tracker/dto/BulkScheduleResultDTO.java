@@ -0,0 +1,13 @@
+package br.com.moura.time_tracker.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Builder
+public class BulkScheduleResultDTO {
+    private UUID employeeId;
+    private String status;     // "updated" ou "not_found"
+}
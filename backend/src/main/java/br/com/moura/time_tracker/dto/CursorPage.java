@@ -0,0 +1,9 @@
+package br.com.moura.time_tracker.dto;
+
+import java.util.List;
+
+public record CursorPage<T>(
+        List<T> content,
+        String nextCursor   // null quando não há mais registros
+) {
+}
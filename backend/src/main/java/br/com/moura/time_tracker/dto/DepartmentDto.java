@@ -0,0 +1,14 @@
+package br.com.moura.time_tracker.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DepartmentDto {
+    @Size(max = 100)
+    private String department;   // vazio ou nulo remove o funcionário do departamento
+}
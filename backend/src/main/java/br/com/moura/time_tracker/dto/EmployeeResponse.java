@@ -18,4 +18,5 @@ public class EmployeeResponse {
     private String workStartTime;
     private String workEndTime;
     private String role;
+    private String department;
 }
@@ -5,6 +5,7 @@ import java.util.UUID;
 public record JWTUserData(
         UUID id,
         String email,
+        String name,
         String role
 ) {
 }
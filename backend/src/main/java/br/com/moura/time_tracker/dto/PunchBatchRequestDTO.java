@@ -0,0 +1,15 @@
+package br.com.moura.time_tracker.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PunchBatchRequestDTO {
+    @NotEmpty
+    @Size(max = 5000)
+    private List<@Valid PunchEventDTO> events;
+}
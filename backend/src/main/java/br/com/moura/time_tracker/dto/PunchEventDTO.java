@@ -0,0 +1,27 @@
+package br.com.moura.time_tracker.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PunchEventDTO {
+    private String clientEventId;  // id gerado pelo terminal, devolvido no resultado
+    @NotNull
+    private UUID employeeId;
+    @NotBlank
+    private String type;           // "checkin" ou "checkout"
+    @NotNull
+    private LocalDateTime timestamp;
+    private String reason_id;
+    private String details;
+}
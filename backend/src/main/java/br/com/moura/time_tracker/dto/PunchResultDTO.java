@@ -0,0 +1,17 @@
+package br.com.moura.time_tracker.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Builder
+public class PunchResultDTO {
+    private int index;
+    private String clientEventId;
+    private UUID employeeId;
+    private String status;     // "accepted" ou "rejected"
+    private String message;
+    private UUID recordId;
+}
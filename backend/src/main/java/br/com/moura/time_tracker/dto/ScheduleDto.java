@@ -1,6 +1,7 @@
 package br.com.moura.time_tracker.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,8 +10,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class ScheduleDto {
+    private static final String HH_MM = "([01]\\d|2[0-3]):[0-5]\\d";
+
     @NotBlank
+    @Pattern(regexp = HH_MM, message = "Use o formato HH:mm")
     private String workStartTime;
     @NotBlank
+    @Pattern(regexp = HH_MM, message = "Use o formato HH:mm")
     private String workEndTime;
 }
@@ -0,0 +1,17 @@
+package br.com.moura.time_tracker.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TerminalTokenRequest {
+
+    @NotBlank(message = "Nome do terminal é obrigatório")
+    @Size(max = 100)
+    private String name;   // ex.: "Portaria - Bloco A"
+}
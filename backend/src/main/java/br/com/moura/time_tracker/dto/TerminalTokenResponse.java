@@ -0,0 +1,20 @@
+package br.com.moura.time_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TerminalTokenResponse {
+
+    private UUID id;
+    private String name;
+    private String role;
+    private String token;
+    private String type;
+    private long expiresIn; // segundos
+}
@@ -0,0 +1,54 @@
+package br.com.moura.time_tracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Escala semanal com revezamento: a semana 0 começa na segunda-feira de rotationStart
+ * (hoje, se omitido) e as semanas se repetem em ciclo. Dia nulo = folga.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WeeklyScheduleDto {
+    private LocalDate rotationStart;
+    @NotEmpty
+    @Size(max = 4)
+    private List<@Valid @NotNull Week> weeks;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Week {
+        private @Valid Shift monday;
+        private @Valid Shift tuesday;
+        private @Valid Shift wednesday;
+        private @Valid Shift thursday;
+        private @Valid Shift friday;
+        private @Valid Shift saturday;
+        private @Valid Shift sunday;
+    }
+
+    // Saída <= entrada = turno que vira o dia (ex.: 22:00-06:00)
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Shift {
+        @NotNull
+        @JsonFormat(pattern = "HH:mm")
+        private LocalTime start;
+        @NotNull
+        @JsonFormat(pattern = "HH:mm")
+        private LocalTime end;
+    }
+}
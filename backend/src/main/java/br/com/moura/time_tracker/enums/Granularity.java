@@ -0,0 +1,52 @@
+package br.com.moura.time_tracker.enums;
+
+import br.com.moura.time_tracker.exception.InvalidRequestException;
+import lombok.Getter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+@Getter
+public enum Granularity {
+    DAY("day", 366),
+    WEEK("week", 731),
+    MONTH("month", 1830),
+    QUARTER("quarter", 1830);
+
+    // Também é o campo usado no date_trunc do Postgres
+    private final String code;
+    // Período máximo da série: limita o volume varrido e a quantidade de pontos devolvidos
+    private final int maxPeriodDays;
+
+    Granularity(String code, int maxPeriodDays) {
+        this.code = code;
+        this.maxPeriodDays = maxPeriodDays;
+    }
+
+    public static Granularity fromCode(String code) {
+        for (Granularity granularity : values()) {
+            if (granularity.code.equalsIgnoreCase(code)) {
+                return granularity;
+            }
+        }
+        throw new InvalidRequestException("Granularidade inválida: " + code);
+    }
+
+    public LocalDate truncate(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(DayOfWeek.MONDAY);
+            case MONTH -> date.withDayOfMonth(1);
+            case QUARTER -> LocalDate.of(date.getYear(), ((date.getMonthValue() - 1) / 3) * 3 + 1, 1);
+        };
+    }
+
+    public LocalDate next(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+            case QUARTER -> bucketStart.plusMonths(3);
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.moura.time_tracker.enums;
+
+import br.com.moura.time_tracker.exception.InvalidRequestException;
+import lombok.Getter;
+
+@Getter
+public enum PunchType {
+    CHECK_IN("checkin"),
+    CHECK_OUT("checkout");
+
+    private final String code;
+
+    PunchType(String code) {
+        this.code = code;
+    }
+
+    public static PunchType fromCode(String code) {
+        for (PunchType type : values()) {
+            if (type.code.equalsIgnoreCase(code)) {
+                return type;
+            }
+        }
+        throw new InvalidRequestException("Tipo de batida inválido: " + code);
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.moura.time_tracker.enums;
 
+import br.com.moura.time_tracker.exception.InvalidRequestException;
 import lombok.Getter;
 
 @Getter
@@ -25,6 +26,6 @@ public enum WorkReason {
                 return reason;
             }
         }
-        throw new IllegalArgumentException("Motivo inválido: " + code);
+        throw new InvalidRequestException("Motivo inválido: " + code);
     }
 }
\ No newline at end of file
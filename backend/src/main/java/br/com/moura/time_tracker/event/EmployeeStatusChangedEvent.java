@@ -0,0 +1,6 @@
+package br.com.moura.time_tracker.event;
+
+import java.util.UUID;
+
+public record EmployeeStatusChangedEvent(UUID employeeId) {
+}
@@ -0,0 +1,7 @@
+package br.com.moura.time_tracker.exception;
+
+public class ClockQueueFullException extends RuntimeException {
+    public ClockQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -17,6 +17,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(EmployeeTimestampListener.class)
 public class Employee implements UserDetails {
 
     @Id
@@ -41,26 +42,23 @@ public class Employee implements UserDetails {
     @Column(name = "work_end_time")
     private String workEndTime;
 
+    @Column(name = "department")
+    private String department;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Datas de criação/atualização ficam no EmployeeTimestampListener (Clock injetável)
     @PrePersist
     protected void onCreate() {
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
         if (this.role == null) this.role = "USER";
         if (this.workStartTime == null) this.workStartTime = "08:00";
         if (this.workEndTime == null) this.workEndTime = "17:00";
     }
 
-    @PreUpdate
-    protected void onUpdate() {
-        this.updatedAt = LocalDateTime.now();
-    }
-
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("ROLE_" + this.role));
@@ -0,0 +1,39 @@
+package br.com.moura.time_tracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "employee_current_status")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeCurrentStatus {
+
+    @Id
+    @Column(name = "employee_id")
+    private UUID employeeId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id", insertable = false, updatable = false)
+    private Employee employee;
+
+    @Column(name = "record_id", nullable = false)
+    private UUID recordId;
+
+    @Column(name = "checkin_time", nullable = false)
+    private LocalDateTime checkInTime;
+
+    @Column(name = "checkout_time")
+    private LocalDateTime checkOutTime;
+
+    @Column(name = "duration_seconds")
+    private Long durationSeconds;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,45 @@
+package br.com.moura.time_tracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "employee_daily_totals")
+@IdClass(EmployeeDailyTotal.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeDailyTotal {
+
+    @Id
+    @Column(name = "employee_id")
+    private UUID employeeId;
+
+    @Id
+    @Column(name = "work_date")
+    private LocalDate workDate;
+
+    @Id
+    @Column(name = "reason_id")
+    private String reasonId;
+
+    @Column(name = "total_seconds", nullable = false)
+    private Long totalSeconds;
+
+    @Column(name = "record_count", nullable = false)
+    private Integer recordCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID employeeId;
+        private LocalDate workDate;
+        private String reasonId;
+    }
+}
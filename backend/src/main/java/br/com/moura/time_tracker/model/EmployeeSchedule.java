@@ -0,0 +1,94 @@
+package br.com.moura.time_tracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Uma semana do ciclo de revezamento da escala de um funcionário (V14).
+ * Dia sem horário = folga; saída <= entrada = turno que vira o dia.
+ */
+@Entity
+@Table(name = "employee_schedules")
+@IdClass(EmployeeSchedule.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeSchedule {
+
+    @Id
+    @Column(name = "employee_id")
+    private UUID employeeId;
+
+    @Id
+    @Column(name = "rotation_week")
+    private short rotationWeek;
+
+    @Column(name = "rotation_anchor", nullable = false)
+    private LocalDate rotationAnchor;
+
+    @Column(name = "mon_start") private LocalTime monStart;
+    @Column(name = "mon_end") private LocalTime monEnd;
+    @Column(name = "tue_start") private LocalTime tueStart;
+    @Column(name = "tue_end") private LocalTime tueEnd;
+    @Column(name = "wed_start") private LocalTime wedStart;
+    @Column(name = "wed_end") private LocalTime wedEnd;
+    @Column(name = "thu_start") private LocalTime thuStart;
+    @Column(name = "thu_end") private LocalTime thuEnd;
+    @Column(name = "fri_start") private LocalTime friStart;
+    @Column(name = "fri_end") private LocalTime friEnd;
+    @Column(name = "sat_start") private LocalTime satStart;
+    @Column(name = "sat_end") private LocalTime satEnd;
+    @Column(name = "sun_start") private LocalTime sunStart;
+    @Column(name = "sun_end") private LocalTime sunEnd;
+
+    public LocalTime startOf(DayOfWeek day) {
+        return switch (day) {
+            case MONDAY -> monStart;
+            case TUESDAY -> tueStart;
+            case WEDNESDAY -> wedStart;
+            case THURSDAY -> thuStart;
+            case FRIDAY -> friStart;
+            case SATURDAY -> satStart;
+            case SUNDAY -> sunStart;
+        };
+    }
+
+    public LocalTime endOf(DayOfWeek day) {
+        return switch (day) {
+            case MONDAY -> monEnd;
+            case TUESDAY -> tueEnd;
+            case WEDNESDAY -> wedEnd;
+            case THURSDAY -> thuEnd;
+            case FRIDAY -> friEnd;
+            case SATURDAY -> satEnd;
+            case SUNDAY -> sunEnd;
+        };
+    }
+
+    public void setShift(DayOfWeek day, LocalTime start, LocalTime end) {
+        switch (day) {
+            case MONDAY -> { monStart = start; monEnd = end; }
+            case TUESDAY -> { tueStart = start; tueEnd = end; }
+            case WEDNESDAY -> { wedStart = start; wedEnd = end; }
+            case THURSDAY -> { thuStart = start; thuEnd = end; }
+            case FRIDAY -> { friStart = start; friEnd = end; }
+            case SATURDAY -> { satStart = start; satEnd = end; }
+            case SUNDAY -> { sunStart = start; sunEnd = end; }
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID employeeId;
+        private short rotationWeek;
+    }
+}
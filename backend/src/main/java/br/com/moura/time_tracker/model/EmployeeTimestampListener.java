@@ -0,0 +1,32 @@
+package br.com.moura.time_tracker.model;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Preenche created_at/updated_at com o Clock da aplicação.
+ * Instanciado pelo Spring (SpringBeanContainer do Hibernate), por isso recebe o Clock no construtor.
+ */
+public class EmployeeTimestampListener {
+
+    private final Clock clock;
+
+    public EmployeeTimestampListener(Clock clock) {
+        this.clock = clock;
+    }
+
+    @PrePersist
+    public void onCreate(Employee employee) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (employee.getCreatedAt() == null) employee.setCreatedAt(now);
+        if (employee.getUpdatedAt() == null) employee.setUpdatedAt(now);
+    }
+
+    @PreUpdate
+    public void onUpdate(Employee employee) {
+        employee.setUpdatedAt(LocalDateTime.now(clock));
+    }
+}
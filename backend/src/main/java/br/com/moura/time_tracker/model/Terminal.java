@@ -0,0 +1,36 @@
+package br.com.moura.time_tracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Terminal de ponto com credencial própria (V18). Revogado = revokedAt preenchido.
+ */
+@Entity
+@Table(name = "terminals")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Terminal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    public boolean isRevoked() {
+        return revokedAt != null;
+    }
+}
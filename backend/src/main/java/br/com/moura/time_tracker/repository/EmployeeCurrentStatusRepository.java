@@ -0,0 +1,86 @@
+package br.com.moura.time_tracker.repository;
+
+import br.com.moura.time_tracker.model.EmployeeCurrentStatus;
+import br.com.moura.time_tracker.repository.projection.TeamStatusView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface EmployeeCurrentStatusRepository extends JpaRepository<EmployeeCurrentStatus, UUID> {
+
+    // Gauge de turnos abertos (uma linha por funcionário, contagem barata)
+    long countByCheckOutTimeIsNull();
+
+    // Dashboard: só as colunas exibidas e o nome, sem hidratar Employee
+    String TEAM_STATUS_VIEW = "new br.com.moura.time_tracker.repository.projection.TeamStatusView(" +
+            "s.recordId, s.employeeId, e.name, s.checkInTime, s.checkOutTime, s.durationSeconds)";
+
+    @Query("SELECT " + TEAM_STATUS_VIEW + " FROM EmployeeCurrentStatus s JOIN s.employee e ORDER BY e.name")
+    List<TeamStatusView> findAllStatusViews();
+
+    // Stream do dashboard: alterações que chegam juntas viram uma consulta só
+    @Query("SELECT " + TEAM_STATUS_VIEW + " FROM EmployeeCurrentStatus s JOIN s.employee e WHERE s.employeeId IN :employeeIds")
+    List<TeamStatusView> findStatusViewsByEmployeeIds(@Param("employeeIds") Collection<UUID> employeeIds);
+
+    // Ingestão em lote: bloqueia o status dos funcionários do lote (em ordem, evitando deadlock)
+    // para que check-ins síncronos concorrentes esperem o commit do lote.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM EmployeeCurrentStatus s WHERE s.employeeId IN :employeeIds ORDER BY s.employeeId")
+    List<EmployeeCurrentStatus> lockByEmployeeIds(@Param("employeeIds") Collection<UUID> employeeIds);
+
+    @Modifying
+    @Query(value = """
+        UPDATE employee_current_status
+        SET checkout_time = :checkOutTime,
+            duration_seconds = :durationSeconds,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE employee_id = :employeeId AND record_id = :recordId
+    """, nativeQuery = true)
+    void markCheckedOut(@Param("employeeId") UUID employeeId,
+                        @Param("recordId") UUID recordId,
+                        @Param("checkOutTime") LocalDateTime checkOutTime,
+                        @Param("durationSeconds") Long durationSeconds);
+
+    // Usados pela ingestão em lote: só sobrescrevem o status se a batida for mais recente
+    @Modifying
+    @Query(value = """
+        INSERT INTO employee_current_status (employee_id, record_id, checkin_time, checkout_time, duration_seconds, updated_at)
+        VALUES (:employeeId, :recordId, :checkInTime, NULL, NULL, CURRENT_TIMESTAMP)
+        ON CONFLICT (employee_id) DO UPDATE SET
+            record_id = EXCLUDED.record_id,
+            checkin_time = EXCLUDED.checkin_time,
+            checkout_time = NULL,
+            duration_seconds = NULL,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE employee_current_status.checkin_time <= EXCLUDED.checkin_time
+    """, nativeQuery = true)
+    void upsertOpen(@Param("employeeId") UUID employeeId,
+                    @Param("recordId") UUID recordId,
+                    @Param("checkInTime") LocalDateTime checkInTime);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO employee_current_status (employee_id, record_id, checkin_time, checkout_time, duration_seconds, updated_at)
+        VALUES (:employeeId, :recordId, :checkInTime, :checkOutTime, :durationSeconds, CURRENT_TIMESTAMP)
+        ON CONFLICT (employee_id) DO UPDATE SET
+            record_id = EXCLUDED.record_id,
+            checkin_time = EXCLUDED.checkin_time,
+            checkout_time = EXCLUDED.checkout_time,
+            duration_seconds = EXCLUDED.duration_seconds,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE employee_current_status.checkin_time <= EXCLUDED.checkin_time
+    """, nativeQuery = true)
+    void upsertClosed(@Param("employeeId") UUID employeeId,
+                      @Param("recordId") UUID recordId,
+                      @Param("checkInTime") LocalDateTime checkInTime,
+                      @Param("checkOutTime") LocalDateTime checkOutTime,
+                      @Param("durationSeconds") Long durationSeconds);
+}
@@ -0,0 +1,66 @@
+package br.com.moura.time_tracker.repository;
+
+import br.com.moura.time_tracker.model.EmployeeDailyTotal;
+import br.com.moura.time_tracker.repository.projection.DailyTotalView;
+import br.com.moura.time_tracker.repository.projection.EmployeeTotalView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface EmployeeDailyTotalRepository extends JpaRepository<EmployeeDailyTotal, EmployeeDailyTotal.Key> {
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO employee_daily_totals (employee_id, work_date, reason_id, total_seconds, record_count)
+        VALUES (:employeeId, :workDate, :reasonId, :seconds, :records)
+        ON CONFLICT (employee_id, work_date, reason_id) DO UPDATE SET
+            total_seconds = employee_daily_totals.total_seconds + EXCLUDED.total_seconds,
+            record_count = employee_daily_totals.record_count + EXCLUDED.record_count
+    """, nativeQuery = true)
+    void addDuration(@Param("employeeId") UUID employeeId,
+                     @Param("workDate") LocalDate workDate,
+                     @Param("reasonId") String reasonId,
+                     @Param("seconds") long seconds,
+                     @Param("records") int records);
+
+    @Query("SELECT d.workDate AS workDate, SUM(d.totalSeconds) AS totalSeconds FROM EmployeeDailyTotal d " +
+            "WHERE d.workDate BETWEEN :start AND :end GROUP BY d.workDate")
+    List<DailyTotalView> sumByDay(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("SELECT d.workDate AS workDate, SUM(d.totalSeconds) AS totalSeconds FROM EmployeeDailyTotal d " +
+            "WHERE d.employeeId = :employeeId AND d.workDate BETWEEN :start AND :end GROUP BY d.workDate")
+    List<DailyTotalView> sumByDayForEmployee(@Param("employeeId") UUID employeeId,
+                                             @Param("start") LocalDate start,
+                                             @Param("end") LocalDate end);
+
+    @Query("SELECT e.id AS employeeId, e.name AS name, SUM(d.totalSeconds) AS totalSeconds " +
+            "FROM EmployeeDailyTotal d JOIN Employee e ON e.id = d.employeeId " +
+            "WHERE d.workDate BETWEEN :start AND :end " +
+            "GROUP BY e.id, e.name ORDER BY SUM(d.totalSeconds) DESC")
+    List<EmployeeTotalView> sumByEmployee(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Modifying
+    @Query(value = "DELETE FROM employee_daily_totals WHERE work_date BETWEEN :start AND :end", nativeQuery = true)
+    int deleteRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO employee_daily_totals (employee_id, work_date, reason_id, total_seconds, record_count)
+        SELECT employee_id,
+               CAST(checkin_time AS DATE),
+               COALESCE(reason_id, 'NONE'),
+               SUM(duration_seconds),
+               COUNT(*)
+        FROM work_records
+        WHERE checkout_time IS NOT NULL AND duration_seconds IS NOT NULL
+          AND checkin_time >= :start AND checkin_time < :end
+        GROUP BY employee_id, CAST(checkin_time AS DATE), COALESCE(reason_id, 'NONE')
+    """, nativeQuery = true)
+    int rebuildFromWorkRecords(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+}
@@ -1,16 +1,38 @@
 package br.com.moura.time_tracker.repository;
 
 import br.com.moura.time_tracker.model.Employee;
+import br.com.moura.time_tracker.repository.projection.CollaboratorView;
+import br.com.moura.time_tracker.repository.projection.EmployeeDirectoryView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
+public interface EmployeeRepository extends JpaRepository<Employee, UUID>, EmployeeRepositoryCustom {
     Optional<Employee> findByEmail(String email);
 
     Optional<UserDetails> findEmployeeByEmail(String username);
+
+    // FOR UPDATE conflita com o FOR KEY SHARE que a FK de work_records/employee_current_status
+    // toma no check-in síncrono, inclusive de funcionários que ainda não têm linha de status.
+    @Query(value = "SELECT id FROM employees WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<UUID> lockExistingIds(@Param("ids") Collection<UUID> ids);
+
+    // Lista completa de /api/employees: só as colunas do diretório, sem hidratar Employee (nem a senha)
+    @Query("SELECT new br.com.moura.time_tracker.repository.projection.EmployeeDirectoryView(" +
+            "e.id, e.name, e.email, e.role, e.workStartTime, e.workEndTime, e.department) " +
+            "FROM Employee e ORDER BY e.name, e.id")
+    List<EmployeeDirectoryView> findAllDirectoryViews();
+
+    // Conformidade: só colaboradores (administradores e terminais não batem ponto com escala)
+    @Query("SELECT new br.com.moura.time_tracker.repository.projection.CollaboratorView(e.id, e.name) " +
+            "FROM Employee e WHERE e.role = 'USER'")
+    List<CollaboratorView> findCollaborators();
 }
\ No newline at end of file
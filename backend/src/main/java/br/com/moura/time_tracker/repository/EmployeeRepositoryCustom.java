@@ -0,0 +1,32 @@
+package br.com.moura.time_tracker.repository;
+
+import br.com.moura.time_tracker.model.EmployeeSchedule;
+import br.com.moura.time_tracker.repository.projection.EmployeeDirectoryView;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface EmployeeRepositoryCustom {
+
+    // Página do diretório ordenada por (name, id), começando depois de (afterName, afterId) quando informados
+    List<EmployeeDirectoryView> searchDirectory(String search,
+                                                String afterName,
+                                                UUID afterId,
+                                                int limit);
+
+    /**
+     * Aplica a mesma escala (semanas do revezamento em weeks, employeeId ignorado) a todos os
+     * funcionários de employeeIds, ou aos colaboradores cujo nome/e-mail contém search,
+     * em uma única instrução. Retorna os ids efetivamente atualizados.
+     */
+    List<UUID> assignSchedule(Collection<UUID> employeeIds,
+                              String search,
+                              LocalDate rotationAnchor,
+                              List<EmployeeSchedule> weeks,
+                              String summaryStart,
+                              String summaryEnd,
+                              LocalDateTime updatedAt);
+}
@@ -0,0 +1,153 @@
+package br.com.moura.time_tracker.repository;
+
+import br.com.moura.time_tracker.model.EmployeeSchedule;
+import br.com.moura.time_tracker.repository.projection.EmployeeDirectoryView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+    // Abaixo disso não há trigramas suficientes para a busca aproximada
+    private static final int FUZZY_MIN_LENGTH = 3;
+
+    // Prefixo das colunas de employee_schedules na ordem de DayOfWeek
+    private static final String[] DAY_COLUMNS = {"mon", "tue", "wed", "thu", "fri", "sat", "sun"};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<EmployeeDirectoryView> searchDirectory(String search,
+                                                       String afterName,
+                                                       UUID afterId,
+                                                       int limit) {
+        String term = search != null ? search.trim().toLowerCase(Locale.ROOT) : "";
+
+        // Filtros só entram na query quando informados, para o planner usar o índice certo:
+        // (name, id) para navegar o diretório, trigramas (V13) para a busca.
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT id, name, email, role, work_start_time, work_end_time, department ")
+                .append("FROM employees WHERE 1 = 1 ");
+        if (!term.isEmpty()) {
+            sql.append("AND (lower(name) LIKE :pattern ESCAPE '\\' OR lower(email) LIKE :pattern ESCAPE '\\'");
+            if (term.length() >= FUZZY_MIN_LENGTH) sql.append(" OR :term <% lower(name)");
+            sql.append(") ");
+        }
+        if (afterName != null && afterId != null) sql.append("AND (name, id) > (:afterName, :afterId) ");
+        sql.append("ORDER BY name, id LIMIT :limit");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter("limit", limit);
+        if (!term.isEmpty()) {
+            query.setParameter("pattern", "%" + escapeLike(term) + "%");
+            if (term.length() >= FUZZY_MIN_LENGTH) query.setParameter("term", term);
+        }
+        if (afterName != null && afterId != null) {
+            query.setParameter("afterName", afterName);
+            query.setParameter("afterId", afterId);
+        }
+
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> new EmployeeDirectoryView(
+                        (UUID) row[0],
+                        (String) row[1],
+                        (String) row[2],
+                        (String) row[3],
+                        (String) row[4],
+                        (String) row[5],
+                        (String) row[6]))
+                .toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<UUID> assignSchedule(Collection<UUID> employeeIds,
+                                     String search,
+                                     LocalDate rotationAnchor,
+                                     List<EmployeeSchedule> weeks,
+                                     String summaryStart,
+                                     String summaryEnd,
+                                     LocalDateTime updatedAt) {
+        StringBuilder dayColumns = new StringBuilder();
+        StringBuilder excluded = new StringBuilder();
+        for (String day : DAY_COLUMNS) {
+            dayColumns.append(", ").append(day).append("_start, ").append(day).append("_end");
+            excluded.append(", ").append(day).append("_start = EXCLUDED.").append(day).append("_start, ")
+                    .append(day).append("_end = EXCLUDED.").append(day).append("_end");
+        }
+
+        // Um único comando: o UPDATE escolhe e marca os funcionários, e os CTEs gravam as semanas
+        // do revezamento (upsert) e removem as que sobraram do ciclo anterior.
+        // Insert e delete não se sobrepõem (semanas < n e >= n), então a ordem entre eles não importa.
+        // Os ids vão em um único parâmetro uuid[]: o texto do comando não muda com o tamanho da lista.
+        StringBuilder sql = new StringBuilder()
+                .append("WITH targets AS (")
+                .append("UPDATE employees e SET work_start_time = :summaryStart, work_end_time = :summaryEnd, updated_at = :updatedAt ");
+        if (employeeIds != null) {
+            sql.append("WHERE e.id = ANY(CAST(:ids AS uuid[])) ");
+        } else {
+            sql.append("WHERE e.role = 'USER' ")
+                    .append("AND (lower(e.name) LIKE :pattern ESCAPE '\\' OR lower(e.email) LIKE :pattern ESCAPE '\\') ");
+        }
+        sql.append("RETURNING e.id), ");
+
+        sql.append("weeks (rotation_week").append(dayColumns).append(") AS (VALUES ");
+        for (int week = 0; week < weeks.size(); week++) {
+            if (week > 0) sql.append(", ");
+            sql.append("(CAST(").append(week).append(" AS smallint)");
+            for (DayOfWeek day : DayOfWeek.values()) {
+                appendTime(sql, weeks.get(week).startOf(day));
+                appendTime(sql, weeks.get(week).endOf(day));
+            }
+            sql.append(")");
+        }
+        sql.append("), ");
+
+        sql.append("upserted AS (INSERT INTO employee_schedules (employee_id, rotation_week, rotation_anchor").append(dayColumns).append(") ")
+                .append("SELECT t.id, w.rotation_week, :rotationAnchor").append(dayColumns.toString().replace(", ", ", w."))
+                .append(" FROM targets t CROSS JOIN weeks w ")
+                .append("ON CONFLICT (employee_id, rotation_week) DO UPDATE SET rotation_anchor = EXCLUDED.rotation_anchor")
+                .append(excluded).append("), ");
+
+        sql.append("trimmed AS (DELETE FROM employee_schedules s USING targets t ")
+                .append("WHERE s.employee_id = t.id AND s.rotation_week >= ").append(weeks.size()).append(") ");
+
+        sql.append("SELECT id FROM targets");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter("summaryStart", summaryStart)
+                .setParameter("summaryEnd", summaryEnd)
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("rotationAnchor", rotationAnchor);
+        if (employeeIds != null) {
+            query.setParameter("ids", employeeIds.toArray(UUID[]::new));
+        } else {
+            query.setParameter("pattern", "%" + escapeLike(search.trim().toLowerCase(Locale.ROOT)) + "%");
+        }
+
+        return query.getResultList();
+    }
+
+    // Horários vêm de LocalTime já validado: entram como literal, e folga como NULL
+    private static void appendTime(StringBuilder sql, LocalTime time) {
+        sql.append(", ");
+        if (time == null) sql.append("CAST(NULL AS time)");
+        else sql.append("TIME '").append(time).append("'");
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.moura.time_tracker.repository;
+
+import br.com.moura.time_tracker.model.EmployeeSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface EmployeeScheduleRepository extends JpaRepository<EmployeeSchedule, EmployeeSchedule.Key> {
+
+    List<EmployeeSchedule> findByEmployeeIdOrderByRotationWeek(UUID employeeId);
+
+    // Carga do ScheduleIndex: semanas de cada funcionário em sequência
+    @Query("SELECT s FROM EmployeeSchedule s ORDER BY s.employeeId, s.rotationWeek")
+    List<EmployeeSchedule> findAllOrdered();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM EmployeeSchedule s WHERE s.employeeId = :employeeId")
+    void deleteByEmployeeId(@Param("employeeId") UUID employeeId);
+}
@@ -0,0 +1,12 @@
+package br.com.moura.time_tracker.repository;
+
+import br.com.moura.time_tracker.model.Terminal;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TerminalRepository extends JpaRepository<Terminal, UUID> {
+
+    List<Terminal> findAllByOrderByCreatedAtDesc();
+}
@@ -1,46 +1,189 @@
 package br.com.moura.time_tracker.repository;
 
 import br.com.moura.time_tracker.model.WorkRecord;
+import br.com.moura.time_tracker.repository.projection.EmployeeReportRecordView;
+import br.com.moura.time_tracker.repository.projection.ExportRecordView;
+import br.com.moura.time_tracker.repository.projection.PunchView;
+import br.com.moura.time_tracker.repository.projection.ReportRecordView;
+import br.com.moura.time_tracker.repository.projection.WorkRecordView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface WorkRecordRepository extends JpaRepository<WorkRecord, UUID> {
+public interface WorkRecordRepository extends JpaRepository<WorkRecord, UUID>, WorkRecordRepositoryCustom {
 
     Optional<WorkRecord> findByEmployeeIdAndCheckOutTimeIsNull(UUID employeeId);
 
-    List<WorkRecord> findByEmployeeIdAndCheckInTimeBetween(UUID employeeId, LocalDateTime start, LocalDateTime end);
+    List<WorkRecord> findByEmployeeIdInAndCheckOutTimeIsNull(Collection<UUID> employeeIds);
 
-    Page<WorkRecord> findByEmployeeIdOrderByCheckInTimeDesc(UUID employeeId, Pageable pageable);
+    // Check-in em um único comando. work_records é particionada e não aceita índice único
+    // em employee_id, então a trava é a linha do funcionário em employee_current_status:
+    // o upsert só "abre" o status se o último turno estiver fechado (ou não existir) e,
+    // com a linha bloqueada, o registro é inserido com o mesmo id. Turno já aberto => zero linhas.
+    @Query(value = """
+        WITH status AS (
+            INSERT INTO employee_current_status (employee_id, record_id, checkin_time, checkout_time, duration_seconds, updated_at)
+            VALUES (:employeeId, gen_random_uuid(), :checkInTime, NULL, NULL, CURRENT_TIMESTAMP)
+            ON CONFLICT (employee_id) DO UPDATE SET
+                record_id = EXCLUDED.record_id,
+                checkin_time = EXCLUDED.checkin_time,
+                checkout_time = NULL,
+                duration_seconds = NULL,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE employee_current_status.checkout_time IS NOT NULL
+            RETURNING employee_id, record_id, checkin_time
+        )
+        INSERT INTO work_records (id, employee_id, checkin_time)
+        SELECT record_id, employee_id, checkin_time FROM status
+        RETURNING *
+    """, nativeQuery = true)
+    Optional<WorkRecord> insertOpenShift(@Param("employeeId") UUID employeeId,
+                                         @Param("checkInTime") LocalDateTime checkInTime);
 
-    @Query("SELECT w FROM WorkRecord w WHERE w.employee.id = :employeeId " +
-            "AND CAST(w.checkInTime AS date) = :date " +
-            "ORDER BY w.checkInTime DESC")
-    Page<WorkRecord> findByEmployeeIdAndDate(@Param("employeeId") UUID employeeId,
-                                             @Param("date") LocalDate date,
-                                             Pageable pageable);
+    // Check-out condicional: só fecha o turno que ainda está aberto. Dois check-outs
+    // concorrentes (ou um check-out contra um lote de batidas) => apenas um recebe a linha.
+    // Com mais de um turno aberto (dado legado) fecha só o mais recente: a chave da tabela
+    // particionada é (id, checkin_time), então o alvo é a tupla inteira.
+    @Query(value = """
+        WITH closed AS (
+            UPDATE work_records SET
+                checkout_time = CAST(:checkOutTime AS TIMESTAMP),
+                duration_seconds = CAST(FLOOR(EXTRACT(EPOCH FROM (CAST(:checkOutTime AS TIMESTAMP) - checkin_time))) AS BIGINT),
+                reason_id = :reasonId,
+                details = :details
+            WHERE (id, checkin_time) = (
+                SELECT id, checkin_time FROM work_records
+                WHERE employee_id = :employeeId AND checkout_time IS NULL
+                ORDER BY checkin_time DESC, id DESC
+                LIMIT 1
+            )
+            AND checkout_time IS NULL
+            RETURNING *
+        )
+        SELECT * FROM closed
+    """, nativeQuery = true)
+    Optional<WorkRecord> closeOpenShift(@Param("employeeId") UUID employeeId,
+                                        @Param("checkOutTime") LocalDateTime checkOutTime,
+                                        @Param("reasonId") String reasonId,
+                                        @Param("details") String details);
 
+    // Leituras: construtores de projeção (repository.projection) com só as colunas usadas.
+    // Os resultados não são entidades gerenciadas: nada de proxy de Employee, snapshot ou dirty checking.
+    String HISTORY_VIEW = "new br.com.moura.time_tracker.repository.projection.WorkRecordView(" +
+            "w.id, w.checkInTime, w.checkOutTime, w.durationSeconds, w.reason, w.details)";
 
-    List<WorkRecord> findAllByCheckInTimeBetweenOrderByCheckInTimeAsc(LocalDateTime start, LocalDateTime end);
+    @Query(value = "SELECT " + HISTORY_VIEW + " FROM WorkRecord w WHERE w.employee.id = :employeeId " +
+            "ORDER BY w.checkInTime DESC",
+            countQuery = "SELECT COUNT(w) FROM WorkRecord w WHERE w.employee.id = :employeeId")
+    Page<WorkRecordView> findByEmployeeIdOrderByCheckInTimeDesc(@Param("employeeId") UUID employeeId,
+                                                                Pageable pageable);
 
-    @Query("SELECT w FROM WorkRecord w WHERE w.employee.id = :employeeId " +
+    @Query("SELECT " + HISTORY_VIEW + " FROM WorkRecord w WHERE w.employee.id = :employeeId " +
+            "ORDER BY w.checkInTime DESC, w.id DESC")
+    List<WorkRecordView> findHistoryFirstPage(@Param("employeeId") UUID employeeId, Limit limit);
+
+    // Comparação de tupla: o Postgres percorre o índice (employee_id, checkin_time DESC, id DESC)
+    @Query("SELECT " + HISTORY_VIEW + " FROM WorkRecord w WHERE w.employee.id = :employeeId " +
+            "AND (w.checkInTime, w.id) < (:checkInTime, :id) " +
+            "ORDER BY w.checkInTime DESC, w.id DESC")
+    List<WorkRecordView> findHistoryPageAfter(@Param("employeeId") UUID employeeId,
+                                              @Param("checkInTime") LocalDateTime checkInTime,
+                                              @Param("id") UUID id,
+                                              Limit limit);
+
+    // Intervalo semiaberto [start, end) para aproveitar o índice em checkin_time
+    @Query(value = "SELECT " + HISTORY_VIEW + " FROM WorkRecord w WHERE w.employee.id = :employeeId " +
+            "AND w.checkInTime >= :start AND w.checkInTime < :end " +
+            "ORDER BY w.checkInTime DESC",
+            countQuery = "SELECT COUNT(w) FROM WorkRecord w WHERE w.employee.id = :employeeId " +
+            "AND w.checkInTime >= :start AND w.checkInTime < :end")
+    Page<WorkRecordView> findByEmployeeIdAndCheckInRange(@Param("employeeId") UUID employeeId,
+                                                         @Param("start") LocalDateTime start,
+                                                         @Param("end") LocalDateTime end,
+                                                         Pageable pageable);
+
+    @Query("SELECT new br.com.moura.time_tracker.repository.projection.ReportRecordView(" +
+            "w.id, w.checkInTime, w.checkOutTime, w.durationSeconds, w.reason) " +
+            "FROM WorkRecord w WHERE w.employee.id = :employeeId " +
             "AND w.checkInTime BETWEEN :start AND :end " +
             "ORDER BY w.checkInTime DESC")
-    List<WorkRecord> findReportData(@Param("employeeId") UUID employeeId,
+    List<ReportRecordView> findReportData(@Param("employeeId") UUID employeeId,
+                                          @Param("start") LocalDateTime start,
+                                          @Param("end") LocalDateTime end);
+
+    // Relatório de vários funcionários em uma consulta: seções por funcionário (nome, id) e, dentro
+    // delas, a mesma ordem do relatório individual. O LEFT JOIN mantém quem não tem registro no período.
+    String EMPLOYEE_REPORT = "SELECT new br.com.moura.time_tracker.repository.projection.EmployeeReportRecordView(" +
+            "e.id, e.name, e.department, w.id, w.checkInTime, w.checkOutTime, w.durationSeconds, w.reason) " +
+            "FROM Employee e LEFT JOIN WorkRecord w ON w.employee = e AND w.checkInTime BETWEEN :start AND :end ";
+    String EMPLOYEE_REPORT_ORDER = " ORDER BY e.name, e.id, w.checkInTime DESC";
+
+    @Query(EMPLOYEE_REPORT + "WHERE e.id IN :employeeIds" + EMPLOYEE_REPORT_ORDER)
+    List<EmployeeReportRecordView> findReportDataForEmployees(@Param("employeeIds") Collection<UUID> employeeIds,
+                                                              @Param("start") LocalDateTime start,
+                                                              @Param("end") LocalDateTime end,
+                                                              Limit limit);
+
+    @Query(EMPLOYEE_REPORT + "WHERE e.department = :department AND e.role = 'USER'" + EMPLOYEE_REPORT_ORDER)
+    List<EmployeeReportRecordView> findReportDataForDepartment(@Param("department") String department,
+                                                               @Param("start") LocalDateTime start,
+                                                               @Param("end") LocalDateTime end,
+                                                               Limit limit);
+
+    @Query(EMPLOYEE_REPORT + "WHERE e.role = 'USER'" + EMPLOYEE_REPORT_ORDER)
+    List<EmployeeReportRecordView> findReportDataForAll(@Param("start") LocalDateTime start,
+                                                        @Param("end") LocalDateTime end,
+                                                        Limit limit);
+
+    // Cálculos em massa por período (conformidade), um bloco de funcionários por vez:
+    // sem ORDER BY, quem consome agrupa por funcionário
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "2000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new br.com.moura.time_tracker.repository.projection.PunchView(" +
+            "w.employee.id, w.checkInTime, w.checkOutTime, w.durationSeconds) " +
+            "FROM WorkRecord w WHERE w.employee.id IN :employeeIds " +
+            "AND w.checkInTime >= :start AND w.checkInTime < :end")
+    Stream<PunchView> streamPunches(@Param("employeeIds") Collection<UUID> employeeIds,
                                     @Param("start") LocalDateTime start,
                                     @Param("end") LocalDateTime end);
 
-    @Query(value = """
-        SELECT DISTINCT ON (employee_id) * FROM work_records
-        ORDER BY employee_id, checkin_time DESC
-    """, nativeQuery = true)
-    List<WorkRecord> findLatestRecordPerEmployee();
-}
\ No newline at end of file
+    String EXPORT_VIEW = "new br.com.moura.time_tracker.repository.projection.ExportRecordView(" +
+            "w.id, e.id, e.name, w.checkInTime, w.checkOutTime, w.durationSeconds, w.reason, w.details)";
+
+    // Exportação: cursor no servidor (fetch size); as linhas não entram no persistence context
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT " + EXPORT_VIEW + " FROM WorkRecord w JOIN w.employee e " +
+            "WHERE w.checkInTime >= :start AND w.checkInTime < :end " +
+            "ORDER BY w.checkInTime")
+    Stream<ExportRecordView> streamReportData(@Param("start") LocalDateTime start,
+                                              @Param("end") LocalDateTime end);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT " + EXPORT_VIEW + " FROM WorkRecord w JOIN w.employee e " +
+            "WHERE e.id = :employeeId AND w.checkInTime >= :start AND w.checkInTime < :end " +
+            "ORDER BY w.checkInTime")
+    Stream<ExportRecordView> streamReportDataByEmployee(@Param("employeeId") UUID employeeId,
+                                                        @Param("start") LocalDateTime start,
+                                                        @Param("end") LocalDateTime end);
+}
@@ -0,0 +1,18 @@
+package br.com.moura.time_tracker.repository;
+
+import br.com.moura.time_tracker.enums.Granularity;
+import br.com.moura.time_tracker.enums.WorkReason;
+import br.com.moura.time_tracker.repository.projection.TimeSeriesPoint;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface WorkRecordRepositoryCustom {
+
+    List<TimeSeriesPoint> sumByPeriod(Granularity granularity,
+                                      LocalDateTime start,
+                                      LocalDateTime end,
+                                      UUID employeeId,
+                                      WorkReason reason);
+}
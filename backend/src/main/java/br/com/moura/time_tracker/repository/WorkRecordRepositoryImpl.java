@@ -0,0 +1,52 @@
+package br.com.moura.time_tracker.repository;
+
+import br.com.moura.time_tracker.enums.Granularity;
+import br.com.moura.time_tracker.enums.WorkReason;
+import br.com.moura.time_tracker.repository.projection.TimeSeriesPoint;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class WorkRecordRepositoryImpl implements WorkRecordRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TimeSeriesPoint> sumByPeriod(Granularity granularity,
+                                             LocalDateTime start,
+                                             LocalDateTime end,
+                                             UUID employeeId,
+                                             WorkReason reason) {
+        // O campo do date_trunc vem de um enum fechado, por isso pode ir direto no SQL;
+        // filtros opcionais só entram na query quando informados.
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT to_char(date_trunc('").append(granularity.getCode()).append("', checkin_time), 'YYYY-MM-DD'), ")
+                .append("CAST(SUM(duration_seconds) AS BIGINT), COUNT(*) ")
+                .append("FROM work_records ")
+                .append("WHERE checkout_time IS NOT NULL AND checkin_time >= :start AND checkin_time < :end ");
+        if (employeeId != null) sql.append("AND employee_id = :employeeId ");
+        if (reason != null) sql.append("AND reason_id = :reason ");
+        sql.append("GROUP BY 1 ORDER BY 1");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter("start", start)
+                .setParameter("end", end);
+        if (employeeId != null) query.setParameter("employeeId", employeeId);
+        if (reason != null) query.setParameter("reason", reason.name());
+
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> new TimeSeriesPoint(
+                        LocalDate.parse((String) row[0]),
+                        row[1] != null ? ((Number) row[1]).longValue() : 0L,
+                        ((Number) row[2]).longValue()))
+                .toList();
+    }
+}
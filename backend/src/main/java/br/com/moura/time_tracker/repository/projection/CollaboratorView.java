@@ -0,0 +1,8 @@
+package br.com.moura.time_tracker.repository.projection;
+
+import java.util.UUID;
+
+// Colaborador avaliado contra a escala (a escala em si vem do ScheduleIndex)
+public record CollaboratorView(UUID employeeId,
+                               String name) {
+}
@@ -0,0 +1,8 @@
+package br.com.moura.time_tracker.repository.projection;
+
+import java.time.LocalDate;
+
+public interface DailyTotalView {
+    LocalDate getWorkDate();
+    Long getTotalSeconds();
+}
@@ -0,0 +1,13 @@
+package br.com.moura.time_tracker.repository.projection;
+
+import java.util.UUID;
+
+// Colunas do diretório de funcionários (sem senha nem auditoria)
+public record EmployeeDirectoryView(UUID id,
+                                    String name,
+                                    String email,
+                                    String role,
+                                    String workStartTime,
+                                    String workEndTime,
+                                    String department) {
+}
@@ -0,0 +1,17 @@
+package br.com.moura.time_tracker.repository.projection;
+
+import br.com.moura.time_tracker.enums.WorkReason;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Linha do relatório de vários funcionários; sem registro no período, os campos do registro vêm nulos
+public record EmployeeReportRecordView(UUID employeeId,
+                                       String employeeName,
+                                       String department,
+                                       UUID id,
+                                       LocalDateTime checkInTime,
+                                       LocalDateTime checkOutTime,
+                                       Long durationSeconds,
+                                       WorkReason reason) {
+}
@@ -0,0 +1,9 @@
+package br.com.moura.time_tracker.repository.projection;
+
+import java.util.UUID;
+
+public interface EmployeeTotalView {
+    UUID getEmployeeId();
+    String getName();
+    Long getTotalSeconds();
+}
@@ -0,0 +1,17 @@
+package br.com.moura.time_tracker.repository.projection;
+
+import br.com.moura.time_tracker.enums.WorkReason;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Linha da exportação, com o nome do funcionário vindo do mesmo SELECT
+public record ExportRecordView(UUID id,
+                               UUID employeeId,
+                               String employeeName,
+                               LocalDateTime checkInTime,
+                               LocalDateTime checkOutTime,
+                               Long durationSeconds,
+                               WorkReason reason,
+                               String details) {
+}
@@ -0,0 +1,11 @@
+package br.com.moura.time_tracker.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Batida mínima para cálculos em massa (sem motivo, detalhes ou Employee)
+public record PunchView(UUID employeeId,
+                        LocalDateTime checkInTime,
+                        LocalDateTime checkOutTime,
+                        Long durationSeconds) {
+}
@@ -0,0 +1,14 @@
+package br.com.moura.time_tracker.repository.projection;
+
+import br.com.moura.time_tracker.enums.WorkReason;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Linha do relatório administrativo (sem details)
+public record ReportRecordView(UUID id,
+                               LocalDateTime checkInTime,
+                               LocalDateTime checkOutTime,
+                               Long durationSeconds,
+                               WorkReason reason) {
+}
@@ -0,0 +1,13 @@
+package br.com.moura.time_tracker.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Status atual de um funcionário para o dashboard (employee_current_status + nome)
+public record TeamStatusView(UUID recordId,
+                             UUID employeeId,
+                             String name,
+                             LocalDateTime checkInTime,
+                             LocalDateTime checkOutTime,
+                             Long durationSeconds) {
+}
@@ -0,0 +1,6 @@
+package br.com.moura.time_tracker.repository.projection;
+
+import java.time.LocalDate;
+
+public record TimeSeriesPoint(LocalDate bucketStart, long totalSeconds, long recordCount) {
+}
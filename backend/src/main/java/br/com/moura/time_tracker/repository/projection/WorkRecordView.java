@@ -0,0 +1,15 @@
+package br.com.moura.time_tracker.repository.projection;
+
+import br.com.moura.time_tracker.enums.WorkReason;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Linha do histórico pessoal: só as colunas exibidas, sem Employee e fora do persistence context
+public record WorkRecordView(UUID id,
+                             LocalDateTime checkInTime,
+                             LocalDateTime checkOutTime,
+                             Long durationSeconds,
+                             WorkReason reason,
+                             String details) {
+}
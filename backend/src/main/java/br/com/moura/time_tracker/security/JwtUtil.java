@@ -3,56 +3,151 @@ package br.com.moura.time_tracker.security;
 import br.com.moura.time_tracker.dto.JWTUserData;
 import br.com.moura.time_tracker.exception.AuthenticationException;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
 public class JwtUtil {
 
+    // Papel dos terminais de crachá/quiosque: só enviam lotes de batidas (/work/punches)
+    public static final String TERMINAL_ROLE = "TERMINAL";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration:86400}")
     private long expirationTime;
 
-    public String generateToken(UUID userId, String email, String role) {
-        Algorithm algorithm = Algorithm.HMAC256(secret);
-        Instant expiresAt = Instant.now().plus(expirationTime, ChronoUnit.SECONDS);
+    @Value("${jwt.terminal-expiration:2592000}")
+    private long terminalExpirationTime;
+
+    @Value("${jwt.verified-cache.max-size:50000}")
+    private long verifiedCacheMaxSize;
+
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    private record VerifiedToken(JWTUserData userData, Instant expiresAt) {}
+
+    @PostConstruct
+    void init() {
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        long millis = value.expiresAt().toEpochMilli() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public String generateToken(UUID userId, String email, String name, String role) {
+        return sign(userId, email, name, role, expirationTime);
+    }
+
+    // Terminal não é funcionário: o id é do terminal e o subject o identifica nos logs
+    public String generateTerminalToken(UUID terminalId, String name) {
+        return sign(terminalId, "terminal:" + terminalId, name, TERMINAL_ROLE, terminalExpirationTime);
+    }
+
+    public long getTerminalExpirationTime() {
+        return terminalExpirationTime;
+    }
+
+    private String sign(UUID userId, String subject, String name, String role, long ttlSeconds) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(ttlSeconds, ChronoUnit.SECONDS);
 
         return JWT.create()
-                .withSubject(email)
+                .withSubject(subject)
                 .withClaim("userId", String.valueOf(userId))
+                .withClaim("name", name)
                 .withClaim("role", role)
                 .withExpiresAt(expiresAt)
-                .withIssuedAt(Instant.now())
+                .withIssuedAt(now)
                 .sign(algorithm);
     }
 
     public Optional<JWTUserData> validateToken(String token) {
+        String key = digest(token);
+
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            cacheHits.increment();
+            return Optional.of(cached.userData());
+        }
+        cacheMisses.increment();
+
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-
-            DecodedJWT jwt = JWT.require(algorithm)
-                    .build()
-                    .verify(token);
-
-            return Optional.of(
-                    new JWTUserData(
-                            UUID.fromString(jwt.getClaim("userId").asString()),
-                            jwt.getSubject(),
-                            jwt.getClaim("role").asString()
-                    )
+            DecodedJWT jwt = verifier.verify(token);
+
+            JWTUserData userData = new JWTUserData(
+                    UUID.fromString(jwt.getClaim("userId").asString()),
+                    jwt.getSubject(),
+                    jwt.getClaim("name").asString(),
+                    jwt.getClaim("role").asString()
             );
+
+            if (jwt.getExpiresAtAsInstant() != null) {
+                verifiedTokens.put(key, new VerifiedToken(userData, jwt.getExpiresAtAsInstant()));
+            }
+            return Optional.of(userData);
         } catch (JWTVerificationException exception) {
             throw new AuthenticationException("Token inválido ou expirado");
         }
     }
-}
\ No newline at end of file
+
+    public long getVerifiedCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getVerifiedCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.moura.time_tracker.security;
+
+import br.com.moura.time_tracker.dto.JWTUserData;
+import br.com.moura.time_tracker.model.Employee;
+import br.com.moura.time_tracker.repository.EmployeeRepository;
+import br.com.moura.time_tracker.repository.TerminalRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Resolve o principal autenticado a partir das claims já verificadas do JWT.
+ * O funcionário é buscado no banco apenas em cache miss; depois disso o snapshot
+ * (sem senha) é reutilizado até expirar ou ser invalidado por alteração de cadastro.
+ *
+ * O papel vem sempre do cadastro, não do token: rebaixamento ou remoção valem em até
+ * security.principal-cache.ttl, ou na hora quando a alteração chama evict.
+ * Terminais (JwtUtil.TERMINAL_ROLE) não são funcionários: vêm da tabela terminals e
+ * deixam de autenticar quando revogados (TerminalService.revoke invalida a entrada).
+ */
+@Component
+public class PrincipalResolver {
+
+    private final EmployeeRepository employeeRepository;
+    private final TerminalRepository terminalRepository;
+    private final Cache<UUID, Employee> principals;
+
+    public PrincipalResolver(EmployeeRepository employeeRepository,
+                             TerminalRepository terminalRepository,
+                             @Value("${security.principal-cache.ttl:5m}") Duration ttl,
+                             @Value("${security.principal-cache.max-size:10000}") long maxSize) {
+        this.employeeRepository = employeeRepository;
+        this.terminalRepository = terminalRepository;
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    // Não usa principals.get(id, loader): o loader roda dentro do lock do ConcurrentHashMap
+    // e, com virtual threads, a consulta JDBC prenderia a carrier thread (pinning).
+    // Em misses concorrentes do mesmo id a carga pode acontecer mais de uma vez.
+    public Optional<Employee> resolve(JWTUserData jwtUserData) {
+        if (jwtUserData.id() == null || jwtUserData.role() == null) {
+            return Optional.empty();
+        }
+        Employee cached = principals.getIfPresent(jwtUserData.id());
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Employee loaded = JwtUtil.TERMINAL_ROLE.equals(jwtUserData.role())
+                ? loadTerminal(jwtUserData)
+                : loadSnapshot(jwtUserData);
+        if (loaded != null) {
+            principals.put(jwtUserData.id(), loaded);
+        }
+        return Optional.ofNullable(loaded);
+    }
+
+    // Dentro de uma transação a invalidação só acontece após o commit,
+    // para que uma requisição concorrente não recarregue o cadastro antigo.
+    public void evict(UUID employeeId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidate(employeeId);
+                }
+            });
+        } else {
+            principals.invalidate(employeeId);
+        }
+    }
+
+    public void evictAll(Collection<UUID> employeeIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidateAll(employeeIds);
+                }
+            });
+        } else {
+            principals.invalidateAll(employeeIds);
+        }
+    }
+
+    // Terminal revogado ou inexistente não autentica, mesmo com o token dentro da validade
+    private Employee loadTerminal(JWTUserData jwtUserData) {
+        return terminalRepository.findById(jwtUserData.id())
+                .filter(t -> !t.isRevoked())
+                .map(t -> Employee.builder()
+                        .id(t.getId())
+                        .email(jwtUserData.email())
+                        .name(t.getName())
+                        .role(JwtUtil.TERMINAL_ROLE)
+                        .build())
+                .orElse(null);
+    }
+
+    // O nome vem da claim "name" quando presente (tokens antigos não a têm)
+    private Employee loadSnapshot(JWTUserData jwtUserData) {
+        return employeeRepository.findById(jwtUserData.id())
+                .map(e -> Employee.builder()
+                        .id(e.getId())
+                        .name(jwtUserData.name() != null ? jwtUserData.name() : e.getName())
+                        .email(e.getEmail())
+                        .role(e.getRole())
+                        .workStartTime(e.getWorkStartTime())
+                        .workEndTime(e.getWorkEndTime())
+                        .build())
+                .orElse(null);
+    }
+}
@@ -1,15 +1,29 @@
 package br.com.moura.time_tracker.service;
 
 import br.com.moura.time_tracker.dto.WorkRecordResponseDTO;
-import br.com.moura.time_tracker.model.WorkRecord;
+import br.com.moura.time_tracker.enums.Granularity;
+import br.com.moura.time_tracker.enums.WorkReason;
+import br.com.moura.time_tracker.exception.InvalidRequestException;
+import br.com.moura.time_tracker.repository.EmployeeCurrentStatusRepository;
+import br.com.moura.time_tracker.repository.EmployeeDailyTotalRepository;
 import br.com.moura.time_tracker.repository.WorkRecordRepository;
+import br.com.moura.time_tracker.repository.projection.DailyTotalView;
+import br.com.moura.time_tracker.repository.projection.EmployeeReportRecordView;
+import br.com.moura.time_tracker.repository.projection.ReportRecordView;
+import br.com.moura.time_tracker.repository.projection.TeamStatusView;
+import br.com.moura.time_tracker.repository.projection.TimeSeriesPoint;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -17,38 +31,120 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AdminService {
 
+    // Acima disso o relatório deve sair pela exportação em streaming
+    private static final int TEAM_REPORT_MAX_ROWS = 100_000;
+    private static final int TEAM_REPORT_MAX_EMPLOYEES = 5_000;
+    // A partir daqui a conversão para DTO usa o common pool
+    private static final int PARALLEL_MAPPING_THRESHOLD = 5_000;
+    // Recálculo dos totais diários: um DELETE + INSERT por chamada, limitado a um ano
+    private static final int MAX_REBUILD_DAYS = 366;
+
     private final WorkRecordRepository workRecordRepository;
+    private final EmployeeCurrentStatusRepository employeeCurrentStatusRepository;
+    private final EmployeeDailyTotalRepository employeeDailyTotalRepository;
+    private final WorkRecordPartitionService workRecordPartitionService;
+    private final Clock clock;
 
     public List<DashboardStatusDTO> getTeamCurrentStatus() {
-        List<WorkRecord> latestRecords = workRecordRepository.findLatestRecordPerEmployee();
-
-        return latestRecords.stream().map(record -> DashboardStatusDTO.builder()
-                .id(record.getId())
-                .employeeId(record.getEmployee().getId())
-                .name(record.getEmployee().getName())
-                .startTime(record.getCheckInTime())
-                .endTime(record.getCheckOutTime())
-                .durationSeconds(record.getDurationSeconds())
-                .build()).collect(Collectors.toList());
+        List<TeamStatusView> statuses = employeeCurrentStatusRepository.findAllStatusViews();
+
+        return statuses.stream().map(this::toStatusDTO).collect(Collectors.toList());
+    }
+
+    public List<DashboardStatusDTO> getEmployeeCurrentStatuses(Collection<UUID> employeeIds) {
+        return employeeCurrentStatusRepository.findStatusViewsByEmployeeIds(employeeIds).stream().map(this::toStatusDTO).toList();
+    }
+
+    private DashboardStatusDTO toStatusDTO(TeamStatusView status) {
+        return DashboardStatusDTO.builder()
+                .id(status.recordId())
+                .employeeId(status.employeeId())
+                .name(status.name())
+                .startTime(status.checkInTime())
+                .endTime(status.checkOutTime())
+                .durationSeconds(status.durationSeconds())
+                .build();
     }
 
     public List<WorkRecordResponseDTO> generateReport(UUID employeeId, String startDate, String endDate) {
-        LocalDateTime start = LocalDate.parse(startDate).atStartOfDay();
-        LocalDateTime end = LocalDate.parse(endDate).atTime(LocalTime.MAX);
+        LocalDateTime start = RequestParams.date(startDate).atStartOfDay();
+        LocalDateTime end = RequestParams.date(endDate).atTime(LocalTime.MAX);
 
-        List<WorkRecord> records = workRecordRepository.findReportData(employeeId, start, end);
+        List<ReportRecordView> records = workRecordRepository.findReportData(employeeId, start, end);
 
         return records.stream().map(this::toDTO).collect(Collectors.toList());
     }
 
-    private WorkRecordResponseDTO toDTO(WorkRecord r) {
+    // Relatório de vários funcionários (lista, departamento ou todos) em uma única consulta,
+    // com uma seção por funcionário
+    public List<EmployeeReportDTO> generateTeamReport(List<UUID> employeeIds, String department, boolean all,
+                                                      String startDate, String endDate) {
+        boolean byIds = employeeIds != null && !employeeIds.isEmpty();
+        boolean byDepartment = department != null && !department.isBlank();
+        if ((byIds ? 1 : 0) + (byDepartment ? 1 : 0) + (all ? 1 : 0) != 1) {
+            throw new InvalidRequestException("Informe employeeIds, department ou all=true (apenas um)");
+        }
+        if (byIds && employeeIds.size() > TEAM_REPORT_MAX_EMPLOYEES) {
+            throw new InvalidRequestException("Máximo de " + TEAM_REPORT_MAX_EMPLOYEES + " funcionários por relatório");
+        }
+        LocalDate startDay = RequestParams.date(startDate);
+        LocalDate endDay = RequestParams.date(endDate);
+        if (endDay.isBefore(startDay)) {
+            throw new InvalidRequestException("endDate deve ser igual ou posterior a startDate");
+        }
+        LocalDateTime start = startDay.atStartOfDay();
+        LocalDateTime end = endDay.atTime(LocalTime.MAX);
+
+        Limit limit = Limit.of(TEAM_REPORT_MAX_ROWS + 1);
+        List<EmployeeReportRecordView> rows = byIds
+                ? workRecordRepository.findReportDataForEmployees(new HashSet<>(employeeIds), start, end, limit)
+                : byDepartment
+                ? workRecordRepository.findReportDataForDepartment(department.trim(), start, end, limit)
+                : workRecordRepository.findReportDataForAll(start, end, limit);
+        if (rows.size() > TEAM_REPORT_MAX_ROWS) {
+            throw new InvalidRequestException("Relatório com mais de " + TEAM_REPORT_MAX_ROWS +
+                    " linhas: reduza o período ou use a exportação (/admin/report/export)");
+        }
+
+        // Conversão linha a linha em paralelo nos resultados grandes (toList mantém a ordem)
+        List<WorkRecordResponseDTO> records = (rows.size() >= PARALLEL_MAPPING_THRESHOLD ? rows.parallelStream() : rows.stream())
+                .map(r -> r.id() != null ? toDTO(r.id(), r.checkInTime(), r.checkOutTime(), r.durationSeconds(), r.reason()) : null)
+                .toList();
+
+        // As linhas já vêm agrupadas por funcionário: cada seção é um trecho contíguo da lista
+        List<EmployeeReportDTO> sections = new ArrayList<>();
+        int from = 0;
+        for (int i = 1; i <= rows.size(); i++) {
+            if (i < rows.size() && rows.get(i).employeeId().equals(rows.get(from).employeeId())) continue;
+
+            EmployeeReportRecordView first = rows.get(from);
+            List<WorkRecordResponseDTO> sectionRecords = new ArrayList<>(i - from);
+            long totalSeconds = 0;
+            for (int j = from; j < i; j++) {
+                if (records.get(j) == null) continue; // funcionário sem registro no período
+                sectionRecords.add(records.get(j));
+                if (rows.get(j).durationSeconds() != null) totalSeconds += rows.get(j).durationSeconds();
+            }
+            sections.add(new EmployeeReportDTO(first.employeeId(), first.employeeName(), first.department(),
+                    totalSeconds, sectionRecords));
+            from = i;
+        }
+        return sections;
+    }
+
+    private WorkRecordResponseDTO toDTO(ReportRecordView r) {
+        return toDTO(r.id(), r.checkInTime(), r.checkOutTime(), r.durationSeconds(), r.reason());
+    }
+
+    private WorkRecordResponseDTO toDTO(UUID id, LocalDateTime checkInTime, LocalDateTime checkOutTime,
+                                        Long durationSeconds, WorkReason reason) {
         return WorkRecordResponseDTO.builder()
-                .id(r.getId())
-                .date(r.getCheckInTime().toLocalDate().toString())
-                .checkin_time(r.getCheckInTime().toLocalTime().toString())
-                .checkout_time(r.getCheckOutTime() != null ? r.getCheckOutTime().toLocalTime().toString() : null)
-                .duration_seconds(r.getDurationSeconds())
-                .reason_label(r.getReason() != null ? r.getReason().getLabel() : "Trabalho")
+                .id(id)
+                .date(checkInTime.toLocalDate().toString())
+                .checkin_time(checkInTime.toLocalTime().toString())
+                .checkout_time(checkOutTime != null ? checkOutTime.toLocalTime().toString() : null)
+                .duration_seconds(durationSeconds)
+                .reason_label(reason != null ? reason.getLabel() : "Trabalho")
                 .build();
     }
 
@@ -63,25 +159,22 @@ public class AdminService {
         private Long durationSeconds;
     }
 
+    public record EmployeeReportDTO(UUID employeeId, String name, String department, long totalSeconds,
+                                    List<WorkRecordResponseDTO> records) {}
     public record ChartDataDTO(List<String> categories, List<Double> series) {}
     public record RankingDTO(String name, Double totalHours) {}
+    public record TimeSeriesDTO(String granularity, List<TimeSeriesPointDTO> points) {}
+    public record TimeSeriesPointDTO(String period, Double totalHours, Long records) {}
 
     public ChartDataDTO getWeeklyTeamSummary() {
-        LocalDate today = LocalDate.now();
+        LocalDate today = LocalDate.now(clock);
         LocalDate sevenDaysAgo = today.minusDays(6);
-        LocalDateTime start = sevenDaysAgo.atStartOfDay();
-        LocalDateTime end = today.atTime(LocalTime.MAX);
 
-        List<WorkRecord> entries = workRecordRepository.findAllByCheckInTimeBetweenOrderByCheckInTimeAsc(start, end);
         Map<LocalDate, Double> dailyTotals = new LinkedHashMap<>();
-
         for (int i = 0; i < 7; i++) dailyTotals.put(sevenDaysAgo.plusDays(i), 0.0);
 
-        for (WorkRecord entry : entries) {
-            if (entry.getCheckOutTime() != null) {
-                LocalDate date = entry.getCheckInTime().toLocalDate();
-                dailyTotals.put(date, dailyTotals.getOrDefault(date, 0.0) + (entry.getDurationSeconds() / 3600.0));
-            }
+        for (DailyTotalView total : employeeDailyTotalRepository.sumByDay(sevenDaysAgo, today)) {
+            dailyTotals.put(total.getWorkDate(), total.getTotalSeconds() / 3600.0);
         }
 
         List<String> cats = new ArrayList<>();
@@ -94,22 +187,64 @@ public class AdminService {
     }
 
     public List<RankingDTO> getEmployeeRanking() {
-        LocalDate today = LocalDate.now();
-        LocalDateTime start = today.minusDays(6).atStartOfDay();
-        LocalDateTime end = today.atTime(LocalTime.MAX);
+        LocalDate today = LocalDate.now(clock);
 
-        List<WorkRecord> entries = workRecordRepository.findAllByCheckInTimeBetweenOrderByCheckInTimeAsc(start, end);
-        Map<String, Long> rankingMap = new HashMap<>();
+        return employeeDailyTotalRepository.sumByEmployee(today.minusDays(6), today).stream()
+                .map(e -> new RankingDTO(e.getName(), Math.round((e.getTotalSeconds() / 3600.0) * 100.0) / 100.0))
+                .collect(Collectors.toList());
+    }
 
-        for (WorkRecord entry : entries) {
-            if (entry.getCheckOutTime() != null && entry.getEmployee() != null) {
-                long seconds = entry.getDurationSeconds() != null ? entry.getDurationSeconds() : 0;
-                rankingMap.merge(entry.getEmployee().getName(), seconds, Long::sum);
+    // Recalcula o rollup diário a partir de work_records (histórico ou correções manuais).
+    // Meses arquivados não estão mais em work_records: recalcular apagaria os totais deles.
+    @Transactional
+    public int rebuildDailyTotals(String startDate, String endDate) {
+        LocalDate start = RequestParams.date(startDate);
+        LocalDate end = RequestParams.date(endDate);
+        if (end.isBefore(start)) {
+            throw new InvalidRequestException("endDate deve ser igual ou posterior a startDate");
+        }
+        if (ChronoUnit.DAYS.between(start, end) + 1 > MAX_REBUILD_DAYS) {
+            throw new InvalidRequestException("Período máximo de " + MAX_REBUILD_DAYS + " dias para o recálculo");
+        }
+        for (YearMonth archived : workRecordPartitionService.archivedMonths()) {
+            if (!archived.atEndOfMonth().isBefore(start) && !archived.atDay(1).isAfter(end)) {
+                throw new InvalidRequestException("O período inclui " + archived +
+                        ", mês com registros arquivados: os totais diários dele não podem ser recalculados");
             }
         }
-        return rankingMap.entrySet().stream()
-                .map(e -> new RankingDTO(e.getKey(), Math.round((e.getValue() / 3600.0) * 100.0) / 100.0))
-                .sorted(Comparator.comparingDouble(RankingDTO::totalHours).reversed())
-                .collect(Collectors.toList());
+
+        employeeDailyTotalRepository.deleteRange(start, end);
+        return employeeDailyTotalRepository.rebuildFromWorkRecords(start.atStartOfDay(), end.plusDays(1).atStartOfDay());
+    }
+
+    public TimeSeriesDTO getTimeSeries(String startDate, String endDate, String granularityCode,
+                                       UUID employeeId, String reasonCode) {
+        LocalDate startDay = RequestParams.date(startDate);
+        LocalDate endDay = RequestParams.date(endDate);
+        if (endDay.isBefore(startDay)) {
+            throw new InvalidRequestException("endDate deve ser igual ou posterior a startDate");
+        }
+
+        Granularity granularity = Granularity.fromCode(granularityCode);
+        if (ChronoUnit.DAYS.between(startDay, endDay) + 1 > granularity.getMaxPeriodDays()) {
+            throw new InvalidRequestException("Período máximo de " + granularity.getMaxPeriodDays() +
+                    " dias para a granularidade '" + granularity.getCode() + "'");
+        }
+        WorkReason reason = (reasonCode != null && !reasonCode.isBlank()) ? WorkReason.fromCode(reasonCode) : null;
+
+        List<TimeSeriesPoint> rows = workRecordRepository.sumByPeriod(
+                granularity, startDay.atStartOfDay(), endDay.plusDays(1).atStartOfDay(), employeeId, reason);
+
+        Map<LocalDate, TimeSeriesPoint> byBucket = new HashMap<>();
+        for (TimeSeriesPoint row : rows) byBucket.put(row.bucketStart(), row);
+
+        List<TimeSeriesPointDTO> points = new ArrayList<>();
+        for (LocalDate bucket = granularity.truncate(startDay); !bucket.isAfter(endDay); bucket = granularity.next(bucket)) {
+            TimeSeriesPoint row = byBucket.get(bucket);
+            long seconds = row != null ? row.totalSeconds() : 0;
+            long records = row != null ? row.recordCount() : 0;
+            points.add(new TimeSeriesPointDTO(bucket.toString(), Math.round((seconds / 3600.0) * 100.0) / 100.0, records));
+        }
+        return new TimeSeriesDTO(granularity.getCode(), points);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,250 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.dto.CheckoutRequestDTO;
+import br.com.moura.time_tracker.dto.PunchEventDTO;
+import br.com.moura.time_tracker.enums.PunchType;
+import br.com.moura.time_tracker.exception.ClockQueueFullException;
+import br.com.moura.time_tracker.model.WorkRecord;
+import br.com.moura.time_tracker.service.PunchBatchService.PunchOutcome;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Modo rajada para check-in/check-out (troca de turno às 08:00 / 17:00).
+ *
+ * Só existe com work.burst-mode.enabled=true (atende o ClockBurstController; desligado,
+ * o ClockController chama o WorkService direto). Cada batida entra em uma fila limitada escolhida pelo hash do funcionário
+ * (mesmo funcionário, mesma fila, mesma ordem) e um worker por fila grava micro-lotes
+ * via PunchBatchService, em uma transação por lote. O future só completa depois do
+ * commit do lote que contém a batida.
+ */
+@Service
+@ConditionalOnProperty(name = "work.burst-mode.enabled", havingValue = "true")
+public class ClockBurstService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClockBurstService.class);
+
+    private final PunchBatchService punchBatchService;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    private final int workerCount;
+    private final int queueCapacity;
+    private final int maxBatchSize;
+    private final long enqueueTimeoutMillis;
+
+    private final List<BlockingQueue<PendingPunch>> lanes = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private Timer flushTimer;
+    private Timer ackTimer;
+    private DistributionSummary batchSizes;
+    private Counter rejectedPunches;
+
+    private record PendingPunch(PunchEventDTO event, CompletableFuture<WorkRecord> ack, long enqueuedAt) {}
+
+    public ClockBurstService(PunchBatchService punchBatchService,
+                             MeterRegistry meterRegistry,
+                             Clock clock,
+                             @Value("${work.burst-mode.workers:4}") int workerCount,
+                             @Value("${work.burst-mode.queue-capacity:10000}") int queueCapacity,
+                             @Value("${work.burst-mode.max-batch-size:500}") int maxBatchSize,
+                             @Value("${work.burst-mode.enqueue-timeout:2s}") Duration enqueueTimeout) {
+        this.punchBatchService = punchBatchService;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.workerCount = workerCount;
+        this.queueCapacity = queueCapacity;
+        this.maxBatchSize = maxBatchSize;
+        this.enqueueTimeoutMillis = enqueueTimeout.toMillis();
+    }
+
+    @PostConstruct
+    void start() {
+        // A capacidade total é dividida entre as filas
+        int laneCapacity = Math.max(1, queueCapacity / workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            lanes.add(new ArrayBlockingQueue<>(laneCapacity));
+        }
+
+        Gauge.builder("work.burst.queue.depth", lanes, l -> l.stream().mapToInt(BlockingQueue::size).sum())
+                .description("Batidas aguardando gravação")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("work.burst.flush")
+                .description("Tempo de gravação (commit) de cada micro-lote")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        ackTimer = Timer.builder("work.burst.ack")
+                .description("Tempo entre enfileirar a batida e o commit do lote")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("work.burst.batch.size")
+                .description("Batidas por micro-lote")
+                .register(meterRegistry);
+        rejectedPunches = Counter.builder("work.burst.rejected")
+                .description("Batidas recusadas por fila cheia")
+                .register(meterRegistry);
+
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            BlockingQueue<PendingPunch> lane = lanes.get(i);
+            Thread worker = new Thread(() -> drain(lane), "clock-burst-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        logger.info("Modo rajada de ponto habilitado: {} filas de {} posições, lotes de até {}", workerCount, laneCapacity, maxBatchSize);
+    }
+
+    public CompletableFuture<WorkRecord> clockIn(UUID employeeId) {
+        return enqueue(PunchEventDTO.builder()
+                .employeeId(employeeId)
+                .type(PunchType.CHECK_IN.getCode())
+                .timestamp(LocalDateTime.now(clock))
+                .build());
+    }
+
+    public CompletableFuture<WorkRecord> clockOut(UUID employeeId, CheckoutRequestDTO request) {
+        return enqueue(PunchEventDTO.builder()
+                .employeeId(employeeId)
+                .type(PunchType.CHECK_OUT.getCode())
+                .timestamp(LocalDateTime.now(clock))
+                .reason_id(request.getReason_id())
+                .details(request.getDetails())
+                .build());
+    }
+
+    private CompletableFuture<WorkRecord> enqueue(PunchEventDTO event) {
+        PendingPunch punch = new PendingPunch(event, new CompletableFuture<>(), System.nanoTime());
+        BlockingQueue<PendingPunch> lane = lanes.get(Math.floorMod(event.getEmployeeId().hashCode(), lanes.size()));
+
+        boolean queued = false;
+        if (running) {
+            try {
+                queued = lane.offer(punch, enqueueTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Entrou na fila enquanto o serviço desligava: se ninguém a retirou ainda, desiste dela aqui.
+        // Se o worker ou o shutdown já a retiraram, eles completam o future.
+        if (queued && !running && lane.remove(punch)) {
+            queued = false;
+        }
+
+        if (!queued) {
+            rejectedPunches.increment();
+            throw new ClockQueueFullException("Muitas batidas simultâneas, tente novamente em instantes");
+        }
+        return punch.ack();
+    }
+
+    private void drain(BlockingQueue<PendingPunch> lane) {
+        List<PendingPunch> batch = new ArrayList<>(maxBatchSize);
+
+        // No desligamento a fila ainda é esvaziada antes de a thread terminar
+        while (running || !lane.isEmpty()) {
+            try {
+                PendingPunch first = lane.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // Tudo que chegou enquanto o lote anterior era gravado vai junto neste
+                batch.add(first);
+                lane.drainTo(batch, maxBatchSize - 1);
+                batchSizes.record(batch.size());
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Falha inesperada no worker de batidas", e);
+                batch.forEach(p -> p.ack().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingPunch> batch) {
+        long start = System.nanoTime();
+        try {
+            List<PunchOutcome> outcomes = punchBatchService.ingest(batch.stream().map(PendingPunch::event).toList());
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            for (PunchOutcome outcome : outcomes) {
+                acknowledge(batch.get(outcome.index()), outcome);
+            }
+        } catch (RuntimeException e) {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (batch.size() == 1) {
+                batch.get(0).ack().completeExceptionally(e);
+                return;
+            }
+
+            // O lote inteiro voltou (ex.: conflito com uma batida gravada por outra instância):
+            // regrava uma a uma para que só a batida problemática falhe.
+            logger.warn("Lote de {} batidas falhou, regravando individualmente: {}", batch.size(), e.getMessage());
+            for (PendingPunch punch : batch) {
+                flush(List.of(punch));
+            }
+        }
+    }
+
+    private void acknowledge(PendingPunch punch, PunchOutcome outcome) {
+        ackTimer.record(System.nanoTime() - punch.enqueuedAt(), TimeUnit.NANOSECONDS);
+        if (outcome.accepted()) {
+            punch.ack().complete(outcome.record());
+        } else {
+            punch.ack().completeExceptionally(outcome.error());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        // Batidas que entraram depois de o worker sair (ou que ele não chegou a gravar):
+        // sem isso a requisição ficaria esperando um future que nunca completa
+        List<PendingPunch> leftover = new ArrayList<>();
+        for (BlockingQueue<PendingPunch> lane : lanes) {
+            lane.drainTo(leftover);
+        }
+        if (!leftover.isEmpty()) {
+            logger.warn("{} batidas não gravadas no desligamento do modo rajada", leftover.size());
+            ClockQueueFullException error = new ClockQueueFullException("Serviço de ponto reiniciando, tente novamente em instantes");
+            leftover.forEach(p -> p.ack().completeExceptionally(error));
+        }
+    }
+}
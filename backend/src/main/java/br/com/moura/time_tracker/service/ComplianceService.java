@@ -0,0 +1,294 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.exception.InvalidRequestException;
+import br.com.moura.time_tracker.repository.EmployeeRepository;
+import br.com.moura.time_tracker.repository.WorkRecordRepository;
+import br.com.moura.time_tracker.repository.projection.CollaboratorView;
+import br.com.moura.time_tracker.repository.projection.PunchView;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+/**
+ * Conformidade com a escala: atrasos, saídas antecipadas, horas extras e faltas
+ * de todos os colaboradores em um período.
+ *
+ * A escala de cada dia vem do ScheduleIndex (sem alocação por consulta) e os registros
+ * do período são lidos em streaming e acumulados em arrays funcionário x dia
+ * (primeira entrada, última saída, segundos trabalhados). Os colaboradores são processados
+ * em blocos de work.compliance.chunk-employees, então a memória da matriz é limitada pelo
+ * bloco e não pelo quadro inteiro. O cálculo por funcionário roda em fork/join, em um pool
+ * próprio (work.compliance.parallelism) para não disputar o common pool com o resto da aplicação.
+ *
+ * Regras:
+ * - dia útil é o que tem expediente na escala (folgas e revezamento vêm de employee_schedules);
+ * - só dias já encerrados (antes de hoje) são avaliados;
+ * - atraso/saída antecipada/hora extra só contam acima da tolerância (work.compliance.tolerance-minutes);
+ * - trabalho em dia de folga conta inteiro como hora extra;
+ * - turnos noturnos são avaliados pelo dia do check-in.
+ */
+@Service
+public class ComplianceService {
+
+    private static final int MAX_PERIOD_DAYS = 366;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    // Faixa de funcionários calculada sem dividir mais a tarefa
+    private static final int SEQUENTIAL_THRESHOLD = 256;
+
+    private static final byte HAS_RECORD = 1;
+    private static final byte HAS_OPEN_SHIFT = 2;
+
+    private final EmployeeRepository employeeRepository;
+    private final WorkRecordRepository workRecordRepository;
+    private final ScheduleService scheduleService;
+    private final Clock clock;
+    private final int toleranceMinutes;
+    private final int chunkEmployees;
+    private final ForkJoinPool pool;
+
+    public ComplianceService(EmployeeRepository employeeRepository,
+                             WorkRecordRepository workRecordRepository,
+                             ScheduleService scheduleService,
+                             Clock clock,
+                             @Value("${work.compliance.tolerance-minutes:10}") int toleranceMinutes,
+                             @Value("${work.compliance.chunk-employees:2000}") int chunkEmployees,
+                             @Value("${work.compliance.parallelism:0}") int parallelism) {
+        this.employeeRepository = employeeRepository;
+        this.workRecordRepository = workRecordRepository;
+        this.scheduleService = scheduleService;
+        this.clock = clock;
+        this.toleranceMinutes = toleranceMinutes;
+        this.chunkEmployees = Math.max(1, chunkEmployees);
+        // 0 = metade dos processadores (mínimo 1): sobra CPU para as requisições
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public record EmployeeComplianceDTO(
+            UUID employeeId,
+            String name,
+            int workdays,
+            int daysWorked,
+            int missingDays,
+            int lateDays,
+            long latenessMinutes,
+            int earlyLeaveDays,
+            long earlyLeaveMinutes,
+            long expectedMinutes,
+            long overtimeMinutes
+    ) {}
+
+    public record ComplianceReportDTO(String startDate, String endDate, int employees, List<EmployeeComplianceDTO> rows) {}
+
+    @Transactional
+    public ComplianceReportDTO compute(String startDate, String endDate) {
+        LocalDate start = RequestParams.date(startDate);
+        LocalDate end = RequestParams.date(endDate);
+        if (end.isBefore(start)) {
+            throw new InvalidRequestException("endDate deve ser igual ou posterior a startDate");
+        }
+        int days = (int) ChronoUnit.DAYS.between(start, end) + 1;
+        if (days > MAX_PERIOD_DAYS) {
+            throw new InvalidRequestException("Período máximo de " + MAX_PERIOD_DAYS + " dias");
+        }
+
+        List<CollaboratorView> all = employeeRepository.findCollaborators();
+        ScheduleIndex index = scheduleService.index();
+        long today = LocalDate.now(clock).toEpochDay();
+        Period period = new Period(start.toEpochDay(), (int) Math.max(0, Math.min(days, today - start.toEpochDay())));
+
+        List<EmployeeComplianceDTO> rows = new ArrayList<>(all.size());
+        for (int from = 0; from < all.size(); from += chunkEmployees) {
+            Collaborators collaborators = Collaborators.of(all.subList(from, Math.min(from + chunkEmployees, all.size())), index);
+            DayMatrix matrix = new DayMatrix(collaborators.size(), days);
+
+            try (Stream<PunchView> punches = workRecordRepository.streamPunches(
+                    collaborators.indexOf.keySet(), start.atStartOfDay(), end.plusDays(1).atStartOfDay())) {
+                punches.forEach(punch -> {
+                    Integer employee = collaborators.indexOf.get(punch.employeeId());
+                    if (employee != null) {
+                        matrix.add(employee, (int) ChronoUnit.DAYS.between(start, punch.checkInTime().toLocalDate()), punch);
+                    }
+                });
+            }
+
+            EmployeeComplianceDTO[] chunk = new EmployeeComplianceDTO[collaborators.size()];
+            pool.invoke(new ComplianceTask(collaborators, matrix, period, chunk, 0, chunk.length));
+            rows.addAll(Arrays.asList(chunk));
+        }
+
+        return new ComplianceReportDTO(start.toString(), end.toString(), rows.size(), rows);
+    }
+
+    private class ComplianceTask extends RecursiveAction {
+
+        private final Collaborators collaborators;
+        private final DayMatrix matrix;
+        private final Period period;
+        private final EmployeeComplianceDTO[] rows;
+        private final int from;
+        private final int to;
+
+        ComplianceTask(Collaborators collaborators, DayMatrix matrix, Period period,
+                       EmployeeComplianceDTO[] rows, int from, int to) {
+            this.collaborators = collaborators;
+            this.matrix = matrix;
+            this.period = period;
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int employee = from; employee < to; employee++) {
+                    rows[employee] = evaluate(collaborators, matrix, period, employee);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ComplianceTask(collaborators, matrix, period, rows, from, middle),
+                    new ComplianceTask(collaborators, matrix, period, rows, middle, to));
+        }
+    }
+
+    private EmployeeComplianceDTO evaluate(Collaborators collaborators, DayMatrix matrix, Period period, int employee) {
+        ScheduleIndex index = collaborators.index;
+        int slot = collaborators.slot[employee];
+
+        int workdays = 0, daysWorked = 0, missingDays = 0, lateDays = 0, earlyLeaveDays = 0;
+        long latenessMinutes = 0, earlyLeaveMinutes = 0, expectedTotal = 0, overtimeMinutes = 0;
+
+        int base = employee * matrix.days;
+        for (int day = 0; day < period.evaluatedDays; day++) {
+            int cell = base + day;
+            int scheduleCell = index.cell(slot, period.startEpochDay + day);
+            boolean worked = (matrix.flags[cell] & HAS_RECORD) != 0;
+            boolean open = (matrix.flags[cell] & HAS_OPEN_SHIFT) != 0;
+            int workedMinutes = (int) (matrix.workedSeconds[cell] / 60);
+
+            int scheduledStart = index.startMinuteAt(scheduleCell);
+            if (scheduledStart == ScheduleIndex.NO_SHIFT) {
+                if (worked) {
+                    daysWorked++;
+                    overtimeMinutes += workedMinutes;
+                }
+                continue;
+            }
+
+            int expected = index.expectedMinutesAt(scheduleCell);
+            workdays++;
+            expectedTotal += expected;
+            if (!worked) {
+                missingDays++;
+                continue;
+            }
+            daysWorked++;
+
+            int late = matrix.firstIn[cell] - scheduledStart;
+            if (late > toleranceMinutes) {
+                lateDays++;
+                latenessMinutes += late;
+            }
+            if (!open) {
+                int early = index.endMinuteAt(scheduleCell) - matrix.lastOut[cell];
+                if (early > toleranceMinutes) {
+                    earlyLeaveDays++;
+                    earlyLeaveMinutes += early;
+                }
+                int extra = workedMinutes - expected;
+                if (extra > toleranceMinutes) {
+                    overtimeMinutes += extra;
+                }
+            }
+        }
+
+        CollaboratorView source = collaborators.sources.get(employee);
+        return new EmployeeComplianceDTO(source.employeeId(), source.name(),
+                workdays, daysWorked, missingDays, lateDays, latenessMinutes,
+                earlyLeaveDays, earlyLeaveMinutes, expectedTotal, overtimeMinutes);
+    }
+
+    // --- Colaboradores avaliados: linha na matriz e slot no ScheduleIndex (mesmo índice para todo o cálculo) ---
+    private record Collaborators(List<CollaboratorView> sources, Map<UUID, Integer> indexOf,
+                                 ScheduleIndex index, int[] slot) {
+        static Collaborators of(List<CollaboratorView> sources, ScheduleIndex index) {
+            Map<UUID, Integer> indexOf = new HashMap<>(sources.size() * 2);
+            int[] slot = new int[sources.size()];
+            for (int i = 0; i < sources.size(); i++) {
+                UUID employeeId = sources.get(i).employeeId();
+                indexOf.put(employeeId, i);
+                slot[i] = index.slotOf(employeeId);
+            }
+            return new Collaborators(sources, indexOf, index, slot);
+        }
+
+        int size() {
+            return sources.size();
+        }
+    }
+
+    // Dias avaliados a partir do início do período (só os já encerrados)
+    private record Period(long startEpochDay, int evaluatedDays) {}
+
+    // --- Acumulado funcionário x dia, em arrays planos (índice = funcionário * dias + dia) ---
+    private static final class DayMatrix {
+        final int days;
+        final int[] firstIn;       // minuto do dia da primeira entrada
+        final int[] lastOut;       // minuto da última saída, relativo ao dia do check-in (pode passar de 1440)
+        final long[] workedSeconds;
+        final byte[] flags;
+
+        DayMatrix(int employees, int days) {
+            this.days = days;
+            int cells = employees * days;
+            this.firstIn = new int[cells];
+            this.lastOut = new int[cells];
+            this.workedSeconds = new long[cells];
+            this.flags = new byte[cells];
+            Arrays.fill(firstIn, Integer.MAX_VALUE);
+        }
+
+        // Chamado em sequência pelo stream do repositório (uma única thread)
+        void add(int employee, int day, PunchView punch) {
+            if (day < 0 || day >= days) return;
+            int cell = employee * days + day;
+            LocalDateTime checkIn = punch.checkInTime();
+
+            flags[cell] |= HAS_RECORD;
+            firstIn[cell] = Math.min(firstIn[cell], checkIn.getHour() * 60 + checkIn.getMinute());
+
+            LocalDateTime checkOut = punch.checkOutTime();
+            if (checkOut == null) {
+                flags[cell] |= HAS_OPEN_SHIFT;
+                return;
+            }
+            int dayOffset = (int) ChronoUnit.DAYS.between(checkIn.toLocalDate(), checkOut.toLocalDate());
+            lastOut[cell] = Math.max(lastOut[cell], dayOffset * MINUTES_PER_DAY + checkOut.getHour() * 60 + checkOut.getMinute());
+            if (punch.durationSeconds() != null) {
+                workedSeconds[cell] += punch.durationSeconds();
+            }
+        }
+    }
+}
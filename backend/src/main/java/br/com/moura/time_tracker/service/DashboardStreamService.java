@@ -0,0 +1,463 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.event.EmployeeStatusChangedEvent;
+import br.com.moura.time_tracker.service.AdminService.DashboardStatusDTO;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.jdbc.autoconfigure.JdbcConnectionDetails;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Stream SSE do dashboard administrativo. Cada conexão recebe um snapshot inicial
+ * e depois apenas os deltas gerados por check-in/check-out.
+ *
+ * As alterações chegam por LISTEN/NOTIFY do Postgres: a transação que altera o status
+ * envia pg_notify antes do commit (entregue só se confirmar) e cada instância escuta o canal
+ * em uma conexão dedicada, então clientes de qualquer instância recebem as alterações de todas.
+ *
+ * Sequência, buffer de replay e lista de conexões ficam na thread "dashboard-stream", o que
+ * garante a ordem dos eventos sem locks. Notificações que chegam dentro de
+ * dashboard.stream.batch-window viram uma única consulta de status. A escrita na conexão
+ * não acontece nessa thread: cada cliente tem uma fila limitada de remessas
+ * (dashboard.stream.client-buffer) esvaziada pelas threads "dashboard-send", uma de cada vez por cliente. Cliente cuja fila
+ * enche (rede lenta, aba parada) é desconectado e, ao reconectar com Last-Event-ID, recebe
+ * o replay ou um snapshot.
+ *
+ * Sequência e buffer são desta instância: um Last-Event-ID de outra instância (ou de antes
+ * de uma queda do LISTEN) recebe um snapshot completo em vez de deltas.
+ */
+@Service
+public class DashboardStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStreamService.class);
+
+    private static final String CHANNEL = "dashboard_status";
+
+    private final AdminService adminService;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcConnectionDetails connectionDetails;
+    private final long emitterTimeoutMillis;
+    private final int replayBufferSize;
+    private final long reconnectDelayMillis;
+    private final long batchWindowMillis;
+    private final int clientBufferSize;
+
+    // Identifica esta instância: ids de outra execução forçam um novo snapshot.
+    private final String streamId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "dashboard-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Threads sob demanda: no máximo uma por cliente com eventos pendentes
+    private final AtomicInteger senderThreads = new AtomicInteger();
+    private final ExecutorService sender = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "dashboard-send-" + senderThreads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<Client> clients = new ArrayList<>();
+    private final Deque<BufferedEvent> replayBuffer = new ArrayDeque<>();
+    private long oldestReplayableSequence = 1;
+
+    // Alterações recebidas do LISTEN aguardando a próxima consulta em lote
+    private final Set<UUID> pendingChanges = new LinkedHashSet<>();
+    private boolean flushScheduled;
+
+    private volatile boolean listening;
+    private volatile Connection listenConnection;
+
+    private record BufferedEvent(long sequence, DashboardStatusDTO status) {}
+
+    public DashboardStreamService(AdminService adminService,
+                                  JdbcTemplate jdbcTemplate,
+                                  JdbcConnectionDetails connectionDetails,
+                                  @Value("${dashboard.stream.timeout:30m}") Duration emitterTimeout,
+                                  @Value("${dashboard.stream.heartbeat:15s}") Duration heartbeat,
+                                  @Value("${dashboard.stream.replay-buffer-size:1000}") int replayBufferSize,
+                                  @Value("${dashboard.stream.listen-reconnect:5s}") Duration reconnectDelay,
+                                  @Value("${dashboard.stream.batch-window:50ms}") Duration batchWindow,
+                                  @Value("${dashboard.stream.client-buffer:256}") int clientBufferSize) {
+        this.adminService = adminService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.connectionDetails = connectionDetails;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.replayBufferSize = replayBufferSize;
+        this.reconnectDelayMillis = reconnectDelay.toMillis();
+        this.batchWindowMillis = batchWindow.toMillis();
+        this.clientBufferSize = clientBufferSize;
+        executor.scheduleAtFixedRate(this::sendHeartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        subscribe(emitter, lastEventId);
+        return emitter;
+    }
+
+    // O snapshot inicial é consultado na thread da requisição e entra na fila do cliente
+    // antes de qualquer delta, então a thread "dashboard-stream" não espera o banco
+    void subscribe(SseEmitter emitter, String lastEventId) {
+        Client client = new Client(emitter);
+        emitter.onCompletion(() -> executor.execute(() -> clients.remove(client)));
+        emitter.onTimeout(() -> executor.execute(() -> clients.remove(client)));
+        emitter.onError(e -> executor.execute(() -> clients.remove(client)));
+
+        long resumeFrom = parseSequence(lastEventId);
+
+        if (resumeFrom < 0) {
+            long snapshotSequence = sequence.get();
+            client.offer(SseEmitter.event()
+                    .id(eventId(snapshotSequence))
+                    .name("snapshot")
+                    .reconnectTime(3000)
+                    .data(adminService.getTeamCurrentStatus()));
+            resumeFrom = snapshotSequence;
+        }
+
+        long lastSeen = resumeFrom;
+        executor.execute(() -> register(client, lastSeen));
+    }
+
+    // Um pg_notify por funcionário alterado, todos em um único comando antes do commit
+    // (um lote de batidas gera muitos eventos na mesma transação)
+    @EventListener
+    public void onEmployeeStatusChanged(EmployeeStatusChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyChanged(List.of(event.employeeId()));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<UUID> pending = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<UUID> changed = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, changed);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    notifyChanged(changed);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(DashboardStreamService.this);
+                }
+            });
+            pending = changed;
+        }
+        pending.add(event.employeeId());
+    }
+
+    private void notifyChanged(Collection<UUID> employeeIds) {
+        String[] payloads = employeeIds.stream().map(UUID::toString).toArray(String[]::new);
+        jdbcTemplate.query("SELECT pg_notify(?, id) FROM unnest(CAST(? AS text[])) AS id",
+                rs -> {}, CHANNEL, payloads);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startListening() {
+        listening = true;
+        Thread listener = new Thread(this::listen, "dashboard-listen");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    // Conexão própria (fora do pool do Hikari), aberta enquanto a aplicação estiver no ar
+    private void listen() {
+        while (listening) {
+            try (Connection connection = DriverManager.getConnection(connectionDetails.getJdbcUrl(),
+                    connectionDetails.getUsername(), connectionDetails.getPassword())) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Notificações enviadas sem LISTEN ativo se perderam: quem está conectado recebe o estado completo
+                executor.execute(this::resync);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (listening) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) reconnectDelayMillis);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    List<UUID> changed = new ArrayList<>(notifications.length);
+                    for (PGNotification notification : notifications) {
+                        UUID employeeId = parseEmployeeId(notification.getParameter());
+                        if (employeeId != null) {
+                            changed.add(employeeId);
+                        }
+                    }
+                    statusChanged(changed);
+                }
+            } catch (SQLException e) {
+                if (!listening) {
+                    return;
+                }
+                logger.warn("LISTEN do dashboard interrompido, reconectando em {} ms: {}", reconnectDelayMillis, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Acumula as alterações e agenda uma única consulta para a janela atual
+    void statusChanged(Collection<UUID> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+        synchronized (pendingChanges) {
+            pendingChanges.addAll(employeeIds);
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        executor.schedule(this::broadcastPending, batchWindowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void register(Client client, long lastSeen) {
+        if (lastSeen + 1 < oldestReplayableSequence) {
+            // O cliente perdeu eventos que já saíram do buffer: reenvia o estado completo.
+            client.offer(SseEmitter.event()
+                    .id(eventId(sequence.get()))
+                    .name("snapshot")
+                    .data(adminService.getTeamCurrentStatus()));
+        } else {
+            client.offer(replayBuffer.stream()
+                    .filter(buffered -> buffered.sequence() > lastSeen)
+                    .map(this::statusEvent)
+                    .toList());
+        }
+        if (!client.closed.get()) {
+            clients.add(client);
+        }
+    }
+
+    private void broadcastPending() {
+        List<UUID> changed;
+        synchronized (pendingChanges) {
+            changed = new ArrayList<>(pendingChanges);
+            pendingChanges.clear();
+            flushScheduled = false;
+        }
+
+        if (clients.isEmpty()) {
+            // Sem ninguém conectado não há motivo para consultar o banco;
+            // apenas marca a lacuna para que reconexões recebam um snapshot.
+            long last = sequence.addAndGet(changed.size());
+            replayBuffer.clear();
+            oldestReplayableSequence = last + 1;
+            return;
+        }
+
+        Map<UUID, DashboardStatusDTO> statuses = adminService.getEmployeeCurrentStatuses(changed).stream()
+                .collect(Collectors.toMap(DashboardStatusDTO::getEmployeeId, Function.identity()));
+        List<BufferedEvent> events = new ArrayList<>(changed.size());
+        for (UUID employeeId : changed) {
+            long seq = sequence.incrementAndGet();
+            DashboardStatusDTO status = statuses.get(employeeId);
+            if (status == null) {
+                continue;
+            }
+            BufferedEvent buffered = new BufferedEvent(seq, status);
+            events.add(buffered);
+            replayBuffer.addLast(buffered);
+            if (replayBuffer.size() > replayBufferSize) {
+                oldestReplayableSequence = replayBuffer.removeFirst().sequence() + 1;
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        // A janela inteira ocupa uma posição na fila de cada cliente
+        for (Client client : List.copyOf(clients)) {
+            client.offer(events.stream().map(this::statusEvent).toList());
+        }
+    }
+
+    // Após (re)conectar o LISTEN: descarta o buffer e manda um snapshot para quem está conectado
+    private void resync() {
+        long seq = sequence.incrementAndGet();
+        replayBuffer.clear();
+        oldestReplayableSequence = seq + 1;
+        if (clients.isEmpty()) {
+            return;
+        }
+
+        List<DashboardStatusDTO> snapshot = adminService.getTeamCurrentStatus();
+        for (Client client : List.copyOf(clients)) {
+            client.offer(SseEmitter.event()
+                    .id(eventId(seq))
+                    .name("snapshot")
+                    .data(snapshot));
+        }
+    }
+
+    private void sendHeartbeat() {
+        for (Client client : List.copyOf(clients)) {
+            client.offer(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    int clientCount() {
+        return clients.size();
+    }
+
+    private SseEmitter.SseEventBuilder statusEvent(BufferedEvent buffered) {
+        return SseEmitter.event()
+                .id(eventId(buffered.sequence()))
+                .name("status")
+                .data(buffered.status());
+    }
+
+    private String eventId(long seq) {
+        return streamId + "-" + seq;
+    }
+
+    private long parseSequence(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(streamId + "-")) {
+            return -1;
+        }
+        try {
+            long seq = Long.parseLong(lastEventId.substring(streamId.length() + 1));
+            return seq <= sequence.get() ? seq : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static UUID parseEmployeeId(String payload) {
+        try {
+            return UUID.fromString(payload);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Notificação inválida no canal {}: {}", CHANNEL, payload);
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        listening = false;
+        Connection connection = listenConnection;
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // já encerrando
+            }
+        }
+        executor.shutdownNow();
+        sender.shutdownNow();
+        clients.forEach(client -> client.emitter.complete());
+    }
+
+    /**
+     * Conexão SSE com fila própria. Cada posição da fila é uma remessa (um snapshot, um heartbeat
+     * ou os eventos de uma janela de alterações) com SseEventBuilders novos, já que o builder não
+     * pode ser reenviado. Só uma thread "dashboard-send" escreve por vez, preservando a ordem.
+     */
+    private final class Client {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<List<SseEmitter.SseEventBuilder>> queue = new ArrayBlockingQueue<>(clientBufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            offer(List.of(event));
+        }
+
+        void offer(List<SseEmitter.SseEventBuilder> events) {
+            if (closed.get() || events.isEmpty()) {
+                return;
+            }
+            if (!queue.offer(events)) {
+                logger.info("Cliente do dashboard atrasado ({} remessas na fila), desconectando", clientBufferSize);
+                drop(null);
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                List<SseEmitter.SseEventBuilder> events;
+                while (!closed.get() && (events = queue.poll()) != null) {
+                    try {
+                        for (SseEmitter.SseEventBuilder event : events) {
+                            emitter.send(event);
+                        }
+                    } catch (IOException | IllegalStateException e) {
+                        drop(e);
+                    }
+                }
+                draining.set(false);
+                // Evento que chegou entre o último poll e a liberação: retoma se ninguém retomou
+            } while (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void drop(Throwable error) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            queue.clear();
+            executor.execute(() -> clients.remove(this));
+            if (error != null) {
+                emitter.completeWithError(error);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -1,46 +1,74 @@
 package br.com.moura.time_tracker.service;
 
+import br.com.moura.time_tracker.dto.CursorPage;
+import br.com.moura.time_tracker.dto.DepartmentDto;
 import br.com.moura.time_tracker.dto.EmployeeResponse;
 import br.com.moura.time_tracker.dto.ScheduleDto;
 import br.com.moura.time_tracker.exception.DataNotFoundException;
+import br.com.moura.time_tracker.exception.InvalidRequestException;
 import br.com.moura.time_tracker.model.Employee;
 import br.com.moura.time_tracker.repository.EmployeeRepository;
+import br.com.moura.time_tracker.repository.projection.EmployeeDirectoryView;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
+    private final ScheduleService scheduleService;
 
-    public  List<EmployeeResponse> findAll() {
-        return employeeRepository.findAll().stream().map((e) -> new EmployeeResponse(
-                e.getId(),
-                e.getName(),
-                e.getEmail(),
-                e.getWorkStartTime(),
-                e.getWorkEndTime(),
-                e.getRole()
-        )).collect(Collectors.toList());
+    // Diretório paginado por cursor (name, id), com busca opcional por nome/e-mail
+    public CursorPage<EmployeeResponse> searchDirectory(String search, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, 100));
+
+        String afterName = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] position = decodeCursor(cursor);
+            afterName = position[0];
+            afterId = UUID.fromString(position[1]);
+        }
+
+        List<EmployeeDirectoryView> rows = employeeRepository.searchDirectory(search, afterName, afterId, limit + 1);
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            EmployeeDirectoryView last = rows.get(limit - 1);
+            nextCursor = encodeCursor(last.name(), last.id());
+        }
+
+        return new CursorPage<>(rows.stream().map(this::toResponse).toList(), nextCursor);
     }
 
+    // Contrato original de GET /api/employees (lista completa); o painel usa searchDirectory
+    public List<EmployeeResponse> findAll() {
+        return employeeRepository.findAllDirectoryViews().stream().map(this::toResponse).toList();
+    }
+
+    // Escala única (seg-sex); escalas por dia/revezamento em ScheduleService.updateWeeklySchedule
     @Transactional
     public void updateSchedule(UUID id, ScheduleDto schedule) {
+        scheduleService.updateWeekdaySchedule(id,
+                RequestParams.time(schedule.getWorkStartTime()),
+                RequestParams.time(schedule.getWorkEndTime()));
+    }
+
+    @Transactional
+    public void updateDepartment(UUID id, DepartmentDto department) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new DataNotFoundException("Funcionário não encontrado"));
 
-        String start = schedule.getWorkStartTime();
-        String end = schedule.getWorkEndTime();
-
-        if (start != null) employee.setWorkStartTime(start);
-        if (end != null) employee.setWorkEndTime(end);
-
+        String name = department.getDepartment();
+        employee.setDepartment(name != null && !name.isBlank() ? name.trim() : null);
         employeeRepository.save(employee);
     }
 
@@ -54,7 +82,39 @@ public class EmployeeService {
                 e.getEmail(),
                 e.getWorkStartTime(),
                 e.getWorkEndTime(),
-                e.getRole()
+                e.getRole(),
+                e.getDepartment()
+        );
+    }
+
+    // --- HELPER ---
+    private EmployeeResponse toResponse(EmployeeDirectoryView e) {
+        return new EmployeeResponse(
+                e.id(),
+                e.name(),
+                e.email(),
+                e.workStartTime(),
+                e.workEndTime(),
+                e.role(),
+                e.department()
         );
     }
+
+    // O id vem primeiro porque o nome pode conter o separador
+    private String encodeCursor(String name, UUID id) {
+        String raw = id + "|" + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length != 2) throw new IllegalArgumentException();
+            UUID.fromString(parts[0]);
+            return new String[]{parts[1], parts[0]};
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Cursor inválido");
+        }
+    }
 }
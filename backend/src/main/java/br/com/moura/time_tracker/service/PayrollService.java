@@ -0,0 +1,415 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.exception.DataNotFoundException;
+import br.com.moura.time_tracker.exception.InvalidRequestException;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Fechamento mensal da folha: totais por funcionário e motivo em monthly_timesheets (V15).
+ *
+ * Os funcionários são divididos em lotes por intervalo de id; cada lote é agregado com uma
+ * única passada em work_records (só as partições do mês) e gravado, junto com o checkpoint
+ * do lote, na mesma transação. Os lotes rodam em paralelo em work.payroll.workers threads;
+ * a subida falha se esse número não deixar conexões do pool do Hikari para as requisições.
+ *
+ * Cada execução tem um dono (a instância que a processa), que renova heartbeat_at a cada
+ * work.payroll.heartbeat-interval. Execuções RUNNING sem dono ou com heartbeat mais antigo que
+ * work.payroll.stale-after (queda da instância) são assumidas por outra, na subida ou no próprio
+ * heartbeat, e retomadas a partir dos lotes pendentes; só o dono conclui ou marca falha.
+ * Disparar de novo um mês com execução não concluída também retoma, a menos que o dono esteja vivo.
+ * Na troca de dono, cada lote é travado com FOR UPDATE SKIP LOCKED e só uma instância o processa.
+ */
+@Service
+public class PayrollService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollService.class);
+
+    private static final String RUNNING = "RUNNING";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+    private static final String PENDING = "PENDING";
+    private static final String DONE = "DONE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int chunkSize;
+    private final Duration staleAfter;
+    // Identifica esta instância em payroll_jobs.owner (pid@host e um sufixo por subida)
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName() + "/"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    private final ThreadPoolTaskExecutor coordinator;
+    private final ThreadPoolTaskExecutor workers;
+    // Execuções em andamento nesta instância
+    private final Map<UUID, Future<?>> running = new ConcurrentHashMap<>();
+
+    public record PayrollJobDTO(
+            UUID id,
+            String month,
+            String status,
+            int totalChunks,
+            int completedChunks,
+            long rowsWritten,
+            int progressPercent,
+            String error,
+            LocalDateTime startedAt,
+            LocalDateTime finishedAt
+    ) {}
+
+    public record TimesheetDTO(UUID employeeId, String name, long totalSeconds, int recordCount, Map<String, Long> secondsByReason) {}
+
+    private record Chunk(int chunkNo, UUID fromEmployeeId, UUID toEmployeeId) {}
+
+    // Execução escolhida por closeMonth e se esta instância ficou com ela
+    private record Claim(UUID jobId, boolean owned) {}
+
+    public PayrollService(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          DataSource dataSource,
+                          Clock clock,
+                          @Value("${work.payroll.chunk-size:500}") int chunkSize,
+                          @Value("${work.payroll.workers:4}") int workerCount,
+                          @Value("${work.payroll.stale-after:2m}") Duration staleAfter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.chunkSize = chunkSize;
+        this.staleAfter = staleAfter;
+
+        // Cada worker segura uma conexão durante o lote inteiro: com o pool todo tomado,
+        // as requisições ficariam esperando até o connection-timeout
+        if (dataSource instanceof HikariDataSource hikari && workerCount >= hikari.getMaximumPoolSize()) {
+            throw new IllegalStateException("work.payroll.workers (" + workerCount +
+                    ") deve ser menor que o pool do Hikari (" + hikari.getMaximumPoolSize() + ")");
+        }
+        // Pools próprios e não beans: um Executor no contexto desligaria o applicationTaskExecutor do Boot
+        this.coordinator = executor("payroll-job-", 1);
+        this.workers = executor("payroll-worker-", workerCount);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        try {
+            adoptOrphans();
+        } catch (DataAccessException e) {
+            logger.error("Falha ao retomar fechamentos interrompidos", e);
+        }
+    }
+
+    // Renova o heartbeat das execuções desta instância e assume as que ficaram sem dono vivo
+    @Scheduled(fixedDelayString = "${work.payroll.heartbeat-interval:30s}", initialDelayString = "${work.payroll.heartbeat-interval:30s}")
+    public void heartbeat() {
+        try {
+            if (!running.isEmpty()) {
+                jdbcTemplate.update("UPDATE payroll_jobs SET heartbeat_at = ? WHERE owner = ? AND status = ? AND id = ANY(?)",
+                        now(), instanceId, RUNNING, running.keySet().toArray(UUID[]::new));
+            }
+            adoptOrphans();
+        } catch (DataAccessException e) {
+            logger.error("Falha ao renovar o heartbeat dos fechamentos", e);
+        }
+    }
+
+    public PayrollJobDTO closeMonth(String month) {
+        YearMonth yearMonth = RequestParams.month(month);
+        if (!yearMonth.isBefore(YearMonth.now(clock))) {
+            throw new InvalidRequestException("Só é possível fechar meses já encerrados");
+        }
+
+        Claim claim = transactionTemplate.execute(status -> {
+            // Um disparo por vez para o mesmo mês (entre instâncias também)
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext(?))", Object.class, "payroll_" + yearMonth);
+
+            List<UUID> unfinished = jdbcTemplate.queryForList(
+                    "SELECT id FROM payroll_jobs WHERE month = ? AND status <> ? ORDER BY started_at DESC LIMIT 1",
+                    UUID.class, yearMonth.atDay(1), COMPLETED);
+            if (!unfinished.isEmpty()) {
+                // Com falha, sem dono ou com o dono parado: esta instância assume. Dono vivo: só acompanha
+                LocalDateTime now = now();
+                int taken = jdbcTemplate.update("UPDATE payroll_jobs SET status = ?, error = NULL, owner = ?, " +
+                                "heartbeat_at = ?, updated_at = ? WHERE id = ? " +
+                                "AND (status <> ? OR owner IS NULL OR owner = ? OR heartbeat_at IS NULL OR heartbeat_at < ?)",
+                        RUNNING, instanceId, now, now, unfinished.get(0), RUNNING, instanceId, now.minus(staleAfter));
+                return new Claim(unfinished.get(0), taken > 0);
+            }
+            return new Claim(createJob(yearMonth), true);
+        });
+
+        if (claim.owned()) {
+            submit(claim.jobId(), yearMonth);
+        }
+        return getJob(claim.jobId());
+    }
+
+    public PayrollJobDTO getJob(UUID jobId) {
+        List<PayrollJobDTO> jobs = jdbcTemplate.query("SELECT * FROM payroll_jobs WHERE id = ?", JOB_MAPPER, jobId);
+        if (jobs.isEmpty()) {
+            throw new DataNotFoundException("Fechamento não encontrado");
+        }
+        return jobs.get(0);
+    }
+
+    public List<PayrollJobDTO> listJobs(String month) {
+        return jdbcTemplate.query("SELECT * FROM payroll_jobs WHERE month = ? ORDER BY started_at DESC LIMIT 20",
+                JOB_MAPPER, RequestParams.month(month).atDay(1));
+    }
+
+    // Resultado do fechamento, um item por funcionário com o detalhamento por motivo
+    public List<TimesheetDTO> getTimesheets(String month) {
+        Map<UUID, TimesheetDTO> byEmployee = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                SELECT t.employee_id, e.name, t.reason_id, t.total_seconds, t.record_count
+                FROM monthly_timesheets t JOIN employees e ON e.id = t.employee_id
+                WHERE t.month = ?
+                ORDER BY e.name, t.employee_id, t.reason_id
+                """, rs -> {
+            UUID employeeId = rs.getObject("employee_id", UUID.class);
+            TimesheetDTO current = byEmployee.get(employeeId);
+            long seconds = rs.getLong("total_seconds");
+            int records = rs.getInt("record_count");
+            Map<String, Long> reasons = current != null ? current.secondsByReason() : new LinkedHashMap<>();
+            reasons.put(rs.getString("reason_id"), seconds);
+            byEmployee.put(employeeId, new TimesheetDTO(employeeId, rs.getString("name"),
+                    (current != null ? current.totalSeconds() : 0) + seconds,
+                    (current != null ? current.recordCount() : 0) + records,
+                    reasons));
+        }, RequestParams.month(month).atDay(1));
+        return new ArrayList<>(byEmployee.values());
+    }
+
+    // --- Execução ---
+    // Troca de dono atômica: com duas instâncias no mesmo UPDATE, a segunda já vê o heartbeat renovado
+    private void adoptOrphans() {
+        LocalDateTime now = now();
+        List<PayrollJobDTO> adopted = jdbcTemplate.query(
+                "UPDATE payroll_jobs SET owner = ?, heartbeat_at = ?, updated_at = ? " +
+                "WHERE status = ? AND (heartbeat_at IS NULL OR heartbeat_at < ?) RETURNING *",
+                JOB_MAPPER, instanceId, now, now, RUNNING, now.minus(staleAfter));
+        for (PayrollJobDTO job : adopted) {
+            logger.info("Retomando fechamento {} de {} ({}/{} lotes concluídos)",
+                    job.id(), job.month(), job.completedChunks(), job.totalChunks());
+            submit(job.id(), YearMonth.parse(job.month()));
+        }
+    }
+
+    private void submit(UUID jobId, YearMonth month) {
+        running.computeIfAbsent(jobId, id -> coordinator.submit(() -> run(id, month)));
+    }
+
+    private void run(UUID jobId, YearMonth month) {
+        try {
+            List<Chunk> pending = jdbcTemplate.query(
+                    "SELECT chunk_no, from_employee_id, to_employee_id FROM payroll_job_chunks " +
+                    "WHERE job_id = ? AND status = ? ORDER BY chunk_no",
+                    (rs, i) -> new Chunk(rs.getInt("chunk_no"),
+                            rs.getObject("from_employee_id", UUID.class),
+                            rs.getObject("to_employee_id", UUID.class)),
+                    jobId, PENDING);
+
+            List<Future<?>> futures = new ArrayList<>(pending.size());
+            for (Chunk chunk : pending) {
+                futures.add(workers.submit(() -> processChunk(jobId, month, chunk)));
+            }
+
+            // Espera todos: um lote com erro não interrompe os outros, que ficam salvos
+            String error = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    logger.error("Falha em lote do fechamento {}", jobId, e.getCause());
+                    if (error == null) error = e.getCause().getMessage();
+                }
+            }
+            finish(jobId, error);
+        } catch (InterruptedException e) {
+            // Desligamento: o job continua RUNNING e é retomado na próxima subida
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Falha no fechamento {}", jobId, e);
+            finish(jobId, e.getMessage());
+        } finally {
+            running.remove(jobId);
+        }
+    }
+
+    // Agregação e checkpoint na mesma transação: ou o lote fica inteiro gravado e DONE, ou nada muda
+    private void processChunk(UUID jobId, YearMonth month, Chunk chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<String> claimed = jdbcTemplate.queryForList(
+                    "SELECT status FROM payroll_job_chunks WHERE job_id = ? AND chunk_no = ? FOR UPDATE SKIP LOCKED",
+                    String.class, jobId, chunk.chunkNo());
+            if (claimed.isEmpty() || !PENDING.equals(claimed.get(0))) {
+                return; // outra instância está com o lote ou já o concluiu
+            }
+
+            LocalDate firstDay = month.atDay(1);
+            LocalDateTime computedAt = now();
+            List<Object> range = new ArrayList<>();
+            String rangeFilter = rangeFilter(chunk, range);
+
+            List<Object> deleteArgs = new ArrayList<>();
+            deleteArgs.add(firstDay);
+            deleteArgs.addAll(range);
+            jdbcTemplate.update("DELETE FROM monthly_timesheets WHERE month = ?" + rangeFilter, deleteArgs.toArray());
+
+            List<Object> insertArgs = new ArrayList<>();
+            insertArgs.add(firstDay);
+            insertArgs.add(computedAt);
+            insertArgs.add(firstDay.atStartOfDay());
+            insertArgs.add(month.plusMonths(1).atDay(1).atStartOfDay());
+            insertArgs.addAll(range);
+            int rows = jdbcTemplate.update(
+                    "INSERT INTO monthly_timesheets (month, employee_id, reason_id, total_seconds, record_count, computed_at) " +
+                    "SELECT ?, employee_id, COALESCE(reason_id, 'NONE'), SUM(duration_seconds), COUNT(*), ? " +
+                    "FROM work_records " +
+                    "WHERE checkin_time >= ? AND checkin_time < ? AND checkout_time IS NOT NULL AND duration_seconds IS NOT NULL" +
+                    rangeFilter +
+                    " GROUP BY employee_id, COALESCE(reason_id, 'NONE')",
+                    insertArgs.toArray());
+
+            jdbcTemplate.update("UPDATE payroll_job_chunks SET status = ?, rows_written = ?, completed_at = ? " +
+                    "WHERE job_id = ? AND chunk_no = ?", DONE, rows, computedAt, jobId, chunk.chunkNo());
+            jdbcTemplate.update("UPDATE payroll_jobs SET completed_chunks = completed_chunks + 1, " +
+                    "rows_written = rows_written + ?, updated_at = ? WHERE id = ?", rows, computedAt, jobId);
+        });
+    }
+
+    // Só o dono conclui ou marca falha (a execução pode ter sido assumida por outra instância
+    // enquanto esta estava parada). Lote pendente que sobrou (travado por um dono anterior ainda
+    // desfazendo a transação) deixa a execução RUNNING: sem heartbeat, ela é assumida de novo
+    private void finish(UUID jobId, String error) {
+        LocalDateTime now = now();
+        if (error != null) {
+            jdbcTemplate.update("UPDATE payroll_jobs SET status = ?, error = ?, updated_at = ? " +
+                    "WHERE id = ? AND status = ? AND owner = ?", FAILED, error, now, jobId, RUNNING, instanceId);
+            return;
+        }
+        int completed = jdbcTemplate.update(
+                "UPDATE payroll_jobs SET status = ?, updated_at = ?, finished_at = ? WHERE id = ? AND status = ? AND owner = ? " +
+                "AND NOT EXISTS (SELECT 1 FROM payroll_job_chunks WHERE job_id = ? AND status = ?)",
+                COMPLETED, now, now, jobId, RUNNING, instanceId, jobId, PENDING);
+        if (completed > 0) {
+            logger.info("Fechamento {} concluído", jobId);
+        }
+    }
+
+    // --- HELPERS ---
+    private UUID createJob(YearMonth month) {
+        UUID jobId = UUID.randomUUID();
+        List<UUID> employeeIds = jdbcTemplate.queryForList("SELECT id FROM employees ORDER BY id", UUID.class);
+
+        // Limites tirados da ordem do próprio banco: o lote k vai de ids[k * chunkSize] (inclusive)
+        // até o início do próximo; o primeiro e o último ficam abertos
+        List<Object[]> chunks = new ArrayList<>();
+        int chunkCount = Math.max(1, (employeeIds.size() + chunkSize - 1) / chunkSize);
+        for (int k = 0; k < chunkCount; k++) {
+            UUID from = k == 0 ? null : employeeIds.get(k * chunkSize);
+            UUID to = k == chunkCount - 1 ? null : employeeIds.get((k + 1) * chunkSize);
+            chunks.add(new Object[]{jobId, k, from, to, PENDING});
+        }
+
+        LocalDateTime now = now();
+        jdbcTemplate.update("INSERT INTO payroll_jobs (id, month, status, total_chunks, started_at, updated_at, owner, heartbeat_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", jobId, month.atDay(1), RUNNING, chunkCount, now, now, instanceId, now);
+        jdbcTemplate.batchUpdate("INSERT INTO payroll_job_chunks (job_id, chunk_no, from_employee_id, to_employee_id, status) " +
+                "VALUES (?, ?, ?, ?, ?)", chunks);
+
+        logger.info("Fechamento {} de {} criado: {} funcionários em {} lotes", jobId, month, employeeIds.size(), chunkCount);
+        return jobId;
+    }
+
+    private static String rangeFilter(Chunk chunk, List<Object> args) {
+        StringBuilder filter = new StringBuilder();
+        if (chunk.fromEmployeeId() != null) {
+            filter.append(" AND employee_id >= ?");
+            args.add(chunk.fromEmployeeId());
+        }
+        if (chunk.toEmployeeId() != null) {
+            filter.append(" AND employee_id < ?");
+            args.add(chunk.toEmployeeId());
+        }
+        return filter.toString();
+    }
+
+    private static ThreadPoolTaskExecutor executor(String threadNamePrefix, int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setDaemon(true);
+        // No desligamento os lotes são interrompidos, não aguardados
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private static final RowMapper<PayrollJobDTO> JOB_MAPPER = (rs, i) -> {
+        int total = rs.getInt("total_chunks");
+        int completed = rs.getInt("completed_chunks");
+        Timestamp finishedAt = rs.getTimestamp("finished_at");
+        return new PayrollJobDTO(
+                rs.getObject("id", UUID.class),
+                YearMonth.from(rs.getDate("month").toLocalDate()).toString(),
+                rs.getString("status"),
+                total,
+                completed,
+                rs.getLong("rows_written"),
+                total > 0 ? completed * 100 / total : 100,
+                rs.getString("error"),
+                rs.getTimestamp("started_at").toLocalDateTime(),
+                finishedAt != null ? finishedAt.toLocalDateTime() : null);
+    };
+
+    @PreDestroy
+    public void shutdown() {
+        // Lotes em andamento são desfeitos e ficam PENDING; sem dono, outra instância (ou a
+        // próxima subida) retoma sem esperar o heartbeat vencer
+        boolean hadJobs = !running.isEmpty();
+        coordinator.shutdown();
+        workers.shutdown();
+        if (!hadJobs) return;
+        try {
+            jdbcTemplate.update("UPDATE payroll_jobs SET owner = NULL, heartbeat_at = NULL WHERE owner = ? AND status = ?",
+                    instanceId, RUNNING);
+        } catch (DataAccessException e) {
+            logger.warn("Falha ao liberar os fechamentos desta instância", e);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.dto.PunchBatchResponseDTO;
+import br.com.moura.time_tracker.dto.PunchEventDTO;
+import br.com.moura.time_tracker.dto.PunchResultDTO;
+import br.com.moura.time_tracker.enums.PunchType;
+import br.com.moura.time_tracker.enums.WorkReason;
+import br.com.moura.time_tracker.event.EmployeeStatusChangedEvent;
+import br.com.moura.time_tracker.exception.DataNotFoundException;
+import br.com.moura.time_tracker.exception.InvalidRequestException;
+import br.com.moura.time_tracker.exception.MissingDetailsForOtherReasonException;
+import br.com.moura.time_tracker.exception.MultipleCheckInWithoutCheckOutException;
+import br.com.moura.time_tracker.model.EmployeeCurrentStatus;
+import br.com.moura.time_tracker.model.WorkRecord;
+import br.com.moura.time_tracker.repository.EmployeeCurrentStatusRepository;
+import br.com.moura.time_tracker.repository.EmployeeDailyTotalRepository;
+import br.com.moura.time_tracker.repository.EmployeeRepository;
+import br.com.moura.time_tracker.repository.WorkRecordRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Ingestão em lote de batidas (terminais de crachá / quiosques offline).
+ * Valida todas as batidas contra o estado de turno aberto em memória e grava
+ * tudo em uma única transação usando o batching JDBC do Hibernate.
+ */
+@Service
+@RequiredArgsConstructor
+public class PunchBatchService {
+
+    private final WorkRecordRepository workRecordRepository;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeCurrentStatusRepository employeeCurrentStatusRepository;
+    private final EmployeeDailyTotalRepository employeeDailyTotalRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final Clock clock;
+
+    // Resultado de uma batida: record preenchido se aceita, error se rejeitada
+    public record PunchOutcome(int index, PunchEventDTO event, WorkRecord record, RuntimeException error) {
+        public boolean accepted() {
+            return error == null;
+        }
+    }
+
+    private record DailyKey(UUID employeeId, LocalDate workDate, String reasonId) {}
+
+    @Transactional
+    public PunchBatchResponseDTO ingestBatch(List<PunchEventDTO> events) {
+        List<PunchOutcome> outcomes = ingest(events);
+
+        List<PunchResultDTO> results = new ArrayList<>(outcomes.size());
+        int accepted = 0;
+        for (PunchOutcome outcome : outcomes) {
+            if (outcome.accepted()) accepted++;
+            results.add(PunchResultDTO.builder()
+                    .index(outcome.index())
+                    .clientEventId(outcome.event().getClientEventId())
+                    .employeeId(outcome.event().getEmployeeId())
+                    .status(outcome.accepted() ? "accepted" : "rejected")
+                    .message(outcome.accepted() ? null : outcome.error().getMessage())
+                    .recordId(outcome.accepted() ? outcome.record().getId() : null)
+                    .build());
+        }
+
+        return PunchBatchResponseDTO.builder()
+                .accepted(accepted)
+                .rejected(outcomes.size() - accepted)
+                .results(results)
+                .build();
+    }
+
+    @Transactional
+    public List<PunchOutcome> ingest(List<PunchEventDTO> events) {
+        Set<UUID> employeeIds = new HashSet<>();
+        for (PunchEventDTO event : events) employeeIds.add(event.getEmployeeId());
+
+        // Trava status e funcionários antes de ler os turnos abertos: check-ins síncronos
+        // dessas pessoas esperam o commit do lote (ver WorkRecordRepository.insertOpenShift)
+        Map<UUID, LocalDateTime> lastCheckIns = new HashMap<>();
+        for (EmployeeCurrentStatus status : employeeCurrentStatusRepository.lockByEmployeeIds(employeeIds)) {
+            lastCheckIns.put(status.getEmployeeId(), status.getCheckInTime());
+        }
+        Set<UUID> knownEmployees = new HashSet<>(employeeRepository.lockExistingIds(employeeIds));
+
+        Map<UUID, WorkRecord> openShifts = new HashMap<>();
+        for (WorkRecord open : workRecordRepository.findByEmployeeIdInAndCheckOutTimeIsNull(employeeIds)) {
+            openShifts.put(open.getEmployee().getId(), open);
+            lastCheckIns.merge(open.getEmployee().getId(), open.getCheckInTime(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+
+        // Cada funcionário é processado em ordem cronológica, independente da ordem de envio
+        Integer[] order = new Integer[events.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator
+                .comparing((Integer i) -> events.get(i).getEmployeeId())
+                .thenComparing(i -> events.get(i).getTimestamp()));
+
+        PunchOutcome[] outcomes = new PunchOutcome[events.size()];
+        List<WorkRecord> newRecords = new ArrayList<>();
+        Map<UUID, WorkRecord> lastTouched = new LinkedHashMap<>();
+        Map<DailyKey, long[]> dailyTotals = new HashMap<>();
+        LocalDateTime latestAllowed = LocalDateTime.now(clock).plusMinutes(5);
+
+        for (int index : order) {
+            PunchEventDTO event = events.get(index);
+            UUID employeeId = event.getEmployeeId();
+            try {
+                if (!knownEmployees.contains(employeeId)) {
+                    throw new DataNotFoundException("Funcionário não encontrado");
+                }
+                if (event.getTimestamp().isAfter(latestAllowed)) {
+                    throw new InvalidRequestException("Horário da batida está no futuro");
+                }
+
+                WorkRecord record = switch (PunchType.fromCode(event.getType())) {
+                    case CHECK_IN -> applyCheckIn(event, openShifts, lastCheckIns, newRecords);
+                    case CHECK_OUT -> applyCheckOut(event, openShifts, dailyTotals);
+                };
+
+                lastTouched.put(employeeId, record);
+                outcomes[index] = new PunchOutcome(index, event, record, null);
+            } catch (DataNotFoundException | MultipleCheckInWithoutCheckOutException
+                     | MissingDetailsForOtherReasonException | InvalidRequestException e) {
+                outcomes[index] = new PunchOutcome(index, event, null, e);
+            }
+        }
+
+        // Fechamentos de turnos já existentes vão primeiro, depois os novos registros
+        entityManager.flush();
+        workRecordRepository.saveAll(newRecords);
+        entityManager.flush();
+
+        lastTouched.forEach((employeeId, record) -> {
+            if (record.getCheckOutTime() == null) {
+                employeeCurrentStatusRepository.upsertOpen(employeeId, record.getId(), record.getCheckInTime());
+            } else {
+                employeeCurrentStatusRepository.upsertClosed(employeeId, record.getId(), record.getCheckInTime(),
+                        record.getCheckOutTime(), record.getDurationSeconds());
+            }
+            eventPublisher.publishEvent(new EmployeeStatusChangedEvent(employeeId));
+        });
+
+        dailyTotals.forEach((key, total) -> employeeDailyTotalRepository.addDuration(
+                key.employeeId(), key.workDate(), key.reasonId(), total[0], (int) total[1]));
+
+        return Arrays.asList(outcomes);
+    }
+
+    private WorkRecord applyCheckIn(PunchEventDTO event, Map<UUID, WorkRecord> openShifts,
+                                    Map<UUID, LocalDateTime> lastCheckIns, List<WorkRecord> newRecords) {
+        if (openShifts.containsKey(event.getEmployeeId())) {
+            throw new MultipleCheckInWithoutCheckOutException("Não é permitido dois check-ins sem check-out");
+        }
+        // O status sempre reflete o turno mais recente; um check-in retroativo deixaria
+        // um turno aberto que o status (e a trava do check-in) não enxergam.
+        LocalDateTime lastCheckIn = lastCheckIns.get(event.getEmployeeId());
+        if (lastCheckIn != null && event.getTimestamp().isBefore(lastCheckIn)) {
+            throw new InvalidRequestException("Check-in anterior ao último turno registrado");
+        }
+
+        WorkRecord record = WorkRecord.builder()
+                .employee(employeeRepository.getReferenceById(event.getEmployeeId()))
+                .checkInTime(event.getTimestamp())
+                .build();
+
+        openShifts.put(event.getEmployeeId(), record);
+        lastCheckIns.put(event.getEmployeeId(), event.getTimestamp());
+        newRecords.add(record);
+        return record;
+    }
+
+    private WorkRecord applyCheckOut(PunchEventDTO event, Map<UUID, WorkRecord> openShifts, Map<DailyKey, long[]> dailyTotals) {
+        WorkRecord record = openShifts.get(event.getEmployeeId());
+        if (record == null) {
+            throw new DataNotFoundException("Não há turno aberto para finalizar!");
+        }
+
+        WorkReason reason = WorkReason.fromCode(event.getReason_id());
+        if (reason == WorkReason.OTHER && (event.getDetails() == null || event.getDetails().trim().isEmpty())) {
+            throw new MissingDetailsForOtherReasonException("Para o motivo 'Outros', o campo 'details' é obrigatório.");
+        }
+        if (event.getTimestamp().isBefore(record.getCheckInTime())) {
+            throw new InvalidRequestException("Check-out anterior ao check-in do turno aberto");
+        }
+
+        long seconds = Duration.between(record.getCheckInTime(), event.getTimestamp()).getSeconds();
+        record.setCheckOutTime(event.getTimestamp());
+        record.setReason(reason);
+        record.setDetails(event.getDetails());
+        record.setDurationSeconds(seconds);
+
+        openShifts.remove(event.getEmployeeId());
+
+        long[] total = dailyTotals.computeIfAbsent(
+                new DailyKey(event.getEmployeeId(), record.getCheckInTime().toLocalDate(), reason.name()),
+                k -> new long[2]);
+        total[0] += seconds;
+        total[1]++;
+        return record;
+    }
+}
@@ -0,0 +1,164 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.exception.InvalidRequestException;
+import br.com.moura.time_tracker.repository.WorkRecordRepository;
+import br.com.moura.time_tracker.repository.projection.ExportRecordView;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de registros em streaming: cada linha é escrita direto na resposta
+ * e as linhas são projeções (não entram no persistence context), então o consumo
+ * de memória não depende do tamanho do intervalo.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportExportService {
+
+    private static final int FLUSH_EVERY = 500;
+    private static final String CSV_HEADER =
+            "record_id,employee_id,employee_name,date,checkin_time,checkout_time,duration_seconds,reason_id,reason_label,details";
+
+    private final WorkRecordRepository workRecordRepository;
+    private final ObjectMapper objectMapper;
+
+    @Getter
+    public enum Format {
+        CSV("csv", "text/csv"),
+        NDJSON("ndjson", "application/x-ndjson");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public static Format fromCode(String code) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(code)) {
+                    return format;
+                }
+            }
+            throw new InvalidRequestException("Formato inválido: " + code);
+        }
+    }
+
+    public record ExportRow(
+            UUID recordId,
+            UUID employeeId,
+            String employeeName,
+            String date,
+            String checkinTime,
+            String checkoutTime,
+            Long durationSeconds,
+            String reasonId,
+            String reasonLabel,
+            String details
+    ) {}
+
+    @Transactional(readOnly = true)
+    public void export(UUID employeeId, LocalDate startDate, LocalDate endDate, Format format, OutputStream out) throws IOException {
+        LocalDateTime start = startDate.atStartOfDay();
+        LocalDateTime end = endDate.plusDays(1).atStartOfDay();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<ExportRecordView> records = employeeId != null
+                ? workRecordRepository.streamReportDataByEmployee(employeeId, start, end)
+                : workRecordRepository.streamReportData(start, end)) {
+
+            int[] written = {0};
+            records.forEach(record -> {
+                try {
+                    ExportRow row = toRow(record);
+                    if (format == Format.CSV) {
+                        writeCsv(writer, row);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+
+                    if (++written[0] % FLUSH_EVERY == 0) writer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+    }
+
+    private ExportRow toRow(ExportRecordView r) {
+        return new ExportRow(
+                r.id(),
+                r.employeeId(),
+                r.employeeName(),
+                r.checkInTime().toLocalDate().toString(),
+                r.checkInTime().toLocalTime().toString(),
+                r.checkOutTime() != null ? r.checkOutTime().toLocalTime().toString() : null,
+                r.durationSeconds(),
+                r.reason() != null ? r.reason().getCode() : null,
+                r.reason() != null ? r.reason().getLabel() : "Trabalho",
+                r.details()
+        );
+    }
+
+    private void writeCsv(Writer writer, ExportRow row) throws IOException {
+        writer.write(csv(row.recordId()));
+        writer.write(',');
+        writer.write(csv(row.employeeId()));
+        writer.write(',');
+        writer.write(csv(row.employeeName()));
+        writer.write(',');
+        writer.write(csv(row.date()));
+        writer.write(',');
+        writer.write(csv(row.checkinTime()));
+        writer.write(',');
+        writer.write(csv(row.checkoutTime()));
+        writer.write(',');
+        writer.write(csv(row.durationSeconds()));
+        writer.write(',');
+        writer.write(csv(row.reasonId()));
+        writer.write(',');
+        writer.write(csv(row.reasonLabel()));
+        writer.write(',');
+        writer.write(csv(row.details()));
+        writer.write('\n');
+    }
+
+    // Células iniciadas por = + - @ (ou tab/CR) viram fórmula no Excel/Sheets: o apóstrofo as mantém como texto
+    private static String csv(Object value) {
+        if (value == null) return "";
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
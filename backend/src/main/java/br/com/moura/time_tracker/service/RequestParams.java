@@ -0,0 +1,42 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.exception.InvalidRequestException;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Conversão dos parâmetros de data recebidos como texto. A mensagem de erro informa
+ * o formato que aquele parâmetro espera (dia, mês ou horário), e não um formato genérico.
+ */
+public final class RequestParams {
+
+    private RequestParams() {
+    }
+
+    public static LocalDate date(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Data inválida: " + value + " (formato esperado: yyyy-MM-dd)");
+        }
+    }
+
+    public static YearMonth month(String value) {
+        try {
+            return YearMonth.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Mês inválido: " + value + " (formato esperado: yyyy-MM)");
+        }
+    }
+
+    public static LocalTime time(String value) {
+        try {
+            return LocalTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Horário inválido: " + value + " (formato esperado: HH:mm)");
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.model.EmployeeSchedule;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Escalas de todos os funcionários compiladas em arrays de minutos do dia (imutável).
+ *
+ * Cada funcionário ocupa um "slot" com 7 células por semana do ciclo de revezamento;
+ * a célula de uma data é slot + (semana do ciclo * 7) + dia da semana. Entrada e saída
+ * ficam em minutos a partir da meia-noite do dia do turno (a saída passa de 1440 quando
+ * o turno vira o dia) e a jornada esperada já vem com o intervalo descontado.
+ *
+ * As consultas por slot/epochDay não alocam; a por UUID faz só o lookup no mapa.
+ * Funcionários sem escala cadastrada caem no slot padrão (seg-sex, 08:00-17:00).
+ */
+public final class ScheduleIndex {
+
+    public static final int NO_SHIFT = -1;
+    public static final int DEFAULT_SLOT = 0;
+
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int BREAK_REQUIRED_ABOVE_MINUTES = 6 * 60;
+    private static final LocalDate DEFAULT_ANCHOR = LocalDate.of(2024, 1, 1); // segunda-feira
+
+    private final Map<UUID, Integer> slots;
+    private final int[] firstCell;
+    private final int[] rotationWeeks;
+    private final long[] anchorEpochDay;
+    private final short[] startMinute;
+    private final short[] endMinute;
+    private final short[] expectedMinutes;
+
+    private ScheduleIndex(Map<UUID, Integer> slots, int[] firstCell, int[] rotationWeeks, long[] anchorEpochDay,
+                          short[] startMinute, short[] endMinute, short[] expectedMinutes) {
+        this.slots = slots;
+        this.firstCell = firstCell;
+        this.rotationWeeks = rotationWeeks;
+        this.anchorEpochDay = anchorEpochDay;
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+        this.expectedMinutes = expectedMinutes;
+    }
+
+    /**
+     * @param schedules semanas ordenadas por funcionário e semana do ciclo
+     * @param breakMinutes intervalo descontado das jornadas acima de 6h (CLT art. 71)
+     */
+    public static ScheduleIndex compile(List<EmployeeSchedule> schedules, int breakMinutes) {
+        // Agrupa as semanas de cada funcionário (a lista já vem ordenada)
+        List<List<EmployeeSchedule>> groups = new ArrayList<>();
+        Map<UUID, Integer> slots = new HashMap<>();
+        for (EmployeeSchedule week : schedules) {
+            Integer slot = slots.get(week.getEmployeeId());
+            if (slot == null) {
+                slot = groups.size() + 1; // slot 0 é o padrão
+                slots.put(week.getEmployeeId(), slot);
+                groups.add(new ArrayList<>());
+            }
+            groups.get(slot - 1).add(week);
+        }
+
+        int slotCount = groups.size() + 1;
+        int[] firstCell = new int[slotCount];
+        int[] rotationWeeks = new int[slotCount];
+        long[] anchorEpochDay = new long[slotCount];
+
+        int cells = DAYS_PER_WEEK;
+        rotationWeeks[DEFAULT_SLOT] = 1;
+        anchorEpochDay[DEFAULT_SLOT] = DEFAULT_ANCHOR.toEpochDay();
+        for (int slot = 1; slot < slotCount; slot++) {
+            List<EmployeeSchedule> weeks = groups.get(slot - 1);
+            int weekCount = weeks.get(weeks.size() - 1).getRotationWeek() + 1;
+            firstCell[slot] = cells;
+            rotationWeeks[slot] = weekCount;
+            anchorEpochDay[slot] = weeks.get(0).getRotationAnchor().toEpochDay();
+            cells += weekCount * DAYS_PER_WEEK;
+        }
+
+        short[] startMinute = new short[cells];
+        short[] endMinute = new short[cells];
+        short[] expectedMinutes = new short[cells];
+        Arrays.fill(startMinute, (short) NO_SHIFT);
+        Arrays.fill(endMinute, (short) NO_SHIFT);
+
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY) {
+                put(startMinute, endMinute, expectedMinutes, day.ordinal(),
+                        LocalTime.of(8, 0), LocalTime.of(17, 0), breakMinutes);
+            }
+        }
+        for (int slot = 1; slot < slotCount; slot++) {
+            for (EmployeeSchedule week : groups.get(slot - 1)) {
+                int weekCell = firstCell[slot] + week.getRotationWeek() * DAYS_PER_WEEK;
+                for (DayOfWeek day : DayOfWeek.values()) {
+                    LocalTime start = week.startOf(day);
+                    LocalTime end = week.endOf(day);
+                    if (start != null && end != null) {
+                        put(startMinute, endMinute, expectedMinutes, weekCell + day.ordinal(), start, end, breakMinutes);
+                    }
+                }
+            }
+        }
+
+        return new ScheduleIndex(Map.copyOf(slots), firstCell, rotationWeeks, anchorEpochDay,
+                startMinute, endMinute, expectedMinutes);
+    }
+
+    private static void put(short[] startMinute, short[] endMinute, short[] expectedMinutes, int cell,
+                            LocalTime start, LocalTime end, int breakMinutes) {
+        int from = start.getHour() * 60 + start.getMinute();
+        int to = end.getHour() * 60 + end.getMinute();
+        if (to <= from) to += MINUTES_PER_DAY;
+
+        int span = to - from;
+        startMinute[cell] = (short) from;
+        endMinute[cell] = (short) to;
+        expectedMinutes[cell] = (short) (span > BREAK_REQUIRED_ABOVE_MINUTES ? span - breakMinutes : span);
+    }
+
+    public int slotOf(UUID employeeId) {
+        Integer slot = slots.get(employeeId);
+        return slot != null ? slot : DEFAULT_SLOT;
+    }
+
+    // Segunda-feira = 0 (1970-01-01, epochDay 0, foi uma quinta)
+    public int cell(int slot, long epochDay) {
+        long week = Math.floorMod(Math.floorDiv(epochDay - anchorEpochDay[slot], DAYS_PER_WEEK), rotationWeeks[slot]);
+        return firstCell[slot] + (int) week * DAYS_PER_WEEK + (int) Math.floorMod(epochDay + 3, DAYS_PER_WEEK);
+    }
+
+    // Acesso direto a uma célula já calculada (laços que leem vários campos do mesmo dia)
+    public int startMinuteAt(int cell) {
+        return startMinute[cell];
+    }
+
+    public int endMinuteAt(int cell) {
+        return endMinute[cell];
+    }
+
+    public int expectedMinutesAt(int cell) {
+        return expectedMinutes[cell];
+    }
+
+    public boolean isWorkday(int slot, long epochDay) {
+        return startMinute[cell(slot, epochDay)] != NO_SHIFT;
+    }
+
+    /** Minuto do dia da entrada prevista, ou {@link #NO_SHIFT} em folga. */
+    public int startMinute(int slot, long epochDay) {
+        return startMinute[cell(slot, epochDay)];
+    }
+
+    /** Minuto da saída prevista a partir da meia-noite do dia do turno, ou {@link #NO_SHIFT} em folga. */
+    public int endMinute(int slot, long epochDay) {
+        return endMinute[cell(slot, epochDay)];
+    }
+
+    public int expectedMinutes(int slot, long epochDay) {
+        return expectedMinutes[cell(slot, epochDay)];
+    }
+
+    public int expectedMinutes(UUID employeeId, LocalDate date) {
+        return expectedMinutes(slotOf(employeeId), date.toEpochDay());
+    }
+
+    /** Jornada esperada somada no intervalo [from, to], inclusive. */
+    public long expectedMinutes(int slot, long fromEpochDay, long toEpochDay) {
+        long total = 0;
+        for (long day = fromEpochDay; day <= toEpochDay; day++) {
+            total += expectedMinutes[cell(slot, day)];
+        }
+        return total;
+    }
+
+    /** Funcionários com escala própria (sem contar o slot padrão). */
+    public int size() {
+        return slots.size();
+    }
+}
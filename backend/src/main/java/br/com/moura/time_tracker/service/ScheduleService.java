@@ -0,0 +1,295 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.dto.BulkScheduleRequestDTO;
+import br.com.moura.time_tracker.dto.BulkScheduleResponseDTO;
+import br.com.moura.time_tracker.dto.BulkScheduleResultDTO;
+import br.com.moura.time_tracker.dto.WeeklyScheduleDto;
+import br.com.moura.time_tracker.exception.DataNotFoundException;
+import br.com.moura.time_tracker.exception.InvalidRequestException;
+import br.com.moura.time_tracker.model.Employee;
+import br.com.moura.time_tracker.model.EmployeeSchedule;
+import br.com.moura.time_tracker.repository.EmployeeRepository;
+import br.com.moura.time_tracker.repository.EmployeeScheduleRepository;
+import br.com.moura.time_tracker.security.PrincipalResolver;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Escalas semanais (employee_schedules) e o ScheduleIndex compilado a partir delas.
+ *
+ * O índice é imutável e trocado de uma vez após cada alteração confirmada; leitores
+ * nunca bloqueiam. Com várias instâncias, cada uma recarrega também periodicamente
+ * (work.schedules.refresh-interval) para pegar alterações feitas nas outras.
+ */
+@Service
+public class ScheduleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleService.class);
+    private static final int BULK_SEARCH_MIN_LENGTH = 3;
+
+    private final EmployeeScheduleRepository scheduleRepository;
+    private final EmployeeRepository employeeRepository;
+    private final PrincipalResolver principalResolver;
+    private final Clock clock;
+    private final int breakMinutes;
+
+    // ReentrantLock e não synchronized: a recarga faz I/O e não deve prender a carrier thread
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile ScheduleIndex index;
+
+    public ScheduleService(EmployeeScheduleRepository scheduleRepository,
+                           EmployeeRepository employeeRepository,
+                           PrincipalResolver principalResolver,
+                           Clock clock,
+                           @Value("${work.schedules.break-minutes:60}") int breakMinutes) {
+        this.scheduleRepository = scheduleRepository;
+        this.employeeRepository = employeeRepository;
+        this.principalResolver = principalResolver;
+        this.clock = clock;
+        this.breakMinutes = breakMinutes;
+    }
+
+    public ScheduleIndex index() {
+        ScheduleIndex current = index;
+        return current != null ? current : reload();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${work.schedules.refresh-interval:5m}", initialDelayString = "${work.schedules.refresh-interval:5m}")
+    public void refresh() {
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            logger.error("Falha ao recarregar o índice de escalas", e);
+        }
+    }
+
+    public ScheduleIndex reload() {
+        reloadLock.lock();
+        try {
+            ScheduleIndex compiled = ScheduleIndex.compile(scheduleRepository.findAllOrdered(), breakMinutes);
+            index = compiled;
+            logger.debug("Índice de escalas recarregado ({} funcionários)", compiled.size());
+            return compiled;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    public WeeklyScheduleDto getWeeklySchedule(UUID employeeId) {
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new DataNotFoundException("Funcionário não encontrado");
+        }
+
+        List<EmployeeSchedule> weeks = scheduleRepository.findByEmployeeIdOrderByRotationWeek(employeeId);
+        if (weeks.isEmpty()) {
+            return defaultSchedule();
+        }
+        return new WeeklyScheduleDto(weeks.get(0).getRotationAnchor(), weeks.stream().map(this::toWeek).toList());
+    }
+
+    @Transactional
+    public void updateWeeklySchedule(UUID employeeId, WeeklyScheduleDto schedule) {
+        List<EmployeeSchedule> rows = toEntities(employeeId, anchorOf(schedule), schedule);
+        // O delete limpa o persistence context: o funcionário é lido depois dele para continuar
+        // gerenciado (sem SELECT extra do merge no save)
+        scheduleRepository.deleteByEmployeeId(employeeId);
+        Employee employee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new DataNotFoundException("Funcionário não encontrado"));
+        scheduleRepository.saveAll(rows);
+
+        DayOfWeek firstDay = firstWorkday(rows.get(0));
+        employee.setWorkStartTime(firstDay != null ? rows.get(0).startOf(firstDay).toString() : null);
+        employee.setWorkEndTime(firstDay != null ? rows.get(0).endOf(firstDay).toString() : null);
+        employeeRepository.save(employee);
+
+        principalResolver.evict(employeeId);
+        reloadAfterCommit();
+    }
+
+    // Escala única (legado): só substitui escalas que já são um horário fixo de segunda a sexta.
+    // Folgas diferentes, fins de semana ou revezamento seriam perdidos; esses vão por updateWeeklySchedule
+    @Transactional
+    public void updateWeekdaySchedule(UUID employeeId, LocalTime start, LocalTime end) {
+        List<EmployeeSchedule> weeks = scheduleRepository.findByEmployeeIdOrderByRotationWeek(employeeId);
+        if (!weeks.isEmpty() && !isWeekdayPattern(weeks)) {
+            throw new InvalidRequestException(
+                    "Funcionário com escala por dia ou revezamento: altere pela escala semanal (weekly-schedule)");
+        }
+        updateWeeklySchedule(employeeId, weekdays(start, end));
+    }
+
+    // Troca de turno de uma linha inteira: uma única instrução para todos os funcionários
+    @Transactional
+    public BulkScheduleResponseDTO assignInBulk(BulkScheduleRequestDTO request) {
+        boolean byIds = request.getEmployeeIds() != null && !request.getEmployeeIds().isEmpty();
+        boolean bySearch = request.getSearch() != null && !request.getSearch().isBlank();
+        if (byIds == bySearch) {
+            throw new InvalidRequestException("Informe employeeIds ou search (apenas um dos dois)");
+        }
+        // Termo curto demais casaria com boa parte do quadro (ex.: "a")
+        if (bySearch && request.getSearch().trim().length() < BULK_SEARCH_MIN_LENGTH) {
+            throw new InvalidRequestException("search deve ter pelo menos " + BULK_SEARCH_MIN_LENGTH + " caracteres");
+        }
+
+        WeeklyScheduleDto schedule = request.getSchedule();
+        LocalDate anchor = anchorOf(schedule);
+        List<EmployeeSchedule> weeks = toEntities(null, anchor, schedule);
+        DayOfWeek firstDay = firstWorkday(weeks.get(0));
+
+        Set<UUID> requested = byIds ? new LinkedHashSet<>(request.getEmployeeIds()) : null;
+        List<UUID> updated = employeeRepository.assignSchedule(requested, bySearch ? request.getSearch() : null, anchor, weeks,
+                firstDay != null ? weeks.get(0).startOf(firstDay).toString() : null,
+                firstDay != null ? weeks.get(0).endOf(firstDay).toString() : null,
+                LocalDateTime.now(clock));
+
+        Set<UUID> updatedIds = new HashSet<>(updated);
+        List<BulkScheduleResultDTO> results = new ArrayList<>(byIds ? requested.size() : updated.size());
+        for (UUID id : byIds ? requested : updated) {
+            results.add(BulkScheduleResultDTO.builder()
+                    .employeeId(id)
+                    .status(updatedIds.contains(id) ? "updated" : "not_found")
+                    .build());
+        }
+
+        principalResolver.evictAll(updatedIds);
+        reloadAfterCommit();
+
+        return BulkScheduleResponseDTO.builder()
+                .updated(updatedIds.size())
+                .notFound(results.size() - updatedIds.size())
+                .results(results)
+                .build();
+    }
+
+    // Escala única (legado): mesmo horário de segunda a sexta, sem revezamento
+    public static WeeklyScheduleDto weekdays(LocalTime start, LocalTime end) {
+        WeeklyScheduleDto.Shift shift = new WeeklyScheduleDto.Shift(start, end);
+        return new WeeklyScheduleDto(null, List.of(new WeeklyScheduleDto.Week(shift, shift, shift, shift, shift, null, null)));
+    }
+
+    // --- HELPERS ---
+    // Mesmo padrão do PrincipalResolver.evict: dentro de transação, só depois do commit
+    private void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    // A semana 0 começa na segunda-feira de rotationStart (ou da semana atual)
+    private LocalDate anchorOf(WeeklyScheduleDto schedule) {
+        LocalDate start = schedule.getRotationStart() != null ? schedule.getRotationStart() : LocalDate.now(clock);
+        return start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private List<EmployeeSchedule> toEntities(UUID employeeId, LocalDate anchor, WeeklyScheduleDto schedule) {
+        List<EmployeeSchedule> rows = new ArrayList<>(schedule.getWeeks().size());
+        for (int week = 0; week < schedule.getWeeks().size(); week++) {
+            rows.add(toEntity(employeeId, (short) week, anchor, schedule.getWeeks().get(week)));
+        }
+        return rows;
+    }
+
+    // Resumo exibido no diretório: primeiro dia com expediente da semana 0
+    private static DayOfWeek firstWorkday(EmployeeSchedule week) {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (week.startOf(day) != null) return day;
+        }
+        return null;
+    }
+
+    // Uma semana só, mesmo horário de segunda a sexta e sem expediente no fim de semana
+    private static boolean isWeekdayPattern(List<EmployeeSchedule> weeks) {
+        if (weeks.size() != 1) return false;
+        EmployeeSchedule week = weeks.get(0);
+        LocalTime start = week.startOf(DayOfWeek.MONDAY);
+        LocalTime end = week.endOf(DayOfWeek.MONDAY);
+        if (start == null) return false;
+        for (DayOfWeek day : DayOfWeek.values()) {
+            boolean weekend = day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+            if (weekend ? week.startOf(day) != null
+                    : !start.equals(week.startOf(day)) || !end.equals(week.endOf(day))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private WeeklyScheduleDto defaultSchedule() {
+        WeeklyScheduleDto schedule = weekdays(LocalTime.of(8, 0), LocalTime.of(17, 0));
+        schedule.setRotationStart(LocalDate.now(clock).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+        return schedule;
+    }
+
+    private WeeklyScheduleDto.Week toWeek(EmployeeSchedule row) {
+        return new WeeklyScheduleDto.Week(
+                toShift(row, DayOfWeek.MONDAY),
+                toShift(row, DayOfWeek.TUESDAY),
+                toShift(row, DayOfWeek.WEDNESDAY),
+                toShift(row, DayOfWeek.THURSDAY),
+                toShift(row, DayOfWeek.FRIDAY),
+                toShift(row, DayOfWeek.SATURDAY),
+                toShift(row, DayOfWeek.SUNDAY));
+    }
+
+    private WeeklyScheduleDto.Shift toShift(EmployeeSchedule row, DayOfWeek day) {
+        LocalTime start = row.startOf(day);
+        return start != null ? new WeeklyScheduleDto.Shift(start, row.endOf(day)) : null;
+    }
+
+    private EmployeeSchedule toEntity(UUID employeeId, short week, LocalDate anchor, WeeklyScheduleDto.Week source) {
+        EmployeeSchedule row = EmployeeSchedule.builder()
+                .employeeId(employeeId)
+                .rotationWeek(week)
+                .rotationAnchor(anchor)
+                .build();
+        setShift(row, DayOfWeek.MONDAY, source.getMonday());
+        setShift(row, DayOfWeek.TUESDAY, source.getTuesday());
+        setShift(row, DayOfWeek.WEDNESDAY, source.getWednesday());
+        setShift(row, DayOfWeek.THURSDAY, source.getThursday());
+        setShift(row, DayOfWeek.FRIDAY, source.getFriday());
+        setShift(row, DayOfWeek.SATURDAY, source.getSaturday());
+        setShift(row, DayOfWeek.SUNDAY, source.getSunday());
+        return row;
+    }
+
+    private void setShift(EmployeeSchedule row, DayOfWeek day, WeeklyScheduleDto.Shift shift) {
+        if (shift != null) {
+            row.setShift(day, shift.getStart(), shift.getEnd());
+        }
+    }
+}
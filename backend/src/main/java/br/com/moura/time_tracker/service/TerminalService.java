@@ -0,0 +1,58 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.dto.TerminalTokenResponse;
+import br.com.moura.time_tracker.exception.DataNotFoundException;
+import br.com.moura.time_tracker.model.Terminal;
+import br.com.moura.time_tracker.repository.TerminalRepository;
+import br.com.moura.time_tracker.security.JwtUtil;
+import br.com.moura.time_tracker.security.PrincipalResolver;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class TerminalService {
+
+    private final TerminalRepository terminalRepository;
+    private final PrincipalResolver principalResolver;
+    private final JwtUtil jwtUtil;
+    private final Clock clock;
+
+    // O terminal é gravado antes de o token sair: o PrincipalResolver só aceita tokens de terminais cadastrados
+    @Transactional
+    public TerminalTokenResponse issue(String name) {
+        Terminal terminal = terminalRepository.save(Terminal.builder()
+                .name(name.trim())
+                .createdAt(LocalDateTime.now(clock))
+                .build());
+        String token = jwtUtil.generateTerminalToken(terminal.getId(), terminal.getName());
+
+        return new TerminalTokenResponse(terminal.getId(), terminal.getName(), JwtUtil.TERMINAL_ROLE, token, "Bearer",
+                jwtUtil.getTerminalExpirationTime());
+    }
+
+    public List<TerminalDTO> list() {
+        return terminalRepository.findAllByOrderByCreatedAtDesc().stream()
+                .map(t -> new TerminalDTO(t.getId(), t.getName(), t.getCreatedAt(), t.getRevokedAt()))
+                .toList();
+    }
+
+    // Idempotente: revogar de novo mantém a data da primeira revogação
+    @Transactional
+    public void revoke(UUID terminalId) {
+        Terminal terminal = terminalRepository.findById(terminalId)
+                .orElseThrow(() -> new DataNotFoundException("Terminal não encontrado"));
+        if (!terminal.isRevoked()) {
+            terminal.setRevokedAt(LocalDateTime.now(clock));
+        }
+        principalResolver.evict(terminalId);
+    }
+
+    public record TerminalDTO(UUID id, String name, LocalDateTime createdAt, LocalDateTime revokedAt) {}
+}
@@ -0,0 +1,171 @@
+package br.com.moura.time_tracker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Manutenção das partições mensais de work_records (V12).
+ *
+ * - Garante as partições do mês atual até work.partitions.months-ahead meses à frente.
+ *   Registros que tenham caído na partição default são movidos para a nova partição.
+ * - Com work.partitions.retention-months > 0, desanexa as partições inteiramente anteriores
+ *   à retenção e as move para o schema work_records_archive (ficam fora das consultas,
+ *   prontas para pg_dump/DROP pela operação). Os totais diários (employee_daily_totals) desses
+ *   meses são mantidos; como não podem mais ser recalculados, AdminService.rebuildDailyTotals
+ *   recusa intervalos que alcancem um mês arquivado (ver archivedMonths).
+ *   Partições com turno ainda aberto ficam anexadas (e são avisadas no log) até o turno ser fechado.
+ *
+ * Roda na subida e diariamente; com várias instâncias, só uma executa (advisory lock).
+ */
+@Service
+public class WorkRecordPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkRecordPartitionService.class);
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("work_records_p(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String ARCHIVE_SCHEMA = "work_records_archive";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public WorkRecordPartitionService(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      Clock clock,
+                                      @Value("${work.partitions.months-ahead:3}") int monthsAhead,
+                                      @Value("${work.partitions.retention-months:60}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${work.partitions.cron:0 30 3 * * *}")
+    public void maintain() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Boolean locked = jdbcTemplate.queryForObject(
+                        "SELECT pg_try_advisory_xact_lock(hashtext('work_records_partitions'))", Boolean.class);
+                if (!Boolean.TRUE.equals(locked)) {
+                    logger.info("Manutenção de partições já em execução em outra instância");
+                    return;
+                }
+
+                YearMonth current = YearMonth.now(clock);
+                Set<YearMonth> attached = attachedPartitions();
+
+                for (int i = 0; i <= monthsAhead; i++) {
+                    YearMonth month = current.plusMonths(i);
+                    if (!attached.contains(month)) {
+                        createPartition(month);
+                    }
+                }
+
+                if (retentionMonths > 0) {
+                    YearMonth oldestKept = current.minusMonths(retentionMonths);
+                    for (YearMonth month : attached) {
+                        if (month.isBefore(oldestKept)) {
+                            archivePartition(month);
+                        }
+                    }
+                }
+            });
+        } catch (DataAccessException e) {
+            logger.error("Falha na manutenção das partições de work_records", e);
+        }
+    }
+
+    private Set<YearMonth> attachedPartitions() {
+        Set<YearMonth> months = new TreeSet<>();
+        for (String name : jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'work_records'::regclass", String.class)) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches()) {
+                months.add(YearMonth.parse(matcher.group(1), SUFFIX));
+            }
+        }
+        return months;
+    }
+
+    // Meses cujas partições estão em work_records_archive (desanexadas; fora de work_records)
+    public Set<YearMonth> archivedMonths() {
+        Set<YearMonth> months = new TreeSet<>();
+        for (String name : jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                "WHERE n.nspname = ? AND c.relkind = 'r'", String.class, ARCHIVE_SCHEMA)) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches()) {
+                months.add(YearMonth.parse(matcher.group(1), SUFFIX));
+            }
+        }
+        return months;
+    }
+
+    // Cria a tabela solta, traz o que estiver na default para o intervalo e só então anexa:
+    // criar direto com PARTITION OF falharia se a default tivesse linhas do mês.
+    private void createPartition(YearMonth month) {
+        String table = partitionName(month);
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+
+        jdbcTemplate.execute("CREATE TABLE " + table + " (LIKE work_records INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update(
+                "WITH moved AS (DELETE FROM work_records_default " +
+                "WHERE checkin_time >= '" + from + "' AND checkin_time < '" + to + "' RETURNING *) " +
+                "INSERT INTO " + table + " SELECT * FROM moved");
+        jdbcTemplate.execute("ALTER TABLE work_records ATTACH PARTITION " + table +
+                " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+
+        logger.info("Partição {} criada ({} registros vindos da partição default)", table, moved);
+    }
+
+    private void archivePartition(YearMonth month) {
+        String table = partitionName(month);
+
+        // Turno aberto arquivado sumiria do check-out, mas o status continuaria travando o próximo check-in.
+        // A trava impede que um lote de batidas retroativo abra um turno entre a verificação e o DETACH.
+        jdbcTemplate.execute("LOCK TABLE " + table + " IN EXCLUSIVE MODE");
+        Integer openShifts = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM " + table + " WHERE checkout_time IS NULL", Integer.class);
+        if (openShifts != null && openShifts > 0) {
+            logger.warn("Partição {} mantida: {} turno(s) ainda aberto(s)", table, openShifts);
+            return;
+        }
+
+        jdbcTemplate.execute("ALTER TABLE work_records DETACH PARTITION " + table);
+        jdbcTemplate.execute("ALTER TABLE " + table + " SET SCHEMA " + ARCHIVE_SCHEMA);
+
+        logger.info("Partição {} desanexada e arquivada em {}", table, ARCHIVE_SCHEMA);
+    }
+
+    private String partitionName(YearMonth month) {
+        return "work_records_p" + month.format(SUFFIX);
+    }
+}
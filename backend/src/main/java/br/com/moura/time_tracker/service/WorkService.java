@@ -1,26 +1,36 @@
 package br.com.moura.time_tracker.service;
 
 import br.com.moura.time_tracker.dto.CheckoutRequestDTO;
+import br.com.moura.time_tracker.dto.CursorPage;
 import br.com.moura.time_tracker.dto.WorkRecordResponseDTO;
 import br.com.moura.time_tracker.enums.WorkReason;
+import br.com.moura.time_tracker.event.EmployeeStatusChangedEvent;
 import br.com.moura.time_tracker.exception.DataNotFoundException;
+import br.com.moura.time_tracker.exception.InvalidRequestException;
 import br.com.moura.time_tracker.exception.MissingDetailsForOtherReasonException;
 import br.com.moura.time_tracker.exception.MultipleCheckInWithoutCheckOutException;
-import br.com.moura.time_tracker.model.Employee;
 import br.com.moura.time_tracker.model.WorkRecord;
-import br.com.moura.time_tracker.repository.EmployeeRepository;
+import br.com.moura.time_tracker.repository.EmployeeCurrentStatusRepository;
+import br.com.moura.time_tracker.repository.EmployeeDailyTotalRepository;
 import br.com.moura.time_tracker.repository.WorkRecordRepository;
+import br.com.moura.time_tracker.repository.projection.DailyTotalView;
+import br.com.moura.time_tracker.repository.projection.WorkRecordView;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 @Service
@@ -28,7 +38,10 @@ import java.util.*;
 public class WorkService {
 
     private final WorkRecordRepository workRecordRepository;
-    private final EmployeeRepository employeeRepository;
+    private final EmployeeCurrentStatusRepository employeeCurrentStatusRepository;
+    private final EmployeeDailyTotalRepository employeeDailyTotalRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
 
     private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("HH:mm:ss");
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -38,26 +51,22 @@ public class WorkService {
     // 1. Check-in
     @Transactional
     public WorkRecord clockIn(UUID employeeId) {
-        if (workRecordRepository.findByEmployeeIdAndCheckOutTimeIsNull(employeeId).isPresent()) {
-            throw new MultipleCheckInWithoutCheckOutException("Não é permitido dois check-ins sem check-out");
+        WorkRecord saved;
+        try {
+            saved = workRecordRepository.insertOpenShift(employeeId, LocalDateTime.now(clock))
+                    .orElseThrow(() -> new MultipleCheckInWithoutCheckOutException("Não é permitido dois check-ins sem check-out"));
+        } catch (DataIntegrityViolationException e) {
+            // Única FK do insert é employee_id
+            throw new DataNotFoundException("Funcionário não encontrado");
         }
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new DataNotFoundException("Funcionário não encontrado"));
 
-        WorkRecord newEntry = WorkRecord.builder()
-                .employee(employee)
-                .checkInTime(LocalDateTime.now())
-                .build();
-
-        return workRecordRepository.save(newEntry);
+        eventPublisher.publishEvent(new EmployeeStatusChangedEvent(employeeId));
+        return saved;
     }
 
     // 2. Check-out
     @Transactional
     public WorkRecord clockOut(UUID employeeId, CheckoutRequestDTO request) {
-        WorkRecord entry = workRecordRepository.findByEmployeeIdAndCheckOutTimeIsNull(employeeId)
-                .orElseThrow(() -> new DataNotFoundException("Não há turno aberto para finalizar!"));
-
         WorkReason reason = WorkReason.fromCode(request.getReason_id());
         if (reason == WorkReason.OTHER) {
             if (request.getDetails() == null || request.getDetails().trim().isEmpty()) {
@@ -65,48 +74,67 @@ public class WorkService {
             }
         }
 
-        entry.setCheckOutTime(LocalDateTime.now());
-        entry.setReason(reason);
-        entry.setDetails(request.getDetails());
+        // Mesma ordem de travas da ingestão em lote (status antes de work_records), evitando deadlock
+        employeeCurrentStatusRepository.lockByEmployeeIds(List.of(employeeId));
+        WorkRecord saved = workRecordRepository.closeOpenShift(employeeId, LocalDateTime.now(clock), reason.name(), request.getDetails())
+                .orElseThrow(() -> new DataNotFoundException("Não há turno aberto para finalizar!"));
 
-        long seconds = Duration.between(entry.getCheckInTime(), entry.getCheckOutTime()).getSeconds();
-        entry.setDurationSeconds(seconds);
+        long seconds = saved.getDurationSeconds();
+        employeeCurrentStatusRepository.markCheckedOut(employeeId, saved.getId(), saved.getCheckOutTime(), seconds);
+        employeeDailyTotalRepository.addDuration(employeeId, saved.getCheckInTime().toLocalDate(), reason.name(), seconds, 1);
+        eventPublisher.publishEvent(new EmployeeStatusChangedEvent(employeeId));
 
-        return workRecordRepository.save(entry);
+        return saved;
     }
 
     // 3. Histórico Pessoal PAGINADO
     public Page<WorkRecordResponseDTO> getPersonalRecords(UUID employeeId, String dateStr, Pageable pageable) {
-        LocalDate date = (dateStr != null && !dateStr.isEmpty()) ? LocalDate.parse(dateStr) : null;
+        LocalDate date = (dateStr != null && !dateStr.isEmpty()) ? RequestParams.date(dateStr) : null;
 
-        Page<WorkRecord> result;
+        Page<WorkRecordView> result;
 
         if (date == null) {
             result = workRecordRepository.findByEmployeeIdOrderByCheckInTimeDesc(employeeId, pageable);
         } else {
-            result = workRecordRepository.findByEmployeeIdAndDate(employeeId, date, pageable);
+            result = workRecordRepository.findByEmployeeIdAndCheckInRange(employeeId, date.atStartOfDay(), date.plusDays(1).atStartOfDay(), pageable);
         }
 
         return result.map(this::toResponseDTO);
     }
 
+    // 3.1 Histórico Pessoal por CURSOR (sem COUNT/OFFSET)
+    public CursorPage<WorkRecordResponseDTO> getPersonalRecordsAfter(UUID employeeId, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, 100));
+
+        List<WorkRecordView> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = workRecordRepository.findHistoryFirstPage(employeeId, Limit.of(limit + 1));
+        } else {
+            String[] position = decodeCursor(cursor);
+            rows = workRecordRepository.findHistoryPageAfter(employeeId,
+                    LocalDateTime.parse(position[0]), UUID.fromString(position[1]), Limit.of(limit + 1));
+        }
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            WorkRecordView last = rows.get(limit - 1);
+            nextCursor = encodeCursor(last.checkInTime(), last.id());
+        }
+
+        return new CursorPage<>(rows.stream().map(this::toResponseDTO).toList(), nextCursor);
+    }
+
     // 4. Resumo Semanal PESSOAL
     public ChartDataDTO getWeeklyPersonalSummary(UUID employeeId) {
-        LocalDate today = LocalDate.now();
+        LocalDate today = LocalDate.now(clock);
         LocalDate sevenDaysAgo = today.minusDays(6);
-        LocalDateTime start = sevenDaysAgo.atStartOfDay();
-        LocalDateTime end = today.atTime(LocalTime.MAX);
 
-        List<WorkRecord> entries = workRecordRepository.findByEmployeeIdAndCheckInTimeBetween(employeeId, start, end);
         Map<LocalDate, Double> dailyTotals = new LinkedHashMap<>();
-
         for (int i = 0; i < 7; i++) dailyTotals.put(sevenDaysAgo.plusDays(i), 0.0);
 
-        for (WorkRecord entry : entries) {
-            if (entry.getCheckOutTime() != null) {
-                LocalDate date = entry.getCheckInTime().toLocalDate();
-                dailyTotals.put(date, dailyTotals.getOrDefault(date, 0.0) + (entry.getDurationSeconds() / 3600.0));
-            }
+        for (DailyTotalView total : employeeDailyTotalRepository.sumByDayForEmployee(employeeId, sevenDaysAgo, today)) {
+            dailyTotals.put(total.getWorkDate(), total.getTotalSeconds() / 3600.0);
         }
 
         List<String> cats = new ArrayList<>();
@@ -119,23 +147,47 @@ public class WorkService {
     }
 
     // --- HELPER ---
-    private WorkRecordResponseDTO toResponseDTO(WorkRecord record) {
-        long seconds = record.getDurationSeconds() != null ? record.getDurationSeconds() : 0;
-        if (record.getCheckOutTime() == null) {
-            seconds = Duration.between(record.getCheckInTime(), LocalDateTime.now()).getSeconds();
+    private String encodeCursor(LocalDateTime checkInTime, UUID id) {
+        String raw = checkInTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length != 2) throw new IllegalArgumentException();
+            LocalDateTime.parse(parts[0]);
+            UUID.fromString(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestException("Cursor inválido");
+        }
+    }
+
+    // Resposta do check-in/check-out (entidade recém-gravada)
+    public WorkRecordResponseDTO toResponseDTO(WorkRecord record) {
+        return toResponseDTO(new WorkRecordView(record.getId(), record.getCheckInTime(), record.getCheckOutTime(),
+                record.getDurationSeconds(), record.getReason(), record.getDetails()));
+    }
+
+    public WorkRecordResponseDTO toResponseDTO(WorkRecordView record) {
+        long seconds = record.durationSeconds() != null ? record.durationSeconds() : 0;
+        if (record.checkOutTime() == null) {
+            seconds = Duration.between(record.checkInTime(), LocalDateTime.now(clock)).getSeconds();
         }
         String durationStr = String.format("%02d:%02d:%02d", seconds / 3600, (seconds % 3600) / 60, seconds % 60);
 
         return WorkRecordResponseDTO.builder()
-                .id(record.getId())
-                .date(record.getCheckInTime().format(DATE_FMT))
-                .checkin_time(record.getCheckInTime().format(TIME_FMT))
-                .checkout_time(record.getCheckOutTime() != null ? record.getCheckOutTime().format(TIME_FMT) : null)
+                .id(record.id())
+                .date(record.checkInTime().format(DATE_FMT))
+                .checkin_time(record.checkInTime().format(TIME_FMT))
+                .checkout_time(record.checkOutTime() != null ? record.checkOutTime().format(TIME_FMT) : null)
                 .duration(durationStr)
                 .duration_seconds(seconds)
-                .reason_id(record.getReason() != null ? record.getReason().getCode() : null)
-                .reason_label(record.getReason() != null ? record.getReason().getLabel() : null)
-                .details(record.getDetails())
+                .reason_id(record.reason() != null ? record.reason().getCode() : null)
+                .reason_label(record.reason() != null ? record.reason().getLabel() : null)
+                .details(record.details())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+-- (employee_id, checkin_time DESC) já é coberto pelo prefixo de
+-- idx_work_records_employee_checkin_id (V9), por isso não é recriado aqui.
+
+-- Turnos abertos: check-in/check-out buscam o registro sem checkout do funcionário
+CREATE INDEX IF NOT EXISTS idx_work_records_open_shift
+    ON work_records (employee_id)
+    WHERE checkout_time IS NULL;
+
+-- Consultas da equipe inteira por janela de tempo (relatórios, séries temporais, exportação)
+CREATE INDEX IF NOT EXISTS idx_work_records_checkin_time
+    ON work_records (checkin_time);
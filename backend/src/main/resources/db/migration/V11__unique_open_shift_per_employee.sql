@@ -0,0 +1,21 @@
+-- Antes do índice único: se algum funcionário ficou com mais de um turno aberto
+-- (duplo clique no check-in), mantém o mais recente e encerra os anteriores com duração zero.
+UPDATE work_records w
+SET checkout_time = w.checkin_time,
+    duration_seconds = 0,
+    reason_id = 'OTHER',
+    details = 'Encerrado automaticamente: check-in duplicado'
+WHERE w.checkout_time IS NULL
+  AND EXISTS (
+      SELECT 1 FROM work_records newer
+      WHERE newer.employee_id = w.employee_id
+        AND newer.checkout_time IS NULL
+        AND (newer.checkin_time, newer.id) > (w.checkin_time, w.id)
+  );
+
+DROP INDEX IF EXISTS idx_work_records_open_shift;
+
+-- No máximo um turno aberto por funcionário, garantido pelo banco
+CREATE UNIQUE INDEX ux_work_records_open_shift
+    ON work_records (employee_id)
+    WHERE checkout_time IS NULL;
@@ -0,0 +1,81 @@
+-- work_records passa a ser particionada por mês de checkin_time.
+-- Consultas com intervalo em checkin_time (relatórios, séries, exportação) só leem
+-- as partições do período; partições antigas podem ser desanexadas e arquivadas
+-- (ver WorkRecordPartitionService).
+--
+-- Limitações do particionamento no PostgreSQL:
+--  * a PK precisa conter a chave de partição -> (id, checkin_time);
+--  * índices únicos também, então ux_work_records_open_shift (V11) deixa de existir.
+--    O "um turno aberto por funcionário" passa a ser garantido pela linha do
+--    funcionário em employee_current_status (ver WorkRecordRepository.insertOpenShift).
+
+ALTER TABLE work_records RENAME TO work_records_legacy;
+
+CREATE TABLE work_records (
+    id UUID NOT NULL,
+    employee_id UUID NOT NULL,
+    checkin_time TIMESTAMP NOT NULL,
+    checkout_time TIMESTAMP,
+    duration_seconds BIGINT,
+    reason_id VARCHAR(50),
+    details TEXT,
+    CONSTRAINT pk_work_records PRIMARY KEY (id, checkin_time),
+    CONSTRAINT fk_work_records_employee
+        FOREIGN KEY (employee_id)
+        REFERENCES employees(id)
+) PARTITION BY RANGE (checkin_time);
+
+-- Rede de segurança para registros fora das partições criadas (deve ficar vazia)
+CREATE TABLE work_records_default PARTITION OF work_records DEFAULT;
+
+-- Uma partição por mês, do registro mais antigo até 3 meses à frente
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE := (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::date;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(checkin_time))::date, date_trunc('month', CURRENT_DATE)::date)
+    INTO month_start
+    FROM work_records_legacy;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE work_records_p%s PARTITION OF work_records FOR VALUES FROM (%L) TO (%L)',
+            to_char(month_start, 'YYYYMM'), month_start, (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO work_records (id, employee_id, checkin_time, checkout_time, duration_seconds, reason_id, details)
+SELECT id, employee_id, checkin_time, checkout_time, duration_seconds, reason_id, details
+FROM work_records_legacy;
+
+DROP TABLE work_records_legacy;
+
+-- Índices criados no pai são replicados em cada partição (inclusive nas futuras)
+CREATE INDEX idx_work_records_employee_checkin_id
+    ON work_records (employee_id, checkin_time DESC, id DESC);
+
+CREATE INDEX idx_work_records_checkin_time
+    ON work_records (checkin_time);
+
+CREATE INDEX idx_work_records_open_shift
+    ON work_records (employee_id)
+    WHERE checkout_time IS NULL;
+
+-- O status passa a ser a trava do check-in: garante que aponta para o turno aberto, se houver
+INSERT INTO employee_current_status (employee_id, record_id, checkin_time, checkout_time, duration_seconds, updated_at)
+SELECT employee_id, id, checkin_time, NULL, NULL, CURRENT_TIMESTAMP
+FROM work_records
+WHERE checkout_time IS NULL
+ON CONFLICT (employee_id) DO UPDATE SET
+    record_id = EXCLUDED.record_id,
+    checkin_time = EXCLUDED.checkin_time,
+    checkout_time = NULL,
+    duration_seconds = NULL,
+    updated_at = CURRENT_TIMESTAMP;
+
+-- Partições desanexadas pela retenção são movidas para cá
+CREATE SCHEMA IF NOT EXISTS work_records_archive;
+
+ANALYZE work_records;
@@ -0,0 +1,15 @@
+-- Diretório de funcionários (/admin/employees): paginação por cursor em (name, id)
+-- e busca por trecho/aproximada em nome e e-mail.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Ordem do diretório e posição do cursor
+CREATE INDEX IF NOT EXISTS idx_employees_name_id
+    ON employees (name, id);
+
+-- LIKE '%termo%' e word similarity (<%) usam os trigramas; a busca é sempre em minúsculas
+CREATE INDEX IF NOT EXISTS idx_employees_name_trgm
+    ON employees USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_employees_email_trgm
+    ON employees USING gin (lower(email) gin_trgm_ops);
@@ -0,0 +1,53 @@
+-- Escalas semanais tipadas: um horário (TIME) por dia da semana e revezamento de até 4 semanas.
+-- Cada linha é uma semana do ciclo; a semana vigente em uma data é
+-- ((data - rotation_anchor) / 7) mod (quantidade de semanas do funcionário).
+-- Dia sem horário = folga; saída <= entrada = turno que vira o dia.
+CREATE TABLE employee_schedules (
+    employee_id UUID NOT NULL,
+    rotation_week SMALLINT NOT NULL DEFAULT 0,
+    rotation_anchor DATE NOT NULL,   -- segunda-feira em que a semana 0 começa
+    mon_start TIME, mon_end TIME,
+    tue_start TIME, tue_end TIME,
+    wed_start TIME, wed_end TIME,
+    thu_start TIME, thu_end TIME,
+    fri_start TIME, fri_end TIME,
+    sat_start TIME, sat_end TIME,
+    sun_start TIME, sun_end TIME,
+    PRIMARY KEY (employee_id, rotation_week),
+    CONSTRAINT fk_employee_schedules_employee
+        FOREIGN KEY (employee_id)
+        REFERENCES employees(id)
+        ON DELETE CASCADE,
+    CONSTRAINT ck_employee_schedules_week CHECK (rotation_week BETWEEN 0 AND 3),
+    CONSTRAINT ck_employee_schedules_anchor CHECK (EXTRACT(ISODOW FROM rotation_anchor) = 1),
+    CONSTRAINT ck_employee_schedules_days CHECK (
+        (mon_start IS NULL) = (mon_end IS NULL) AND
+        (tue_start IS NULL) = (tue_end IS NULL) AND
+        (wed_start IS NULL) = (wed_end IS NULL) AND
+        (thu_start IS NULL) = (thu_end IS NULL) AND
+        (fri_start IS NULL) = (fri_end IS NULL) AND
+        (sat_start IS NULL) = (sat_end IS NULL) AND
+        (sun_start IS NULL) = (sun_end IS NULL)
+    )
+);
+
+-- Migra a escala única (texto "HH:mm") para segunda a sexta, sem revezamento.
+-- Valores fora do formato caem no padrão 08:00-17:00.
+INSERT INTO employee_schedules (employee_id, rotation_week, rotation_anchor,
+                                mon_start, mon_end, tue_start, tue_end, wed_start, wed_end,
+                                thu_start, thu_end, fri_start, fri_end)
+SELECT id, 0, DATE '2024-01-01',
+       s.start_time, s.end_time, s.start_time, s.end_time, s.start_time, s.end_time,
+       s.start_time, s.end_time, s.start_time, s.end_time
+FROM employees
+CROSS JOIN LATERAL (
+    SELECT CASE WHEN work_start_time ~ '^([01][0-9]|2[0-3]):[0-5][0-9]$'
+                THEN CAST(work_start_time AS TIME) ELSE TIME '08:00' END AS start_time,
+           CASE WHEN work_end_time ~ '^([01][0-9]|2[0-3]):[0-5][0-9]$'
+                THEN CAST(work_end_time AS TIME) ELSE TIME '17:00' END AS end_time
+) s;
+
+-- work_start_time/work_end_time passam a ser só o resumo exibido no diretório,
+-- mantido pela aplicação a partir do primeiro dia com expediente.
+COMMENT ON COLUMN employees.work_start_time IS 'Resumo de exibição; a escala vigente está em employee_schedules';
+COMMENT ON COLUMN employees.work_end_time IS 'Resumo de exibição; a escala vigente está em employee_schedules';
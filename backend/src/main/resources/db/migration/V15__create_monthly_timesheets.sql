@@ -0,0 +1,48 @@
+-- Fechamento mensal para a folha: total por funcionário e motivo em cada mês.
+-- Recalculável: cada lote apaga e regrava as linhas do seu intervalo de funcionários.
+CREATE TABLE monthly_timesheets (
+    month DATE NOT NULL,               -- primeiro dia do mês
+    employee_id UUID NOT NULL,
+    reason_id VARCHAR(50) NOT NULL,    -- 'NONE' para registros sem motivo
+    total_seconds BIGINT NOT NULL,
+    record_count INTEGER NOT NULL,
+    computed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (month, employee_id, reason_id),
+    CONSTRAINT fk_monthly_timesheets_employee
+        FOREIGN KEY (employee_id)
+        REFERENCES employees(id)
+        ON DELETE CASCADE
+);
+
+-- Execuções do fechamento e seus lotes (checkpoint): um lote DONE não é refeito ao retomar
+CREATE TABLE payroll_jobs (
+    id UUID PRIMARY KEY,
+    month DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,       -- RUNNING, COMPLETED, FAILED
+    total_chunks INTEGER NOT NULL,
+    completed_chunks INTEGER NOT NULL DEFAULT 0,
+    rows_written BIGINT NOT NULL DEFAULT 0,
+    error TEXT,
+    started_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX idx_payroll_jobs_month ON payroll_jobs (month, started_at DESC);
+
+-- Cada lote cobre o intervalo [from_employee_id, to_employee_id) na ordem de uuid;
+-- nulo = sem limite (primeiro/último lote), então funcionários novos também entram.
+CREATE TABLE payroll_job_chunks (
+    job_id UUID NOT NULL,
+    chunk_no INTEGER NOT NULL,
+    from_employee_id UUID,
+    to_employee_id UUID,
+    status VARCHAR(20) NOT NULL,       -- PENDING, DONE
+    rows_written INTEGER,
+    completed_at TIMESTAMP,
+    PRIMARY KEY (job_id, chunk_no),
+    CONSTRAINT fk_payroll_job_chunks_job
+        FOREIGN KEY (job_id)
+        REFERENCES payroll_jobs(id)
+        ON DELETE CASCADE
+);
@@ -0,0 +1,5 @@
+-- Departamento/linha do funcionário: filtro do relatório por equipe
+ALTER TABLE employees ADD COLUMN department VARCHAR(100);
+
+CREATE INDEX IF NOT EXISTS idx_employees_department
+    ON employees (department, name, id);
@@ -0,0 +1,9 @@
+-- Dono de cada execução do fechamento: a instância que a processa renova heartbeat_at
+-- periodicamente. Outra instância só assume execuções RUNNING sem dono ou com heartbeat vencido,
+-- e só o dono marca a execução como concluída ou com falha.
+ALTER TABLE payroll_jobs ADD COLUMN owner VARCHAR(100);
+ALTER TABLE payroll_jobs ADD COLUMN heartbeat_at TIMESTAMP;
+
+-- Busca de execuções órfãs (parcial: só as em andamento)
+CREATE INDEX IF NOT EXISTS idx_payroll_jobs_running
+    ON payroll_jobs (heartbeat_at) WHERE status = 'RUNNING';
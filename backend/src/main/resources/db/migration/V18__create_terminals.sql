@@ -0,0 +1,9 @@
+-- Terminais de ponto (crachá/quiosque) com credencial emitida em POST /admin/terminals.
+-- O token do terminal carrega o id desta tabela; revogar (revoked_at) derruba o token
+-- antes de expirar, e terminais sem linha aqui não autenticam.
+CREATE TABLE terminals (
+    id UUID PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP
+);
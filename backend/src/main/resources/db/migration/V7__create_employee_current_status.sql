@@ -0,0 +1,16 @@
+CREATE TABLE employee_current_status (
+    employee_id UUID PRIMARY KEY,
+    record_id UUID NOT NULL,
+    checkin_time TIMESTAMP NOT NULL,
+    checkout_time TIMESTAMP,
+    duration_seconds BIGINT,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_current_status_employee
+        FOREIGN KEY (employee_id)
+        REFERENCES employees(id)
+);
+
+INSERT INTO employee_current_status (employee_id, record_id, checkin_time, checkout_time, duration_seconds)
+SELECT DISTINCT ON (employee_id) employee_id, id, checkin_time, checkout_time, duration_seconds
+FROM work_records
+ORDER BY employee_id, checkin_time DESC;
@@ -0,0 +1,24 @@
+CREATE TABLE employee_daily_totals (
+    employee_id UUID NOT NULL,
+    work_date DATE NOT NULL,
+    reason_id VARCHAR(50) NOT NULL,
+    total_seconds BIGINT NOT NULL DEFAULT 0,
+    record_count INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (employee_id, work_date, reason_id),
+    CONSTRAINT fk_daily_totals_employee
+        FOREIGN KEY (employee_id)
+        REFERENCES employees(id)
+);
+
+CREATE INDEX idx_daily_totals_work_date ON employee_daily_totals(work_date);
+
+-- Registros antigos sem motivo ficam agrupados em 'NONE'
+INSERT INTO employee_daily_totals (employee_id, work_date, reason_id, total_seconds, record_count)
+SELECT employee_id,
+       CAST(checkin_time AS DATE),
+       COALESCE(reason_id, 'NONE'),
+       SUM(duration_seconds),
+       COUNT(*)
+FROM work_records
+WHERE checkout_time IS NOT NULL AND duration_seconds IS NOT NULL
+GROUP BY employee_id, CAST(checkin_time AS DATE), COALESCE(reason_id, 'NONE');
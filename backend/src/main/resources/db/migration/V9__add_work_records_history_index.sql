@@ -0,0 +1,3 @@
+-- Suporta a paginação por cursor do histórico pessoal: seek em (checkin_time, id)
+CREATE INDEX IF NOT EXISTS idx_work_records_employee_checkin_id
+    ON work_records (employee_id, checkin_time DESC, id DESC);
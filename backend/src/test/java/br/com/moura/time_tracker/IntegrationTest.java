@@ -0,0 +1,76 @@
+package br.com.moura.time_tracker;
+
+import br.com.moura.time_tracker.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Base dos testes de integração: contexto completo contra um Postgres do Testcontainers,
+ * compartilhado entre as classes (mesma configuração = mesmo contexto em cache).
+ *
+ * Cada teste começa sem registros de ponto e sem os funcionários criados por outros testes;
+ * os funcionários das migrations (V2) continuam lá.
+ */
+@SpringBootTest(properties = {
+        "jwt.secret=segredo-de-teste-com-tamanho-suficiente",
+        "spring.jpa.show-sql=false"
+})
+@Import(TestcontainersConfiguration.class)
+public abstract class IntegrationTest {
+
+    protected static final String TEST_EMAIL_DOMAIN = "@teste.moura.com";
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+    @Autowired
+    protected JwtUtil jwtUtil;
+
+    @BeforeEach
+    void resetData() {
+        jdbcTemplate.execute("TRUNCATE work_records, employee_current_status, employee_daily_totals, " +
+                "employee_schedules, monthly_timesheets, payroll_job_chunks, payroll_jobs, terminals");
+        jdbcTemplate.update("DELETE FROM employees WHERE email LIKE ?", "%" + TEST_EMAIL_DOMAIN);
+    }
+
+    protected UUID createEmployee(String name) {
+        return createEmployee(name, null);
+    }
+
+    protected UUID createEmployee(String name, String department) {
+        return createEmployee(name, department, "USER");
+    }
+
+    protected UUID createEmployee(String name, String department, String role) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO employees (id, name, email, password, role, department, created_at, updated_at) " +
+                "VALUES (?, ?, ?, 'x', ?, ?, now(), now())", id, name, id + TEST_EMAIL_DOMAIN, role, department);
+        return id;
+    }
+
+    // Header Authorization de um funcionário já cadastrado (o principal é carregado do banco)
+    protected String bearerToken(UUID employeeId, String name, String role) {
+        return "Bearer " + jwtUtil.generateToken(employeeId, employeeId + TEST_EMAIL_DOMAIN, name, role);
+    }
+
+    // Cria o funcionário com o papel informado e devolve o header Authorization dele
+    protected String bearerToken(String name, String role) {
+        return bearerToken(createEmployee(name, null, role), name, role);
+    }
+
+    // Turno fechado gravado direto (sem status/totais), para cenários de relatório e cálculo
+    protected UUID insertShift(UUID employeeId, LocalDateTime checkIn, LocalDateTime checkOut) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO work_records (id, employee_id, checkin_time, checkout_time, duration_seconds, reason_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)", id, employeeId, checkIn, checkOut,
+                checkOut != null ? Duration.between(checkIn, checkOut).getSeconds() : null,
+                checkOut != null ? "END_SHIFT" : null);
+        return id;
+    }
+}
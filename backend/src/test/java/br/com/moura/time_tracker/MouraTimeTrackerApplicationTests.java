@@ -1,10 +1,8 @@
 package br.com.moura.time_tracker;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
-class MouraTimeTrackerApplicationTests {
+class MouraTimeTrackerApplicationTests extends IntegrationTest {
 
 	@Test
 	void contextLoads() {
@@ -0,0 +1,119 @@
+package br.com.moura.time_tracker.config;
+
+import br.com.moura.time_tracker.IntegrationTest;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SecurityConfigTest extends IntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @Test
+    void checkInIsSynchronousWhenBurstModeIsOff() throws Exception {
+        UUID employeeId = createEmployee("Bruno Síncrono");
+        String token = bearerToken(employeeId, "Bruno Síncrono", "USER");
+
+        mockMvc.perform(post("/work/checkin").param("employeeId", employeeId.toString())
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.checkin_time").isNotEmpty());
+    }
+
+    @Test
+    void terminalTokenOnlyReachesPunchIngestion() throws Exception {
+        String adminToken = bearerToken("Admin Terminais", "ADMIN");
+
+        String issued = mockMvc.perform(post("/admin/terminals")
+                        .header(HttpHeaders.AUTHORIZATION, adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Portaria - Bloco A\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.role").value("TERMINAL"))
+                .andReturn().getResponse().getContentAsString();
+        String terminalToken = "Bearer " + JsonPath.read(issued, "$.token");
+
+        String batch = "{\"events\": [{\"employeeId\": \"" + UUID.randomUUID() +
+                "\", \"type\": \"checkin\", \"timestamp\": \"2025-03-10T08:00:00\"}]}";
+        mockMvc.perform(post("/work/punches/batch").header(HttpHeaders.AUTHORIZATION, terminalToken)
+                        .contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rejected").value(1));
+
+        mockMvc.perform(post("/work/checkin").param("employeeId", UUID.randomUUID().toString())
+                        .header(HttpHeaders.AUTHORIZATION, terminalToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/work/list/cursor").param("employeeId", UUID.randomUUID().toString())
+                        .header(HttpHeaders.AUTHORIZATION, terminalToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/admin/terminals").header(HttpHeaders.AUTHORIZATION, terminalToken)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Outro\"}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void revokedTerminalTokenStopsAuthenticating() throws Exception {
+        String adminToken = bearerToken("Admin Revogação", "ADMIN");
+        String issued = mockMvc.perform(post("/admin/terminals")
+                        .header(HttpHeaders.AUTHORIZATION, adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Portaria - Bloco B\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String terminalId = JsonPath.read(issued, "$.id");
+        String terminalToken = "Bearer " + JsonPath.read(issued, "$.token");
+        String batch = "{\"events\": [{\"employeeId\": \"" + UUID.randomUUID() +
+                "\", \"type\": \"checkin\", \"timestamp\": \"2025-03-10T08:00:00\"}]}";
+
+        mockMvc.perform(post("/work/punches/batch").header(HttpHeaders.AUTHORIZATION, terminalToken)
+                        .contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/admin/terminals/" + terminalId).header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/admin/terminals").header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(jsonPath("$[0].id").value(terminalId))
+                .andExpect(jsonPath("$[0].revokedAt").isNotEmpty());
+
+        // O token continua dentro da validade, mas o terminal foi revogado
+        mockMvc.perform(post("/work/punches/batch").header(HttpHeaders.AUTHORIZATION, terminalToken)
+                        .contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/admin/terminals/" + UUID.randomUUID()).header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void dashboardStreamRequiresAdmin() throws Exception {
+        String userToken = bearerToken("João Stream", "USER");
+
+        mockMvc.perform(get("/admin/dashboard/stream")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/admin/dashboard/stream").header(HttpHeaders.AUTHORIZATION, userToken))
+                .andExpect(status().isForbidden());
+    }
+}
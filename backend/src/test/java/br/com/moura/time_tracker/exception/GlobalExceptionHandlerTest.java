@@ -0,0 +1,96 @@
+package br.com.moura.time_tracker.exception;
+
+import br.com.moura.time_tracker.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GlobalExceptionHandlerTest extends IntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        adminToken = bearerToken("Admin Erros", "ADMIN");
+    }
+
+    @Test
+    void invalidCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get("/work/list/cursor")
+                        .param("employeeId", UUID.randomUUID().toString())
+                        .param("cursor", "nao-e-um-cursor")
+                        .header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Cursor inválido"))
+                .andExpect(jsonPath("$.path").value("/work/list/cursor"));
+    }
+
+    @Test
+    void invalidRangeIsABadRequest() throws Exception {
+        mockMvc.perform(get("/admin/timeseries")
+                        .param("startDate", "2025-02-01")
+                        .param("endDate", "2025-01-01")
+                        .header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    void malformedDateIsABadRequest() throws Exception {
+        mockMvc.perform(get("/admin/timeseries")
+                        .param("startDate", "01/02/2025")
+                        .param("endDate", "2025-01-01")
+                        .header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Data inválida: 01/02/2025 (formato esperado: yyyy-MM-dd)"));
+    }
+
+    @Test
+    void malformedMonthReportsTheMonthFormat() throws Exception {
+        mockMvc.perform(get("/admin/payroll/timesheets")
+                        .param("month", "2025-01-01")
+                        .header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Mês inválido: 2025-01-01 (formato esperado: yyyy-MM)"));
+    }
+
+    @Test
+    void malformedUuidParameterIsABadRequest() throws Exception {
+        mockMvc.perform(get("/work/list/cursor")
+                        .param("employeeId", "nao-e-um-uuid")
+                        .header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Valor inválido para employeeId: nao-e-um-uuid"));
+    }
+
+    @Test
+    void unknownExportFormatIsABadRequestWithoutAttachment() throws Exception {
+        mockMvc.perform(get("/admin/report/export")
+                        .param("startDate", "2025-01-01")
+                        .param("endDate", "2025-01-31")
+                        .param("format", "xlsx")
+                        .header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Formato inválido: xlsx"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION));
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.moura.time_tracker.security;
+
+import br.com.moura.time_tracker.IntegrationTest;
+import br.com.moura.time_tracker.dto.JWTUserData;
+import br.com.moura.time_tracker.model.Employee;
+import br.com.moura.time_tracker.service.TerminalService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalResolverTest extends IntegrationTest {
+
+    @Autowired
+    private PrincipalResolver resolver;
+    @Autowired
+    private TerminalService terminalService;
+
+    @Test
+    void resolvesPrincipalFromTheEmployeeRecord() {
+        UUID id = createEmployee("Maria Principal", null, "ADMIN");
+        String token = jwtUtil.generateToken(id, id + TEST_EMAIL_DOMAIN, "Maria Principal", "ADMIN");
+
+        Optional<Employee> principal = resolver.resolve(jwtUtil.validateToken(token).orElseThrow());
+
+        assertThat(principal).hasValueSatisfying(employee -> {
+            assertThat(employee.getId()).isEqualTo(id);
+            assertThat(employee.getUsername()).isEqualTo(id + TEST_EMAIL_DOMAIN);
+            assertThat(employee.getName()).isEqualTo("Maria Principal");
+            assertThat(employee.getPassword()).isNull();
+            assertThat(employee.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+        });
+    }
+
+    @Test
+    void roleComesFromTheRecordAndChangesAfterEviction() {
+        UUID id = createEmployee("Nádia Principal", null, "ADMIN");
+        JWTUserData claims = new JWTUserData(id, id + TEST_EMAIL_DOMAIN, "Nádia Principal", "ADMIN");
+        assertThat(resolver.resolve(claims)).hasValueSatisfying(employee -> assertThat(employee.getRole()).isEqualTo("ADMIN"));
+
+        jdbcTemplate.update("UPDATE employees SET role = 'USER' WHERE id = ?", id);
+        // Ainda em cache até expirar ou ser invalidado
+        assertThat(resolver.resolve(claims)).hasValueSatisfying(employee -> assertThat(employee.getRole()).isEqualTo("ADMIN"));
+
+        resolver.evict(id);
+        // O token ainda diz ADMIN, mas vale o cadastro
+        assertThat(resolver.resolve(claims)).hasValueSatisfying(employee -> assertThat(employee.getRole()).isEqualTo("USER"));
+    }
+
+    @Test
+    void removedEmployeeIsRejectedAfterEviction() {
+        UUID id = createEmployee("Otávio Principal");
+        JWTUserData claims = new JWTUserData(id, id + TEST_EMAIL_DOMAIN, "Otávio Principal", "USER");
+        assertThat(resolver.resolve(claims)).isPresent();
+
+        jdbcTemplate.update("DELETE FROM employees WHERE id = ?", id);
+        resolver.evict(id);
+
+        assertThat(resolver.resolve(claims)).isEmpty();
+    }
+
+    @Test
+    void tokenWithoutNameClaimUsesTheRecordName() {
+        // Tokens emitidos antes da claim "name" continuam válidos até expirar
+        UUID id = createEmployee("Paula Principal");
+
+        Optional<Employee> principal = resolver.resolve(new JWTUserData(id, id + TEST_EMAIL_DOMAIN, null, "USER"));
+
+        assertThat(principal).hasValueSatisfying(employee -> assertThat(employee.getName()).isEqualTo("Paula Principal"));
+    }
+
+    @Test
+    void unknownEmployeeIsRejected() {
+        assertThat(resolver.resolve(new JWTUserData(UUID.randomUUID(), "ninguem@moura.com", "Ninguém", "ADMIN"))).isEmpty();
+    }
+
+    @Test
+    void terminalMustBeRegisteredAndNotRevoked() {
+        UUID terminalId = terminalService.issue("Portaria").getId();
+        JWTUserData claims = new JWTUserData(terminalId, null, "Portaria", JwtUtil.TERMINAL_ROLE);
+
+        assertThat(resolver.resolve(claims)).hasValueSatisfying(terminal -> {
+            assertThat(terminal.getId()).isEqualTo(terminalId);
+            assertThat(terminal.getRole()).isEqualTo(JwtUtil.TERMINAL_ROLE);
+        });
+
+        terminalService.revoke(terminalId);
+
+        assertThat(resolver.resolve(claims)).isEmpty();
+        assertThat(resolver.resolve(new JWTUserData(UUID.randomUUID(), null, "Forjado", JwtUtil.TERMINAL_ROLE))).isEmpty();
+    }
+
+    @Test
+    void rejectsClaimsWithoutRole() {
+        assertThat(resolver.resolve(new JWTUserData(UUID.randomUUID(), "joao@moura.com", "João", null))).isEmpty();
+    }
+}
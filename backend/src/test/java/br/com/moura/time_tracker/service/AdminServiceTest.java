@@ -0,0 +1,25 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.exception.InvalidRequestException;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdminServiceTest {
+
+    // O limite é verificado antes de qualquer consulta: repositórios não são necessários
+    private final AdminService adminService = new AdminService(null, null, null, null, Clock.systemDefaultZone());
+
+    @Test
+    void timeSeriesRejectsPeriodsLongerThanTheGranularityAllows() {
+        assertThatThrownBy(() -> adminService.getTimeSeries("2024-01-01", "2025-01-01", "day", null, null))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("366");
+        assertThatThrownBy(() -> adminService.getTimeSeries("2020-01-01", "2025-12-31", "quarter", null, null))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("1830");
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.IntegrationTest;
+import br.com.moura.time_tracker.exception.ClockQueueFullException;
+import br.com.moura.time_tracker.model.WorkRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClockBurstServiceTest extends IntegrationTest {
+
+    @Autowired
+    private PunchBatchService punchBatchService;
+    @Autowired
+    private Clock clock;
+
+    @Test
+    void noPunchIsLeftPendingAfterShutdown() throws InterruptedException {
+        List<UUID> employees = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            employees.add(createEmployee("Ulisses Rajada " + i));
+        }
+        ClockBurstService service = new ClockBurstService(punchBatchService, new SimpleMeterRegistry(), clock,
+                2, 1000, 5, Duration.ofMillis(100));
+        service.start();
+
+        // Batidas chegando enquanto o serviço desliga
+        List<CompletableFuture<WorkRecord>> acks = new ArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            started.countDown();
+            for (int round = 0; round < 50; round++) {
+                for (UUID employeeId : employees) {
+                    try {
+                        acks.add(service.clockIn(employeeId));
+                    } catch (ClockQueueFullException rejected) {
+                        return;
+                    }
+                }
+            }
+        });
+        producer.start();
+        started.await();
+        service.shutdown();
+        producer.join();
+
+        // Cada batida aceita foi gravada, recusada pelo PunchBatchService ou falhou com ClockQueueFullException
+        assertThat(acks).allMatch(CompletableFuture::isDone);
+        assertThatThrownBy(() -> service.clockIn(employees.get(0))).isInstanceOf(ClockQueueFullException.class);
+    }
+}
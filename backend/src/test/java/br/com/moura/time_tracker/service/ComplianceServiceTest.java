@@ -0,0 +1,129 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.IntegrationTest;
+import br.com.moura.time_tracker.repository.EmployeeRepository;
+import br.com.moura.time_tracker.repository.WorkRecordRepository;
+import br.com.moura.time_tracker.service.ComplianceService.ComplianceReportDTO;
+import br.com.moura.time_tracker.service.ComplianceService.EmployeeComplianceDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ComplianceServiceTest extends IntegrationTest {
+
+    // Semana de segunda (10/03/2025) a domingo, na escala padrão seg-sex 08:00-17:00 (480 min com intervalo)
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private ComplianceService complianceService;
+    @Autowired
+    private ScheduleService scheduleService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private WorkRecordRepository workRecordRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private Clock clock;
+
+    @BeforeEach
+    void reloadSchedules() {
+        // employee_schedules foi truncada: o índice não pode trazer escalas de outros testes
+        scheduleService.reload();
+    }
+
+    @Test
+    void deviationsOnlyCountAboveTheTolerance() {
+        UUID employeeId = createEmployee("Marta Conformidade");
+        // Segunda: 5 min de atraso (dentro da tolerância) e 5 min a menos no total
+        workday(employeeId, MONDAY, 8, 5, 17, 0);
+        // Terça: 20 min de atraso
+        workday(employeeId, MONDAY.plusDays(1), 8, 20, 17, 0);
+        // Quarta: saída 30 min antes
+        workday(employeeId, MONDAY.plusDays(2), 8, 0, 16, 30);
+        // Quinta: 1h a mais
+        workday(employeeId, MONDAY.plusDays(3), 8, 0, 18, 0);
+        // Sexta: falta. Sábado (folga): 2h que contam inteiras como hora extra
+        insertShift(employeeId, MONDAY.plusDays(5).atTime(9, 0), MONDAY.plusDays(5).atTime(11, 0));
+
+        EmployeeComplianceDTO row = rowOf(complianceService.compute(MONDAY.toString(), MONDAY.plusDays(6).toString()), employeeId);
+
+        assertThat(row.workdays()).isEqualTo(5);
+        assertThat(row.daysWorked()).isEqualTo(5);
+        assertThat(row.missingDays()).isEqualTo(1);
+        assertThat(row.lateDays()).isEqualTo(1);
+        assertThat(row.latenessMinutes()).isEqualTo(20);
+        assertThat(row.earlyLeaveDays()).isEqualTo(1);
+        assertThat(row.earlyLeaveMinutes()).isEqualTo(30);
+        assertThat(row.expectedMinutes()).isEqualTo(5 * 480);
+        assertThat(row.overtimeMinutes()).isEqualTo(60 + 120);
+    }
+
+    @Test
+    void todayIsNotEvaluated() {
+        UUID employeeId = createEmployee("Nina Conformidade");
+        LocalDate today = LocalDate.now(clock);
+        insertShift(employeeId, today.atTime(0, 0), today.atTime(0, 30));
+
+        EmployeeComplianceDTO row = rowOf(complianceService.compute(today.toString(), today.toString()), employeeId);
+
+        assertThat(row.workdays()).isZero();
+        assertThat(row.daysWorked()).isZero();
+        assertThat(row.missingDays()).isZero();
+        assertThat(row.overtimeMinutes()).isZero();
+    }
+
+    @Test
+    void chunkedComputationMatchesTheSinglePass() {
+        List<UUID> employees = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            UUID employeeId = createEmployee("Funcionário Bloco " + i);
+            for (int day = 0; day < 5; day++) {
+                workday(employeeId, MONDAY.plusDays(day), 8, i * 7, 17, day * 10);
+            }
+            employees.add(employeeId);
+        }
+
+        // Blocos de 2 funcionários; fora do proxy do Spring, então a transação (stream) é aberta aqui
+        ComplianceService chunked = new ComplianceService(employeeRepository, workRecordRepository,
+                scheduleService, clock, 10, 2, 2);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            ComplianceReportDTO expected = complianceService.compute(MONDAY.toString(), MONDAY.plusDays(6).toString());
+            ComplianceReportDTO actual = transaction.execute(
+                    status -> chunked.compute(MONDAY.toString(), MONDAY.plusDays(6).toString()));
+
+            assertThat(actual.employees()).isEqualTo(expected.employees());
+            assertThat(actual.rows()).containsExactlyInAnyOrderElementsOf(expected.rows());
+            for (UUID employeeId : employees) {
+                assertThat(rowOf(actual, employeeId).daysWorked()).isEqualTo(5);
+            }
+        } finally {
+            chunked.shutdown();
+        }
+    }
+
+    // Expediente com almoço das 12:00 às 13:00
+    private void workday(UUID employeeId, LocalDate date, int inHour, int inMinute, int outHour, int outMinute) {
+        insertShift(employeeId, date.atTime(inHour, inMinute), date.atTime(12, 0));
+        insertShift(employeeId, date.atTime(13, 0), date.atTime(outHour, outMinute));
+    }
+
+    private static EmployeeComplianceDTO rowOf(ComplianceReportDTO report, UUID employeeId) {
+        return report.rows().stream()
+                .filter(row -> row.employeeId().equals(employeeId))
+                .findFirst()
+                .orElseThrow();
+    }
+}
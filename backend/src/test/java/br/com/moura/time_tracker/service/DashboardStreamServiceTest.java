@@ -0,0 +1,168 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.IntegrationTest;
+import br.com.moura.time_tracker.event.EmployeeStatusChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.autoconfigure.JdbcConnectionDetails;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class DashboardStreamServiceTest extends IntegrationTest {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private WorkService workService;
+    @Autowired
+    private WebApplicationContext context;
+    @Autowired
+    private AdminService adminService;
+    @Autowired
+    private JdbcConnectionDetails connectionDetails;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @Test
+    void notifiesOtherInstancesOnlyWhenTheTransactionCommits() throws Exception {
+        UUID committed = UUID.randomUUID();
+        UUID rolledBack = UUID.randomUUID();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        try (Connection listener = dataSource.getConnection()) {
+            try (Statement statement = listener.createStatement()) {
+                statement.execute("LISTEN dashboard_status");
+            }
+
+            transaction.executeWithoutResult(status -> {
+                // Eventos repetidos na mesma transação viram uma notificação por funcionário
+                eventPublisher.publishEvent(new EmployeeStatusChangedEvent(committed));
+                eventPublisher.publishEvent(new EmployeeStatusChangedEvent(committed));
+            });
+            transaction.executeWithoutResult(status -> {
+                eventPublisher.publishEvent(new EmployeeStatusChangedEvent(rolledBack));
+                status.setRollbackOnly();
+            });
+
+            List<String> payloads = new ArrayList<>();
+            PGNotification[] notifications = listener.unwrap(PGConnection.class).getNotifications(1000);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) payloads.add(notification.getParameter());
+            }
+            assertThat(payloads).containsExactly(committed.toString());
+        }
+    }
+
+    @Test
+    void streamReceivesChangesDeliveredThroughPostgres() throws Exception {
+        UUID employeeId = createEmployee("Ana Stream");
+        String token = bearerToken("Admin Stream", "ADMIN");
+
+        // A conexão de LISTEN da aplicação precisa estar ativa antes da batida
+        await().atMost(Duration.ofSeconds(10)).until(() -> jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_stat_activity WHERE query = 'LISTEN dashboard_status'", Integer.class) > 0);
+
+        MvcResult stream = mockMvc.perform(get("/admin/dashboard/stream")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> stream.getResponse().getContentAsString().contains("event:snapshot"));
+
+        workService.clockIn(employeeId);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(stream.getResponse().getContentAsString())
+                .contains("event:status")
+                .contains(employeeId.toString()));
+    }
+
+    @Test
+    void slowClientIsDroppedWithoutDelayingTheOthers() throws InterruptedException {
+        List<UUID> employees = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            UUID employeeId = createEmployee("Vera Stream " + i);
+            workService.clockIn(employeeId);
+            employees.add(employeeId);
+        }
+        DashboardStreamService service = new DashboardStreamService(adminService, jdbcTemplate, connectionDetails,
+                Duration.ofMinutes(1), Duration.ofMinutes(1), 100, Duration.ofSeconds(5), Duration.ofMillis(20), 4);
+        CountDownLatch stalled = new CountDownLatch(1);
+        List<String> received = new CopyOnWriteArrayList<>();
+        SseEmitter slow = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                try {
+                    stalled.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+        SseEmitter fast = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                received.add(builder.build().stream().map(part -> part.getData().toString()).reduce("", String::concat));
+            }
+        };
+
+        try {
+            service.subscribe(slow, null);
+            service.subscribe(fast, null);
+            await().atMost(Duration.ofSeconds(5)).until(() -> service.clientCount() == 2);
+
+            // Chegam juntas: uma consulta e uma remessa com um evento por funcionário.
+            // O cliente travado acumula remessas até estourar a fila e é desconectado
+            for (UUID employeeId : employees) {
+                service.statusChanged(List.of(employeeId));
+                Thread.sleep(50);
+            }
+            service.statusChanged(employees);
+
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+                assertThat(received).filteredOn(event -> event.contains("event:status")).hasSize(2 * employees.size());
+                assertThat(service.clientCount()).isEqualTo(1);
+            });
+            assertThat(received.get(0)).contains("event:snapshot");
+            assertThat(String.join("", received)).contains(employees.get(9).toString());
+        } finally {
+            stalled.countDown();
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.IntegrationTest;
+import br.com.moura.time_tracker.dto.CursorPage;
+import br.com.moura.time_tracker.dto.EmployeeResponse;
+import br.com.moura.time_tracker.dto.ScheduleDto;
+import br.com.moura.time_tracker.dto.WeeklyScheduleDto;
+import br.com.moura.time_tracker.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeServiceTest extends IntegrationTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Test
+    void directoryCursorWalksEveryMatchOnceInNameOrder() {
+        // Nomes repetidos (desempate por id) e um "|" no nome, que também é o separador do cursor
+        List<UUID> created = new ArrayList<>();
+        for (String name : List.of("Zeta Diretório", "Alfa Diretório", "Beta Diretório", "Beta Diretório",
+                "Beta Diretório", "Gama | Diretório", "Delta Diretório")) {
+            created.add(createEmployee(name));
+        }
+
+        List<UUID> expected = employeeService.searchDirectory("diretório", null, 100).content().stream()
+                .map(EmployeeResponse::getId).toList();
+
+        List<UUID> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<EmployeeResponse> page = employeeService.searchDirectory("diretório", cursor, 2);
+            assertThat(page.content()).hasSizeLessThanOrEqualTo(2);
+            page.content().forEach(employee -> walked.add(employee.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(expected).containsExactlyInAnyOrderElementsOf(created);
+        assertThat(walked).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void fullListKeepsTheOriginalContract() {
+        UUID second = createEmployee("Zuleica Lista");
+        UUID first = createEmployee("Abigail Lista");
+
+        List<EmployeeResponse> all = employeeService.findAll();
+
+        assertThat(all).extracting(EmployeeResponse::getId).containsSubsequence(first, second);
+        assertThat(all).filteredOn(employee -> employee.getId().equals(first)).singleElement()
+                .satisfies(employee -> assertThat(employee.getEmail()).isEqualTo(first + TEST_EMAIL_DOMAIN));
+    }
+
+    @Test
+    void tamperedDirectoryCursorIsRejected() {
+        String badId = Base64.getUrlEncoder().encodeToString("abc|Beta".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : List.of("%%%", badId)) {
+            assertThatThrownBy(() -> employeeService.searchDirectory(null, cursor, 10))
+                    .isInstanceOf(InvalidRequestException.class)
+                    .hasMessage("Cursor inválido");
+        }
+    }
+
+    @Test
+    void legacyScheduleUpdateReplacesWeekdayPattern() {
+        UUID employeeId = createEmployee("Olga Escala");
+        employeeService.updateSchedule(employeeId, new ScheduleDto("07:00", "16:00"));
+        employeeService.updateSchedule(employeeId, new ScheduleDto("09:00", "18:00"));
+
+        WeeklyScheduleDto.Week week = scheduleService.getWeeklySchedule(employeeId).getWeeks().get(0);
+        assertThat(week.getFriday().getStart()).isEqualTo(LocalTime.of(9, 0));
+        assertThat(week.getSaturday()).isNull();
+        assertThat(employeeService.getEmployeeById(employeeId).getWorkStartTime()).isEqualTo("09:00");
+    }
+
+    @Test
+    void legacyScheduleUpdateDoesNotOverwriteRotations() {
+        UUID employeeId = createEmployee("Paulo Escala");
+        WeeklyScheduleDto.Shift morning = new WeeklyScheduleDto.Shift(LocalTime.of(6, 0), LocalTime.of(14, 0));
+        WeeklyScheduleDto.Shift night = new WeeklyScheduleDto.Shift(LocalTime.of(22, 0), LocalTime.of(6, 0));
+        WeeklyScheduleDto rotation = new WeeklyScheduleDto(LocalDate.of(2025, 3, 10), List.of(
+                new WeeklyScheduleDto.Week(morning, morning, morning, morning, morning, morning, null),
+                new WeeklyScheduleDto.Week(night, night, night, night, night, null, null)));
+        scheduleService.updateWeeklySchedule(employeeId, rotation);
+
+        assertThatThrownBy(() -> employeeService.updateSchedule(employeeId, new ScheduleDto("08:00", "17:00")))
+                .isInstanceOf(InvalidRequestException.class);
+
+        WeeklyScheduleDto stored = scheduleService.getWeeklySchedule(employeeId);
+        assertThat(stored.getWeeks()).hasSize(2);
+        assertThat(stored.getWeeks().get(0).getSaturday()).isEqualTo(morning);
+        assertThat(stored.getWeeks().get(1).getMonday()).isEqualTo(night);
+    }
+}
@@ -0,0 +1,149 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.IntegrationTest;
+import br.com.moura.time_tracker.service.PayrollService.PayrollJobDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PayrollServiceTest extends IntegrationTest {
+
+    private static final String MONTH = "2025-01";
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final String STOPPED_OWNER = "instancia-parada";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private Clock clock;
+
+    private final List<PayrollService> services = new ArrayList<>();
+
+    @AfterEach
+    void shutdownServices() {
+        services.forEach(PayrollService::shutdown);
+    }
+
+    @Test
+    void orphanedJobResumesOnlyItsPendingChunks() throws InterruptedException {
+        for (int i = 0; i < 6; i++) {
+            UUID employeeId = createEmployee("Tânia Folha " + i);
+            insertShift(employeeId, LocalDateTime.of(2025, 1, 10, 8, 0), LocalDateTime.of(2025, 1, 10, 12, 0));
+            insertShift(employeeId, LocalDateTime.of(2025, 1, 10, 13, 0), LocalDateTime.of(2025, 1, 10, 17 + i % 2, 0));
+        }
+        PayrollService first = service();
+        PayrollJobDTO job = awaitFinished(first, first.closeMonth(MONTH).id());
+        assertThat(job.status()).isEqualTo("COMPLETED");
+        assertThat(job.totalChunks()).isGreaterThan(2);
+        List<Map<String, Object>> expected = timesheets();
+        Map<Integer, Object> completedAt = chunkCompletion(job.id());
+
+        // Queda no meio de um lote: resultado do lote desfeito, lote PENDING e execução RUNNING com dono parado
+        int crashed = simulateCrashOnChunk(job.id());
+        assertThat(timesheets()).hasSizeLessThan(expected.size());
+
+        // Dono ainda vivo (heartbeat recente): nem a retomada nem um novo disparo assumem a execução
+        jdbcTemplate.update("UPDATE payroll_jobs SET heartbeat_at = ? WHERE id = ?", LocalDateTime.now(clock), job.id());
+        PayrollService second = service();
+        second.resumeInterrupted();
+        assertThat(second.closeMonth(MONTH).id()).isEqualTo(job.id());
+        assertThat(owner(job.id())).isEqualTo(STOPPED_OWNER);
+        assertThat(chunkStatus(job.id(), crashed)).isEqualTo("PENDING");
+
+        // Heartbeat vencido: a outra instância assume e refaz só o lote pendente
+        jdbcTemplate.update("UPDATE payroll_jobs SET heartbeat_at = ? WHERE id = ?",
+                LocalDateTime.now(clock).minusMinutes(10), job.id());
+        second.resumeInterrupted();
+        PayrollJobDTO resumed = awaitFinished(second, job.id());
+
+        assertThat(resumed.status()).isEqualTo("COMPLETED");
+        assertThat(resumed.completedChunks()).isEqualTo(resumed.totalChunks());
+        assertThat(resumed.rowsWritten()).isEqualTo(job.rowsWritten());
+        assertThat(owner(job.id())).isNotEqualTo(STOPPED_OWNER);
+        assertThat(timesheets()).containsExactlyElementsOf(expected);
+        Map<Integer, Object> afterResume = chunkCompletion(job.id());
+        for (Map.Entry<Integer, Object> chunk : completedAt.entrySet()) {
+            if (chunk.getKey() != crashed) {
+                assertThat(afterResume.get(chunk.getKey())).isEqualTo(chunk.getValue());
+            }
+        }
+    }
+
+    @Test
+    void workersMustLeaveConnectionsForRequests() {
+        assertThatThrownBy(() -> new PayrollService(jdbcTemplate, transactionManager, dataSource, clock,
+                2, 1000, Duration.ofMinutes(2)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private PayrollService service() {
+        PayrollService service = new PayrollService(jdbcTemplate, transactionManager, dataSource, clock,
+                2, 2, Duration.ofMinutes(2));
+        services.add(service);
+        return service;
+    }
+
+    // Primeiro lote com resultado gravado (os ids são aleatórios, então o lote varia)
+    private int simulateCrashOnChunk(UUID jobId) {
+        String inChunk = "t.month = ? AND (c.from_employee_id IS NULL OR t.employee_id >= c.from_employee_id) " +
+                "AND (c.to_employee_id IS NULL OR t.employee_id < c.to_employee_id)";
+        int chunkNo = jdbcTemplate.queryForObject("SELECT min(c.chunk_no) FROM payroll_job_chunks c WHERE c.job_id = ? " +
+                "AND EXISTS (SELECT 1 FROM monthly_timesheets t WHERE " + inChunk + ")", Integer.class, jobId, FIRST_DAY);
+        int removed = jdbcTemplate.update("DELETE FROM monthly_timesheets t USING payroll_job_chunks c " +
+                "WHERE c.job_id = ? AND c.chunk_no = ? AND " + inChunk, jobId, chunkNo, FIRST_DAY);
+        jdbcTemplate.update("UPDATE payroll_job_chunks SET status = 'PENDING', rows_written = NULL, completed_at = NULL " +
+                "WHERE job_id = ? AND chunk_no = ?", jobId, chunkNo);
+        jdbcTemplate.update("UPDATE payroll_jobs SET status = 'RUNNING', completed_chunks = completed_chunks - 1, " +
+                "rows_written = rows_written - ?, finished_at = NULL, owner = ?, heartbeat_at = ? WHERE id = ?",
+                removed, STOPPED_OWNER, LocalDateTime.now(clock).minusMinutes(10), jobId);
+        return chunkNo;
+    }
+
+    private static PayrollJobDTO awaitFinished(PayrollService service, UUID jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        PayrollJobDTO job = service.getJob(jobId);
+        while (job.status().equals("RUNNING") && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            job = service.getJob(jobId);
+        }
+        return job;
+    }
+
+    private List<Map<String, Object>> timesheets() {
+        return jdbcTemplate.queryForList("SELECT employee_id, reason_id, total_seconds, record_count " +
+                "FROM monthly_timesheets WHERE month = ? ORDER BY employee_id, reason_id", FIRST_DAY);
+    }
+
+    private Map<Integer, Object> chunkCompletion(UUID jobId) {
+        Map<Integer, Object> completion = new HashMap<>();
+        jdbcTemplate.query("SELECT chunk_no, completed_at FROM payroll_job_chunks WHERE job_id = ?",
+                rs -> { completion.put(rs.getInt("chunk_no"), rs.getTimestamp("completed_at")); }, jobId);
+        return completion;
+    }
+
+    private String chunkStatus(UUID jobId, int chunkNo) {
+        return jdbcTemplate.queryForObject("SELECT status FROM payroll_job_chunks WHERE job_id = ? AND chunk_no = ?",
+                String.class, jobId, chunkNo);
+    }
+
+    private String owner(UUID jobId) {
+        return jdbcTemplate.queryForObject("SELECT owner FROM payroll_jobs WHERE id = ?", String.class, jobId);
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.IntegrationTest;
+import br.com.moura.time_tracker.dto.CheckoutRequestDTO;
+import br.com.moura.time_tracker.dto.PunchEventDTO;
+import br.com.moura.time_tracker.exception.DataNotFoundException;
+import br.com.moura.time_tracker.service.PunchBatchService.PunchOutcome;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PunchBatchServiceTest extends IntegrationTest {
+
+    @Autowired
+    private PunchBatchService punchBatchService;
+    @Autowired
+    private WorkService workService;
+    @Autowired
+    private Clock clock;
+
+    @Test
+    void punchesAreAppliedInChronologicalOrderPerEmployee() {
+        UUID employeeId = createEmployee("Igor Terminal");
+        LocalDateTime day = LocalDateTime.now(clock).minusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+        // Enviadas fora de ordem, como chegam de um terminal que ficou offline
+        List<PunchOutcome> outcomes = punchBatchService.ingest(List.of(
+                punch(employeeId, "checkout", day.plusHours(9), "end_shift"),
+                punch(employeeId, "checkin", day.plusHours(5), null),
+                punch(employeeId, "checkout", day.plusHours(4), "lunch_start"),
+                punch(employeeId, "checkin", day, null)));
+
+        assertThat(outcomes).extracting(PunchOutcome::index).containsExactly(0, 1, 2, 3);
+        assertThat(outcomes).allMatch(PunchOutcome::accepted);
+
+        List<Map<String, Object>> shifts = jdbcTemplate.queryForList(
+                "SELECT checkin_time, duration_seconds, reason_id FROM work_records WHERE employee_id = ? ORDER BY checkin_time",
+                employeeId);
+        assertThat(shifts).extracting(row -> row.get("duration_seconds")).containsExactly(4 * 3600L, 4 * 3600L);
+        assertThat(shifts).extracting(row -> row.get("reason_id")).containsExactly("LUNCH_START", "END_SHIFT");
+
+        Map<String, Object> status = jdbcTemplate.queryForMap(
+                "SELECT checkin_time, checkout_time FROM employee_current_status WHERE employee_id = ?", employeeId);
+        assertThat(status.get("checkout_time")).isNotNull();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(record_count) FROM employee_daily_totals WHERE employee_id = ?", Integer.class, employeeId))
+                .isEqualTo(2);
+    }
+
+    @Test
+    void invalidPunchesAreRejectedWithoutAffectingTheRest() {
+        UUID employeeId = createEmployee("Júlia Terminal");
+        LocalDateTime day = LocalDateTime.now(clock).minusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+        List<PunchOutcome> outcomes = punchBatchService.ingest(List.of(
+                punch(employeeId, "checkin", day, null),
+                punch(employeeId, "checkin", day.plusHours(1), null),
+                punch(UUID.randomUUID(), "checkin", day, null),
+                punch(employeeId, "checkout", day.plusHours(8), "end_shift")));
+
+        assertThat(outcomes).extracting(PunchOutcome::accepted).containsExactly(true, false, false, true);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM work_records WHERE employee_id = ?", Integer.class, employeeId)).isEqualTo(1);
+    }
+
+    @Test
+    void overlappingBatchesLockEmployeesInTheSameOrder() throws Exception {
+        List<UUID> employees = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            UUID employeeId = createEmployee("Funcionário Lote " + i);
+            // Com linha de status: é ela que a ingestão trava
+            workService.clockIn(employeeId);
+            employees.add(employeeId);
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        // Mesmos funcionários em ordens opostas: sem ordem de travas, um lote esperaria pelo outro em ciclo
+        List<PunchEventDTO> forward = new ArrayList<>();
+        List<PunchEventDTO> backward = new ArrayList<>();
+        for (UUID employeeId : employees) {
+            forward.add(punch(employeeId, "checkout", now, "end_shift"));
+            backward.add(0, punch(employeeId, "checkout", now, "end_shift"));
+        }
+
+        List<Callable<Object>> tasks = new ArrayList<>();
+        tasks.add(() -> punchBatchService.ingest(forward));
+        tasks.add(() -> punchBatchService.ingest(backward));
+        for (UUID employeeId : employees.subList(0, 5)) {
+            tasks.add(() -> workService.clockOut(employeeId, checkout()));
+        }
+
+        List<Object> outcomes = WorkServiceTest.runConcurrently(tasks);
+
+        // Só é aceitável perder a corrida ("sem turno aberto"), nunca deadlock ou timeout
+        assertThat(outcomes).noneMatch(outcome -> outcome instanceof Throwable && !(outcome instanceof DataNotFoundException));
+        // Cada turno fechado exatamente uma vez, por quem chegou primeiro
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM work_records WHERE checkout_time IS NULL AND employee_id = ANY(?)",
+                Integer.class, (Object) employees.toArray(UUID[]::new))).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(record_count) FROM employee_daily_totals WHERE employee_id = ANY(?)",
+                Integer.class, (Object) employees.toArray(UUID[]::new))).isEqualTo(employees.size());
+    }
+
+    private static PunchEventDTO punch(UUID employeeId, String type, LocalDateTime timestamp, String reason) {
+        return PunchEventDTO.builder()
+                .employeeId(employeeId)
+                .type(type)
+                .timestamp(timestamp)
+                .reason_id(reason)
+                .build();
+    }
+
+    private static CheckoutRequestDTO checkout() {
+        CheckoutRequestDTO request = new CheckoutRequestDTO();
+        request.setReason_id("end_shift");
+        return request;
+    }
+}
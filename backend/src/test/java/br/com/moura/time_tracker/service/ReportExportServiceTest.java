@@ -0,0 +1,46 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.IntegrationTest;
+import br.com.moura.time_tracker.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReportExportServiceTest extends IntegrationTest {
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Test
+    void csvNeutralizesCellsThatWouldBeReadAsFormulas() throws Exception {
+        UUID employeeId = createEmployee("=HYPERLINK(\"http://exemplo\")");
+        UUID recordId = insertShift(employeeId, LocalDateTime.of(2025, 3, 10, 8, 0), LocalDateTime.of(2025, 3, 10, 17, 0));
+        jdbcTemplate.update("UPDATE work_records SET reason_id = 'OTHER', details = '@SUM(A1:A9)' WHERE id = ?", recordId);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reportExportService.export(employeeId, LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 10),
+                ReportExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[1])
+                .contains(",\"'=HYPERLINK(\"\"http://exemplo\"\")\",")
+                .endsWith(",'@SUM(A1:A9)")
+                .contains(",32400,");
+    }
+
+    @Test
+    void unknownFormatIsRejected() {
+        assertThat(ReportExportService.Format.fromCode("NDJSON")).isEqualTo(ReportExportService.Format.NDJSON);
+        assertThatThrownBy(() -> ReportExportService.Format.fromCode("xlsx"))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.model.EmployeeSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleIndexTest {
+
+    private static final int BREAK_MINUTES = 60;
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 10);
+
+    @Test
+    void employeesWithoutScheduleUseTheDefaultWeekdays() {
+        ScheduleIndex index = ScheduleIndex.compile(List.of(), BREAK_MINUTES);
+        UUID employeeId = UUID.randomUUID();
+        int slot = index.slotOf(employeeId);
+
+        assertThat(slot).isEqualTo(ScheduleIndex.DEFAULT_SLOT);
+        assertThat(index.startMinute(slot, MONDAY.toEpochDay())).isEqualTo(8 * 60);
+        assertThat(index.endMinute(slot, MONDAY.toEpochDay())).isEqualTo(17 * 60);
+        assertThat(index.expectedMinutes(employeeId, MONDAY)).isEqualTo(9 * 60 - BREAK_MINUTES);
+        assertThat(index.isWorkday(slot, MONDAY.plusDays(5).toEpochDay())).isFalse();
+        assertThat(index.isWorkday(slot, MONDAY.plusDays(6).toEpochDay())).isFalse();
+    }
+
+    @Test
+    void rotationWeeksRepeatFromTheAnchorInBothDirections() {
+        UUID employeeId = UUID.randomUUID();
+        ScheduleIndex index = ScheduleIndex.compile(List.of(
+                week(employeeId, 0, MONDAY, DayOfWeek.MONDAY, LocalTime.of(6, 0), LocalTime.of(14, 0)),
+                week(employeeId, 1, MONDAY, DayOfWeek.MONDAY, LocalTime.of(14, 0), LocalTime.of(22, 0))), BREAK_MINUTES);
+        int slot = index.slotOf(employeeId);
+
+        assertThat(slot).isNotEqualTo(ScheduleIndex.DEFAULT_SLOT);
+        assertThat(index.startMinute(slot, MONDAY.toEpochDay())).isEqualTo(6 * 60);
+        assertThat(index.startMinute(slot, MONDAY.plusWeeks(1).toEpochDay())).isEqualTo(14 * 60);
+        assertThat(index.startMinute(slot, MONDAY.plusWeeks(2).toEpochDay())).isEqualTo(6 * 60);
+        // Antes da âncora o ciclo continua: a semana anterior é a última do revezamento
+        assertThat(index.startMinute(slot, MONDAY.minusWeeks(1).toEpochDay())).isEqualTo(14 * 60);
+        // Só segunda na escala: os demais dias são folga, sem cair no padrão
+        assertThat(index.startMinute(slot, MONDAY.plusDays(1).toEpochDay())).isEqualTo(ScheduleIndex.NO_SHIFT);
+    }
+
+    @Test
+    void overnightShiftsEndAfterMidnightOfTheShiftDay() {
+        UUID employeeId = UUID.randomUUID();
+        ScheduleIndex index = ScheduleIndex.compile(List.of(
+                week(employeeId, 0, MONDAY, DayOfWeek.FRIDAY, LocalTime.of(22, 0), LocalTime.of(6, 0))), BREAK_MINUTES);
+        int slot = index.slotOf(employeeId);
+        long friday = MONDAY.plusDays(4).toEpochDay();
+
+        assertThat(index.startMinute(slot, friday)).isEqualTo(22 * 60);
+        assertThat(index.endMinute(slot, friday)).isEqualTo(24 * 60 + 6 * 60);
+        assertThat(index.expectedMinutes(slot, friday)).isEqualTo(8 * 60 - BREAK_MINUTES);
+        // O sábado em que o turno termina continua sendo folga
+        assertThat(index.isWorkday(slot, friday + 1)).isFalse();
+    }
+
+    @Test
+    void breakIsDeductedOnlyAboveSixHours() {
+        UUID sixHours = UUID.randomUUID();
+        UUID longer = UUID.randomUUID();
+        ScheduleIndex index = ScheduleIndex.compile(List.of(
+                week(sixHours, 0, MONDAY, DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(14, 0)),
+                week(longer, 0, MONDAY, DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(14, 30))), BREAK_MINUTES);
+
+        assertThat(index.expectedMinutes(sixHours, MONDAY)).isEqualTo(6 * 60);
+        assertThat(index.expectedMinutes(longer, MONDAY)).isEqualTo(6 * 60 + 30 - BREAK_MINUTES);
+        // Soma do período: uma segunda por semana
+        assertThat(index.expectedMinutes(index.slotOf(sixHours), MONDAY.toEpochDay(), MONDAY.plusDays(13).toEpochDay()))
+                .isEqualTo(2 * 6 * 60);
+    }
+
+    private static EmployeeSchedule week(UUID employeeId, int rotationWeek, LocalDate anchor,
+                                         DayOfWeek day, LocalTime start, LocalTime end) {
+        EmployeeSchedule row = EmployeeSchedule.builder()
+                .employeeId(employeeId)
+                .rotationWeek((short) rotationWeek)
+                .rotationAnchor(anchor)
+                .build();
+        row.setShift(day, start, end);
+        return row;
+    }
+}
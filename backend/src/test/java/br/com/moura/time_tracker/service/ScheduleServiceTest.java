@@ -0,0 +1,86 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.IntegrationTest;
+import br.com.moura.time_tracker.dto.BulkScheduleRequestDTO;
+import br.com.moura.time_tracker.dto.BulkScheduleResponseDTO;
+import br.com.moura.time_tracker.dto.BulkScheduleResultDTO;
+import br.com.moura.time_tracker.dto.WeeklyScheduleDto;
+import br.com.moura.time_tracker.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScheduleServiceTest extends IntegrationTest {
+
+    private static final WeeklyScheduleDto.Shift MORNING = new WeeklyScheduleDto.Shift(LocalTime.of(6, 0), LocalTime.of(14, 0));
+    private static final WeeklyScheduleDto.Shift NIGHT = new WeeklyScheduleDto.Shift(LocalTime.of(22, 0), LocalTime.of(6, 0));
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Test
+    void bulkAssignmentByIdsReportsMissingEmployeesAndTrimsOldWeeks() {
+        List<UUID> employees = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            UUID employeeId = createEmployee("Quésia Escala " + i);
+            scheduleService.updateWeeklySchedule(employeeId, schedule(week(MORNING), week(NIGHT)));
+            employees.add(employeeId);
+        }
+        UUID missing = UUID.randomUUID();
+        List<UUID> requested = new ArrayList<>(employees);
+        requested.add(missing);
+
+        BulkScheduleResponseDTO response = scheduleService.assignInBulk(request(requested, null, schedule(week(NIGHT))));
+
+        assertThat(response.getUpdated()).isEqualTo(3);
+        assertThat(response.getNotFound()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BulkScheduleResultDTO::getEmployeeId).containsExactlyElementsOf(requested);
+        assertThat(response.getResults()).extracting(BulkScheduleResultDTO::getStatus)
+                .containsExactly("updated", "updated", "updated", "not_found");
+        for (UUID employeeId : employees) {
+            WeeklyScheduleDto stored = scheduleService.getWeeklySchedule(employeeId);
+            assertThat(stored.getWeeks()).hasSize(1);
+            assertThat(stored.getWeeks().get(0).getMonday()).isEqualTo(NIGHT);
+        }
+        assertThat(scheduleService.index().slotOf(employees.get(0))).isNotEqualTo(ScheduleIndex.DEFAULT_SLOT);
+    }
+
+    @Test
+    void bulkAssignmentBySearchNeedsAtLeastThreeCharacters() {
+        UUID matching = createEmployee("Rúbia Turno Noite");
+        UUID other = createEmployee("Sérgio Escala");
+
+        assertThatThrownBy(() -> scheduleService.assignInBulk(request(null, " no ", schedule(week(NIGHT)))))
+                .isInstanceOf(InvalidRequestException.class);
+
+        BulkScheduleResponseDTO response = scheduleService.assignInBulk(request(null, "turno noite", schedule(week(NIGHT))));
+
+        assertThat(response.getResults()).extracting(BulkScheduleResultDTO::getEmployeeId).containsExactly(matching);
+        assertThat(scheduleService.getWeeklySchedule(other).getWeeks().get(0).getMonday().getStart())
+                .isEqualTo(LocalTime.of(8, 0));
+    }
+
+    private static BulkScheduleRequestDTO request(List<UUID> employeeIds, String search, WeeklyScheduleDto schedule) {
+        BulkScheduleRequestDTO request = new BulkScheduleRequestDTO();
+        request.setEmployeeIds(employeeIds);
+        request.setSearch(search);
+        request.setSchedule(schedule);
+        return request;
+    }
+
+    private static WeeklyScheduleDto schedule(WeeklyScheduleDto.Week... weeks) {
+        return new WeeklyScheduleDto(LocalDate.of(2025, 3, 10), List.of(weeks));
+    }
+
+    private static WeeklyScheduleDto.Week week(WeeklyScheduleDto.Shift shift) {
+        return new WeeklyScheduleDto.Week(shift, shift, shift, shift, shift, null, null);
+    }
+}
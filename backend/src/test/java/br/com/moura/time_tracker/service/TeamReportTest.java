@@ -0,0 +1,80 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.IntegrationTest;
+import br.com.moura.time_tracker.dto.WorkRecordResponseDTO;
+import br.com.moura.time_tracker.service.AdminService.EmployeeReportDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeamReportTest extends IntegrationTest {
+
+    private static final String DEPARTMENT = "Linha Seções";
+
+    @Autowired
+    private AdminService adminService;
+
+    @Test
+    void departmentReportHasOneSectionPerEmployeeIncludingThoseWithoutRecords() {
+        UUID ana = createEmployee("Ana Seção", DEPARTMENT);
+        UUID bruno = createEmployee("Bruno Seção", DEPARTMENT);
+        UUID carla = createEmployee("Carla Seção", DEPARTMENT);
+        UUID daniel = createEmployee("Daniel Seção", DEPARTMENT);
+        UUID otherTeam = createEmployee("Elisa Seção", "Outra Linha");
+
+        insertShift(ana, LocalDateTime.of(2025, 3, 10, 8, 0), LocalDateTime.of(2025, 3, 10, 12, 0));
+        insertShift(ana, LocalDateTime.of(2025, 3, 11, 8, 0), LocalDateTime.of(2025, 3, 11, 10, 0));
+        // Bruno: sem registro nenhum. Carla: só fora do período. Daniel: um turno ainda aberto
+        insertShift(carla, LocalDateTime.of(2025, 2, 28, 8, 0), LocalDateTime.of(2025, 2, 28, 17, 0));
+        insertShift(daniel, LocalDateTime.of(2025, 3, 12, 8, 0), null);
+        insertShift(otherTeam, LocalDateTime.of(2025, 3, 10, 8, 0), LocalDateTime.of(2025, 3, 10, 17, 0));
+
+        List<EmployeeReportDTO> sections = adminService.generateTeamReport(null, DEPARTMENT, false, "2025-03-01", "2025-03-31");
+
+        assertThat(sections).extracting(EmployeeReportDTO::employeeId).containsExactly(ana, bruno, carla, daniel);
+        assertThat(sections).extracting(EmployeeReportDTO::department).containsOnly(DEPARTMENT);
+
+        EmployeeReportDTO anaSection = sections.get(0);
+        assertThat(anaSection.totalSeconds()).isEqualTo(6 * 3600);
+        assertThat(anaSection.records()).extracting(WorkRecordResponseDTO::getDate).containsExactly("2025-03-11", "2025-03-10");
+
+        assertThat(sections.get(1).records()).isEmpty();
+        assertThat(sections.get(1).totalSeconds()).isZero();
+        assertThat(sections.get(2).records()).isEmpty();
+        assertThat(sections.get(3).records()).hasSize(1);
+        assertThat(sections.get(3).totalSeconds()).isZero();
+    }
+
+    @Test
+    void employeesWithTheSameNameGetSeparateSections() {
+        UUID first = createEmployee("Fábio Homônimo");
+        UUID second = createEmployee("Fábio Homônimo");
+        UUID withoutRecords = createEmployee("Gabriela Homônimo");
+        insertShift(first, LocalDateTime.of(2025, 3, 10, 8, 0), LocalDateTime.of(2025, 3, 10, 9, 0));
+        insertShift(second, LocalDateTime.of(2025, 3, 10, 8, 0), LocalDateTime.of(2025, 3, 10, 10, 0));
+        insertShift(second, LocalDateTime.of(2025, 3, 11, 8, 0), LocalDateTime.of(2025, 3, 11, 10, 0));
+
+        List<EmployeeReportDTO> sections = adminService.generateTeamReport(
+                List.of(withoutRecords, second, first, UUID.randomUUID()), null, false, "2025-03-01", "2025-03-31");
+
+        // Ordem (nome, id); id desconhecido não gera seção
+        List<UUID> sameName = Stream.of(first, second).sorted(Comparator.comparing(UUID::toString)).toList();
+        assertThat(sections).extracting(EmployeeReportDTO::employeeId)
+                .containsExactly(sameName.get(0), sameName.get(1), withoutRecords);
+        assertThat(sections).filteredOn(section -> section.employeeId().equals(first))
+                .singleElement().extracting(EmployeeReportDTO::totalSeconds).isEqualTo(3600L);
+        assertThat(sections).filteredOn(section -> section.employeeId().equals(second))
+                .singleElement().satisfies(section -> {
+                    assertThat(section.totalSeconds()).isEqualTo(4 * 3600L);
+                    assertThat(section.records()).hasSize(2);
+                });
+        assertThat(sections.get(2).records()).isEmpty();
+    }
+}
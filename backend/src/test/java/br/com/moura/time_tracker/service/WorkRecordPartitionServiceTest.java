@@ -0,0 +1,124 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.IntegrationTest;
+import br.com.moura.time_tracker.exception.InvalidRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkRecordPartitionServiceTest extends IntegrationTest {
+
+    // Meses bem anteriores às partições da migration, para não interferir nos outros testes
+    private static final List<String> TEST_PARTITIONS =
+            List.of("work_records_p200101", "work_records_p200102", "work_records_p200103");
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private AdminService adminService;
+
+    @AfterEach
+    void dropTestPartitions() {
+        for (String table : TEST_PARTITIONS) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+            jdbcTemplate.execute("DROP TABLE IF EXISTS work_records_archive." + table);
+        }
+    }
+
+    @Test
+    void createsPartitionsMovingRowsOutOfTheDefault() {
+        UUID employeeId = createEmployee("Karen Partição");
+        UUID january = insertShift(employeeId, LocalDateTime.of(2001, 1, 10, 8, 0), LocalDateTime.of(2001, 1, 10, 17, 0));
+        assertThat(partitionOf(january)).isEqualTo("work_records_default");
+
+        service(LocalDate.of(2001, 1, 15), 2, 0).maintain();
+
+        assertThat(attached("work_records_p200101")).isTrue();
+        assertThat(attached("work_records_p200102")).isTrue();
+        assertThat(attached("work_records_p200103")).isTrue();
+        assertThat(partitionOf(january)).isEqualTo("work_records_p200101");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM work_records_default", Integer.class)).isZero();
+    }
+
+    @Test
+    void archivesOldPartitionsButKeepsThoseWithOpenShifts() {
+        UUID employeeId = createEmployee("Leo Partição");
+        UUID closed = insertShift(employeeId, LocalDateTime.of(2001, 1, 10, 8, 0), LocalDateTime.of(2001, 1, 10, 17, 0));
+        UUID open = insertShift(employeeId, LocalDateTime.of(2001, 2, 12, 8, 0), null);
+        service(LocalDate.of(2001, 1, 15), 2, 0).maintain();
+
+        // Em abril/2001 com retenção de 1 mês, janeiro e fevereiro já passaram da retenção
+        service(LocalDate.of(2001, 4, 15), 0, 1).maintain();
+
+        assertThat(attached("work_records_p200101")).isFalse();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM work_records_archive.work_records_p200101 WHERE id = ?", Integer.class, closed))
+                .isEqualTo(1);
+        assertThat(attached("work_records_p200102")).isTrue();
+        assertThat(partitionOf(open)).isEqualTo("work_records_p200102");
+        assertThat(attached("work_records_p200103")).isTrue();
+
+        // Fechado o turno, a próxima manutenção arquiva o mês
+        jdbcTemplate.update("UPDATE work_records SET checkout_time = checkin_time + INTERVAL '8 hours' WHERE id = ?", open);
+        service(LocalDate.of(2001, 4, 15), 0, 1).maintain();
+
+        assertThat(attached("work_records_p200102")).isFalse();
+        assertThat(attached("work_records_p200103")).isTrue();
+    }
+
+    @Test
+    void dailyTotalsOfArchivedMonthsCannotBeRebuilt() {
+        UUID employeeId = createEmployee("Mara Partição");
+        insertShift(employeeId, LocalDateTime.of(2001, 1, 10, 8, 0), LocalDateTime.of(2001, 1, 10, 17, 0));
+        insertShift(employeeId, LocalDateTime.of(2001, 3, 12, 8, 0), LocalDateTime.of(2001, 3, 12, 12, 0));
+        service(LocalDate.of(2001, 1, 15), 2, 0).maintain();
+        adminService.rebuildDailyTotals("2001-01-01", "2001-03-31");
+        service(LocalDate.of(2001, 3, 15), 0, 1).maintain();
+        assertThat(attached("work_records_p200101")).isFalse();
+
+        // Janeiro está arquivado: recalcular o apagaria de employee_daily_totals
+        assertThatThrownBy(() -> adminService.rebuildDailyTotals("2001-01-31", "2001-03-31"))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("2001-01");
+        assertThat(adminService.rebuildDailyTotals("2001-02-01", "2001-03-31")).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT total_seconds FROM employee_daily_totals WHERE employee_id = ? AND work_date = ?",
+                Long.class, employeeId, LocalDate.of(2001, 1, 10))).isEqualTo(9 * 3600L);
+    }
+
+    @Test
+    void rebuildRangeIsValidated() {
+        assertThatThrownBy(() -> adminService.rebuildDailyTotals("2025-03-31", "2025-03-01"))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> adminService.rebuildDailyTotals("2024-01-01", "2025-03-01"))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private WorkRecordPartitionService service(LocalDate today, int monthsAhead, int retentionMonths) {
+        ZoneId zone = ZoneId.of("America/Sao_Paulo");
+        Clock clock = Clock.fixed(today.atStartOfDay(zone).toInstant(), zone);
+        return new WorkRecordPartitionService(jdbcTemplate, transactionManager, clock, monthsAhead, retentionMonths);
+    }
+
+    private boolean attached(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'work_records'::regclass AND c.relname = ?)", Boolean.class, table));
+    }
+
+    private String partitionOf(UUID recordId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM work_records WHERE id = ?", String.class, recordId);
+    }
+}
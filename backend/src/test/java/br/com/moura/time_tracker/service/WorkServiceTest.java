@@ -0,0 +1,215 @@
+package br.com.moura.time_tracker.service;
+
+import br.com.moura.time_tracker.IntegrationTest;
+import br.com.moura.time_tracker.dto.CheckoutRequestDTO;
+import br.com.moura.time_tracker.dto.CursorPage;
+import br.com.moura.time_tracker.dto.PunchEventDTO;
+import br.com.moura.time_tracker.dto.WorkRecordResponseDTO;
+import br.com.moura.time_tracker.exception.DataNotFoundException;
+import br.com.moura.time_tracker.exception.InvalidRequestException;
+import br.com.moura.time_tracker.exception.MultipleCheckInWithoutCheckOutException;
+import br.com.moura.time_tracker.model.WorkRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkServiceTest extends IntegrationTest {
+
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    @Autowired
+    private WorkService workService;
+    @Autowired
+    private PunchBatchService punchBatchService;
+    @Autowired
+    private Clock clock;
+
+    @Test
+    void concurrentCheckInsOpenASingleShift() throws Exception {
+        // Sem linha de status (primeiro check-in) e com o último turno já fechado
+        UUID firstTime = createEmployee("Gabi Primeira");
+        UUID returning = createEmployee("Hugo Retorno");
+        workService.clockIn(returning);
+        workService.clockOut(returning, checkout("end_shift"));
+
+        for (UUID employeeId : List.of(firstTime, returning)) {
+            List<Callable<Object>> checkIns = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                checkIns.add(() -> workService.clockIn(employeeId));
+            }
+
+            List<Object> outcomes = runConcurrently(checkIns);
+
+            assertThat(outcomes).filteredOn(MultipleCheckInWithoutCheckOutException.class::isInstance)
+                    .hasSize(CONCURRENT_REQUESTS - 1);
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM work_records WHERE employee_id = ? AND checkout_time IS NULL", Integer.class, employeeId))
+                    .isEqualTo(1);
+        }
+    }
+
+    @Test
+    void concurrentCheckoutsCloseTheShiftOnce() throws Exception {
+        UUID employeeId = createEmployee("Carla Checkout");
+        workService.clockIn(employeeId);
+
+        List<Callable<Object>> checkouts = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            checkouts.add(() -> workService.clockOut(employeeId, checkout("end_shift")));
+        }
+
+        List<Object> outcomes = runConcurrently(checkouts);
+
+        assertThat(outcomes).filteredOn(DataNotFoundException.class::isInstance).hasSize(CONCURRENT_REQUESTS - 1);
+        assertDailyTotalCountedOnce(employeeId);
+    }
+
+    @Test
+    void checkoutRacingABatchClosesTheShiftOnce() throws Exception {
+        UUID employeeId = createEmployee("Diego Lote");
+        workService.clockIn(employeeId);
+
+        PunchEventDTO batchCheckout = PunchEventDTO.builder()
+                .employeeId(employeeId)
+                .type("checkout")
+                .timestamp(LocalDateTime.now(clock))
+                .reason_id("end_shift")
+                .build();
+
+        List<Object> outcomes = runConcurrently(List.of(
+                () -> workService.clockOut(employeeId, checkout("end_shift")),
+                () -> punchBatchService.ingest(List.of(batchCheckout)).get(0).accepted()));
+
+        // Quem perde recebe "sem turno aberto": exceção no síncrono, batida rejeitada no lote
+        boolean syncWon = !(outcomes.get(0) instanceof DataNotFoundException);
+        boolean batchWon = Boolean.TRUE.equals(outcomes.get(1));
+        assertThat(syncWon).isNotEqualTo(batchWon);
+        assertDailyTotalCountedOnce(employeeId);
+    }
+
+    @Test
+    void checkoutWithSeveralOpenShiftsClosesOnlyTheLatest() {
+        UUID employeeId = createEmployee("Elisa Legado");
+        LocalDateTime now = LocalDateTime.now(clock);
+        UUID older = insertShift(employeeId, now.minusHours(30), null);
+        UUID latest = insertShift(employeeId, now.minusHours(2), null);
+
+        WorkRecord closed = workService.clockOut(employeeId, checkout("end_shift"));
+
+        assertThat(closed.getId()).isEqualTo(latest);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT id FROM work_records WHERE employee_id = ? AND checkout_time IS NULL", UUID.class, employeeId))
+                .containsExactly(older);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(record_count), 0) FROM employee_daily_totals WHERE employee_id = ?", Integer.class, employeeId))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void historyCursorWalksEveryRecordOnceInOrder() {
+        UUID employeeId = createEmployee("Elisa Cursor");
+        LocalDateTime base = LocalDateTime.of(2025, 5, 5, 8, 0);
+        // Dois registros com o mesmo check-in: o desempate é pelo id
+        List<UUID> inserted = new ArrayList<>();
+        inserted.add(insertShift(employeeId, base, base.plusHours(1)));
+        inserted.add(insertShift(employeeId, base, base.plusHours(2)));
+        inserted.add(insertShift(employeeId, base.plusDays(1), base.plusDays(1).plusHours(1)));
+        inserted.add(insertShift(employeeId, base.plusDays(2), base.plusDays(2).plusHours(1)));
+        inserted.add(insertShift(employeeId, base.plusDays(3), base.plusDays(3).plusHours(1)));
+
+        List<UUID> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<WorkRecordResponseDTO> page = workService.getPersonalRecordsAfter(employeeId, cursor, 2);
+            page.content().forEach(item -> walked.add(item.getId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(walked).containsExactlyInAnyOrderElementsOf(inserted).doesNotHaveDuplicates();
+        assertThat(walked.subList(0, 3)).containsExactly(inserted.get(4), inserted.get(3), inserted.get(2));
+    }
+
+    @Test
+    void tamperedHistoryCursorIsRejected() {
+        UUID employeeId = createEmployee("Fábio Cursor");
+        String notBase64 = "%%%";
+        String missingSeparator = Base64.getUrlEncoder().encodeToString("2025-05-05T08:00".getBytes(StandardCharsets.UTF_8));
+        String badTimestamp = Base64.getUrlEncoder().encodeToString(("ontem|" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+        String badId = Base64.getUrlEncoder().encodeToString("2025-05-05T08:00|abc".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : List.of(notBase64, missingSeparator, badTimestamp, badId)) {
+            assertThatThrownBy(() -> workService.getPersonalRecordsAfter(employeeId, cursor, 10))
+                    .isInstanceOf(InvalidRequestException.class)
+                    .hasMessage("Cursor inválido");
+        }
+    }
+
+    private void assertDailyTotalCountedOnce(UUID employeeId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(record_count), 0) FROM employee_daily_totals WHERE employee_id = ?", Integer.class, employeeId);
+        Long totalSeconds = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(total_seconds), 0) FROM employee_daily_totals WHERE employee_id = ?", Long.class, employeeId);
+        Long recordSeconds = jdbcTemplate.queryForObject(
+                "SELECT duration_seconds FROM work_records WHERE employee_id = ?", Long.class, employeeId);
+
+        assertThat(count).isEqualTo(1);
+        assertThat(totalSeconds).isEqualTo(recordSeconds);
+    }
+
+    private static CheckoutRequestDTO checkout(String reason) {
+        CheckoutRequestDTO request = new CheckoutRequestDTO();
+        request.setReason_id(reason);
+        return request;
+    }
+
+    // Dispara todas as tarefas juntas; devolve o resultado ou a exceção de cada uma, na ordem recebida
+    static List<Object> runConcurrently(List<Callable<Object>> tasks) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (Callable<Object> task : tasks) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<Object> outcomes = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                try {
+                    outcomes.add(future.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    outcomes.add(e.getCause());
+                } catch (TimeoutException e) {
+                    throw new AssertionError("Tarefa concorrente não terminou (deadlock?)", e);
+                }
+            }
+            return outcomes;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
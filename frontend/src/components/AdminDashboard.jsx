@@ -7,7 +7,7 @@ import {
     LogOut, LayoutDashboard, FileText,
     Clock, Loader2, Edit2, Save, X, User,
     CalendarDays, Download, Filter, Trophy, BarChart3,
-    ListOrdered, Timer, Menu // Imports combinados
+    ListOrdered, Timer, Menu, Search // Imports combinados
 } from 'lucide-react';
 import mouraLogo from '../assets/moura-logo.png';
 import './Dashboard.css';
@@ -22,13 +22,40 @@ import {
     useRanking
 } from '../lib/queries/useAdmin';
 
+// Busca no diretório de funcionários (Registros, Escala e Relatórios).
+// Fica fora das views internas para o input não ser recriado a cada render.
+const EmployeeSearchBar = ({ value, onChange, hasMore, loadingMore, onLoadMore }) => (
+    <div style={{background: 'white', padding: '10px 15px', borderRadius: '12px', border: '1px solid #e2e8f0', marginBottom: '20px', display: 'flex', gap: '10px', alignItems: 'center', flexWrap: 'wrap'}}>
+        <Search size={18} color="#64748b" />
+        <input
+            type="search"
+            value={value}
+            onChange={(e) => onChange(e.target.value)}
+            placeholder="Buscar colaborador por nome ou e-mail..."
+            style={{flex: 1, minWidth: '200px', padding: '8px', borderRadius: '8px', border: '1px solid #cbd5e1'}}
+        />
+        {hasMore && (
+            <button onClick={onLoadMore} disabled={loadingMore} style={{padding: '8px 12px', background: '#f1f5f9', color: '#004B8D', border: '1px solid #cbd5e1', borderRadius: '8px', cursor: 'pointer', display: 'flex', alignItems: 'center', gap: '5px'}}>
+                {loadingMore && <Loader2 className="spin-slow" size={16}/>} Carregar mais
+            </button>
+        )}
+    </div>
+);
+
 const AdminDashboard = () => {
     const [activeTab, setActiveTab] = useState('overview');
     const [isMobileMenuOpen, setIsMobileMenuOpen] = useState(false); // Novo Estado Mobile
 
     // Hooks de dados globais
     const { data: teamStatusRaw = [], isLoading: loadingOverview } = useTeamStatus();
-    const { data: employees = [] } = useEmployees();
+    const [employeeSearch, setEmployeeSearch] = useState('');
+    const [debouncedSearch, setDebouncedSearch] = useState('');
+    const {
+        data: employees = [],
+        hasNextPage: hasMoreEmployees,
+        isFetchingNextPage: loadingMoreEmployees,
+        fetchNextPage: loadMoreEmployees
+    } = useEmployees(debouncedSearch);
     const { data: rankingData = [] } = useRanking();
 
     const updateScheduleMutation = useUpdateSchedule();
@@ -45,6 +72,12 @@ const AdminDashboard = () => {
     const [tempSchedule, setTempSchedule] = useState({ start: '', end: '' });
     const [chartData, setChartData] = useState({ categories: [], series: [] });
 
+    // --- EFEITO: Debounce da busca de colaboradores ---
+    useEffect(() => {
+        const timer = setTimeout(() => setDebouncedSearch(employeeSearch.trim()), 300);
+        return () => clearTimeout(timer);
+    }, [employeeSearch]);
+
     // --- EFEITO: Busca automática na aba Registros ---
     useEffect(() => {
         // Só busca se tiver um colaborador selecionado e uma data
@@ -538,6 +571,15 @@ const AdminDashboard = () => {
 
             <main className="main-content">
                 <div className="header-welcome"><h2 className="welcome-title">Olá, Administrador</h2><p className="date-display">Painel de Gestão em Tempo Real <span style={{marginLeft: '10px', fontSize: '0.8rem', background: '#dcfce7', padding: '2px 8px', borderRadius: '12px', color: '#166534', fontWeight: 'bold'}}>Sistema Online</span></p></div>
+                {activeTab !== 'overview' && (
+                    <EmployeeSearchBar
+                        value={employeeSearch}
+                        onChange={setEmployeeSearch}
+                        hasMore={hasMoreEmployees}
+                        loadingMore={loadingMoreEmployees}
+                        onLoadMore={() => loadMoreEmployees()}
+                    />
+                )}
                 {activeTab === 'overview' && <OverviewView />}
                 {activeTab === 'logs' && <LogsTableView />}
                 {activeTab === 'schedule' && <ScheduleManagementView />}
@@ -1,5 +1,7 @@
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { useEffect } from 'react';
+import { useQuery, useInfiniteQuery, useMutation, useQueryClient, keepPreviousData } from '@tanstack/react-query';
 import { apiFetch } from '../../utils/apiFetch';
+import { openEventStream } from '../../utils/eventStream';
 import { toast } from 'sonner';
 
 // Chaves de Cache
@@ -10,23 +12,63 @@ export const ADMIN_KEYS = {
     ranking: ['admin', 'ranking']
 };
 
-// --- 1. DASHBOARD EM TEMPO REAL ---
+// --- 1. DASHBOARD EM TEMPO REAL (SSE) ---
 export const useTeamStatus = () => {
+    const queryClient = useQueryClient();
+
+    useEffect(() => {
+        const stream = openEventStream('/admin/dashboard/stream', {
+            onEvent: ({ event, data }) => {
+                if (event === 'snapshot') {
+                    queryClient.setQueryData(ADMIN_KEYS.dashboard, data);
+                } else if (event === 'status') {
+                    queryClient.setQueryData(ADMIN_KEYS.dashboard, (old = []) => {
+                        const exists = old.some(s => s.employeeId === data.employeeId);
+                        return exists
+                            ? old.map(s => (s.employeeId === data.employeeId ? data : s))
+                            : [...old, data];
+                    });
+                }
+            }
+        });
+        return () => stream.close();
+    }, [queryClient]);
+
     return useQuery({
         queryKey: ADMIN_KEYS.dashboard,
         queryFn: async () => apiFetch('/admin/dashboard'),
-        refetchInterval: 30000,
-        staleTime: 10000,
+        staleTime: Infinity,
     });
 };
 
-// --- 2. LISTA DE FUNCIONÁRIOS ---
-export const useEmployees = () => {
-    return useQuery({
-        queryKey: ADMIN_KEYS.employees,
-        queryFn: async () => apiFetch('/admin/employees'),
+// --- 2. DIRETÓRIO DE FUNCIONÁRIOS (paginado por cursor, com busca) ---
+const EMPLOYEES_PAGE_SIZE = 50;
+
+export const useEmployees = (search = '') => {
+    const query = useInfiniteQuery({
+        queryKey: [...ADMIN_KEYS.employees, search],
+        queryFn: async ({ pageParam }) => {
+            const params = new URLSearchParams({ size: String(EMPLOYEES_PAGE_SIZE) });
+            if (search) params.set('search', search);
+            if (pageParam) params.set('cursor', pageParam);
+            return apiFetch(`/admin/employees?${params}`);
+        },
+        initialPageParam: null,
+        getNextPageParam: (lastPage) => lastPage.nextCursor ?? undefined,
+        placeholderData: keepPreviousData,
         staleTime: 1000 * 60 * 5,
     });
+
+    // Páginas já carregadas achatadas numa lista só
+    const employees = query.data?.pages.flatMap(page => page.content) ?? [];
+
+    return {
+        data: employees,
+        isLoading: query.isLoading,
+        hasNextPage: query.hasNextPage,
+        isFetchingNextPage: query.isFetchingNextPage,
+        fetchNextPage: query.fetchNextPage,
+    };
 };
 
 // --- 3. ATUALIZAR ESCALA (Mutation) ---
@@ -0,0 +1,87 @@
+import { API_BASE_URL } from './apiFetch';
+
+/**
+ * Cliente SSE baseado em fetch (EventSource não permite enviar o header Authorization).
+ * - Reconecta automaticamente enviando Last-Event-ID.
+ * - Ignora comentários (heartbeat) e repassa cada evento para onEvent({ event, data }).
+ */
+export const openEventStream = (endpoint, { onEvent }) => {
+    const controller = new AbortController();
+    let lastEventId = null;
+    let retryMs = 3000;
+    let closed = false;
+
+    const connect = async () => {
+        const token = localStorage.getItem('moura_token');
+        const headers = { Accept: 'text/event-stream' };
+        if (token) headers['Authorization'] = `Bearer ${token}`;
+        if (lastEventId) headers['Last-Event-ID'] = lastEventId;
+
+        try {
+            const response = await fetch(`${API_BASE_URL}${endpoint}`, { headers, signal: controller.signal });
+
+            if (response.status === 401 || response.status === 403) {
+                closed = true;
+                return;
+            }
+            if (!response.ok || !response.body) throw new Error(`SSE ${response.status}`);
+
+            const reader = response.body.getReader();
+            const decoder = new TextDecoder();
+            let buffer = '';
+
+            while (true) {
+                const { value, done } = await reader.read();
+                if (done) break;
+                buffer += decoder.decode(value, { stream: true });
+
+                let boundary;
+                while ((boundary = buffer.indexOf('\n\n')) !== -1) {
+                    const rawEvent = buffer.slice(0, boundary);
+                    buffer = buffer.slice(boundary + 2);
+                    dispatch(rawEvent);
+                }
+            }
+        } catch {
+            if (controller.signal.aborted) return;
+        }
+
+        if (!closed) setTimeout(connect, retryMs);
+    };
+
+    const dispatch = (rawEvent) => {
+        let event = 'message';
+        let data = '';
+        let id = null;
+
+        for (const line of rawEvent.split('\n')) {
+            if (line.startsWith(':')) continue;
+            const separator = line.indexOf(':');
+            const field = separator === -1 ? line : line.slice(0, separator);
+            const value = separator === -1 ? '' : line.slice(separator + 1).replace(/^ /, '');
+
+            if (field === 'event') event = value;
+            else if (field === 'data') data += (data ? '\n' : '') + value;
+            else if (field === 'id') id = value;
+            else if (field === 'retry' && !isNaN(Number(value))) retryMs = Number(value);
+        }
+
+        if (id) lastEventId = id;
+        if (!data) return;
+
+        try {
+            onEvent({ event, data: JSON.parse(data) });
+        } catch {
+            // evento malformado: ignora
+        }
+    };
+
+    connect();
+
+    return {
+        close: () => {
+            closed = true;
+            controller.abort();
+        }
+    };
+};